@@ -231,6 +231,9 @@ public interface CentralProcessor extends Serializable {
      * intended to be used for periodic polling at intervals of 1 second or
      * longer.
      *
+     * All callers share the same tick counts; consumers polling at different
+     * intervals should each use their own {@link CpuLoadSampler}.
+     *
      * @return CPU load between 0 and 1 (100%)
      */
     double getSystemCpuLoadBetweenTicks();
@@ -352,6 +355,16 @@ public interface CentralProcessor extends Serializable {
      */
     long[][] getProcessorCpuLoadTicks();
 
+    /**
+     * Gets a snapshot of the system and per-processor tick counters, as
+     * returned by {@link #getSystemCpuLoadTicks()} and
+     * {@link #getProcessorCpuLoadTicks()}, from which the CPU load between any
+     * two snapshots may be calculated.
+     *
+     * @return A new snapshot of the tick counters
+     */
+    CpuTicks getCpuTicks();
+
     /**
      * Get the System uptime (time since boot).
      *
@@ -0,0 +1,131 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import java.io.Serializable;
+
+/**
+ * The frequency scaling state of a logical processor at one time: its
+ * current frequency, the minimum and maximum frequencies the scaling governor
+ * may choose from, the governor, and the time spent at each frequency since
+ * the previous sample.
+ */
+public final class CpuFrequency implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int processorNumber;
+
+    private final long currentFrequency;
+
+    private final long minFrequency;
+
+    private final long maxFrequency;
+
+    private final String governor;
+
+    private final long[] stateFrequencies;
+
+    private final long[] stateTimes;
+
+    /**
+     * Creates a sample, copying the arrays
+     *
+     * @param processorNumber
+     *            The logical processor number
+     * @param currentFrequency
+     *            The current frequency in Hz, or -1 if unknown
+     * @param minFrequency
+     *            The minimum scaling frequency in Hz, or -1 if unknown
+     * @param maxFrequency
+     *            The maximum scaling frequency in Hz, or -1 if unknown
+     * @param governor
+     *            The scaling governor, or an empty string if unknown
+     * @param stateFrequencies
+     *            The frequencies, in Hz, for which time is counted
+     * @param stateTimes
+     *            The time spent at each frequency, in milliseconds
+     */
+    public CpuFrequency(int processorNumber, long currentFrequency, long minFrequency, long maxFrequency,
+            String governor, long[] stateFrequencies, long[] stateTimes) {
+        this.processorNumber = processorNumber;
+        this.currentFrequency = currentFrequency;
+        this.minFrequency = minFrequency;
+        this.maxFrequency = maxFrequency;
+        this.governor = governor;
+        this.stateFrequencies = stateFrequencies.clone();
+        this.stateTimes = stateTimes.clone();
+    }
+
+    /**
+     * @return The logical processor number
+     */
+    public int getProcessorNumber() {
+        return this.processorNumber;
+    }
+
+    /**
+     * @return The current frequency in Hz, or -1 if unknown
+     */
+    public long getCurrentFrequency() {
+        return this.currentFrequency;
+    }
+
+    /**
+     * @return The minimum frequency the governor may set, in Hz, or -1 if
+     *         unknown
+     */
+    public long getMinFrequency() {
+        return this.minFrequency;
+    }
+
+    /**
+     * @return The maximum frequency the governor may set, in Hz, or -1 if
+     *         unknown. A maximum below the hardware maximum indicates a power
+     *         or thermal limit.
+     */
+    public long getMaxFrequency() {
+        return this.maxFrequency;
+    }
+
+    /**
+     * @return The scaling governor (e.g., performance, powersave, ondemand),
+     *         or an empty string if unknown
+     */
+    public String getGovernor() {
+        return this.governor;
+    }
+
+    /**
+     * @return The frequencies, in Hz, for which time spent is counted; empty
+     *         if the driver does not count time in each state
+     */
+    public long[] getStateFrequencies() {
+        return this.stateFrequencies.clone();
+    }
+
+    /**
+     * @return The time spent at each of {@link #getStateFrequencies()}, in
+     *         milliseconds, since the previous sample, or since boot for the
+     *         first sample
+     */
+    public long[] getStateTimes() {
+        return this.stateTimes.clone();
+    }
+}
@@ -0,0 +1,390 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import java.io.Closeable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the CPU load of the whole system and of each logical processor at
+ * a fixed interval in the background, keeping a fixed number of the most
+ * recent samples, and answers queries over them such as the average, maximum
+ * or a percentile of the load over the last N seconds.
+ *
+ * For example, a history with an interval of 1000 ms and a capacity of 3600
+ * keeps the load of each second of the last hour. Samples are stored as
+ * floats in ring buffers allocated when the history is created, of
+ * (processors + 1) * capacity * 4 bytes plus one scratch buffer of capacity *
+ * 4 bytes for percentile queries, so queries do not allocate. Recording
+ * allocates only the tick snapshot and load array of each sample, which are
+ * discarded once stored.
+ *
+ * Recording is opt-in: it begins with {@link #start()} and ends with
+ * {@link #stop()} or {@link #close()}. All running histories are sampled by a
+ * single daemon thread, which exits when none are running. Each history uses
+ * its own {@link CpuLoadSampler}, so it does not affect other consumers of
+ * the processor's load.
+ */
+public final class CpuLoadHistory implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CpuLoadHistory.class);
+
+    /**
+     * Processor index for queries of the load of the whole system
+     */
+    public static final int SYSTEM = -1;
+
+    // Shared by all histories; created when the first starts and shut down
+    // when the last stops
+    private static ScheduledThreadPoolExecutor scheduler;
+
+    private static int running;
+
+    private final CentralProcessor processor;
+
+    private final long interval;
+
+    private final int capacity;
+
+    private final float[] systemLoad;
+
+    // Per-processor buffers [cpu][sample]
+    private final float[][] processorLoad;
+
+    private final float[] scratch;
+
+    // Index the next sample is written to, and the number of samples held
+    private int next;
+
+    private int count;
+
+    private CpuLoadSampler sampler;
+
+    private ScheduledFuture<?> future;
+
+    /**
+     * Creates a history, which does not record until started
+     *
+     * @param processor
+     *            The processor to sample
+     * @param interval
+     *            The time between samples, in milliseconds
+     * @param capacity
+     *            The number of most recent samples to keep
+     */
+    public CpuLoadHistory(CentralProcessor processor, long interval, int capacity) {
+        if (interval <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Interval and capacity must be positive: " + interval + ", " + capacity);
+        }
+        this.processor = processor;
+        this.interval = interval;
+        this.capacity = capacity;
+        this.systemLoad = new float[capacity];
+        this.processorLoad = new float[processor.getCpuTicks().getProcessorCpuLoadTicks().length][capacity];
+        this.scratch = new float[capacity];
+    }
+
+    /**
+     * Starts recording, from a new baseline. Has no effect if already
+     * recording.
+     */
+    public synchronized void start() {
+        if (this.future != null) {
+            return;
+        }
+        this.sampler = new CpuLoadSampler(this.processor);
+        this.future = acquireScheduler().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }, this.interval, this.interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops recording. Samples already recorded are kept.
+     */
+    public synchronized void stop() {
+        if (this.future == null) {
+            return;
+        }
+        this.future.cancel(false);
+        this.future = null;
+        releaseScheduler();
+    }
+
+    /**
+     * Stops recording
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * @return Whether the history is recording
+     */
+    public synchronized boolean isRunning() {
+        return this.future != null;
+    }
+
+    /**
+     * @return The time between samples, in milliseconds
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * @return The number of most recent samples kept
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The number of logical processors recorded
+     */
+    public int getProcessorCount() {
+        return this.processorLoad.length;
+    }
+
+    /**
+     * @return The number of samples held, at most the capacity
+     */
+    public synchronized int getSampleCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the most recent load
+     *
+     * @param processor
+     *            The logical processor, or {@link #SYSTEM}
+     * @return The load between 0 and 1 (100%), or -1 if no samples are held
+     */
+    public synchronized double getLatest(int processor) {
+        if (this.count == 0) {
+            return -1d;
+        }
+        return buffer(processor)[(this.next + this.capacity - 1) % this.capacity];
+    }
+
+    /**
+     * Gets the average load over a period
+     *
+     * @param processor
+     *            The logical processor, or {@link #SYSTEM}
+     * @param seconds
+     *            The period, ending with the most recent sample
+     * @return The average load between 0 and 1 (100%), or -1 if no samples
+     *         are held
+     */
+    public synchronized double getAverage(int processor, long seconds) {
+        float[] buf = buffer(processor);
+        int n = samples(seconds);
+        if (n == 0) {
+            return -1d;
+        }
+        double sum = 0d;
+        for (int i = 0, idx = first(n); i < n; i++, idx = (idx + 1) % this.capacity) {
+            sum += buf[idx];
+        }
+        return sum / n;
+    }
+
+    /**
+     * Gets the maximum load over a period
+     *
+     * @param processor
+     *            The logical processor, or {@link #SYSTEM}
+     * @param seconds
+     *            The period, ending with the most recent sample
+     * @return The maximum load between 0 and 1 (100%), or -1 if no samples
+     *         are held
+     */
+    public synchronized double getMax(int processor, long seconds) {
+        float[] buf = buffer(processor);
+        int n = samples(seconds);
+        if (n == 0) {
+            return -1d;
+        }
+        float max = 0f;
+        for (int i = 0, idx = first(n); i < n; i++, idx = (idx + 1) % this.capacity) {
+            max = Math.max(max, buf[idx]);
+        }
+        return max;
+    }
+
+    /**
+     * Gets a percentile of the load over a period, using the nearest-rank
+     * method: the smallest sample which is at least the given percentage of
+     * the samples
+     *
+     * @param processor
+     *            The logical processor, or {@link #SYSTEM}
+     * @param percentile
+     *            The percentile, greater than 0 and at most 100, e.g., 95 or
+     *            99
+     * @param seconds
+     *            The period, ending with the most recent sample
+     * @return The percentile of the load between 0 and 1 (100%), or -1 if no
+     *         samples are held
+     */
+    public synchronized double getPercentile(int processor, double percentile, long seconds) {
+        if (percentile <= 0d || percentile > 100d) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+        }
+        float[] buf = buffer(processor);
+        int n = samples(seconds);
+        if (n == 0) {
+            return -1d;
+        }
+        for (int i = 0, idx = first(n); i < n; i++, idx = (idx + 1) % this.capacity) {
+            this.scratch[i] = buf[idx];
+        }
+        int rank = (int) Math.ceil(percentile / 100d * n);
+        return select(this.scratch, n, Math.max(rank, 1) - 1);
+    }
+
+    /**
+     * Takes a sample and records it
+     */
+    private void sample() {
+        try {
+            this.sampler.sample();
+            double system = this.sampler.getSystemCpuLoad();
+            double[] processors = this.sampler.getProcessorCpuLoad();
+            record(system, processors);
+        } catch (RuntimeException e) {
+            // An exception would cancel further samples
+            LOG.warn("Unable to sample CPU load. {}", e);
+        }
+    }
+
+    /**
+     * Records a sample, overwriting the oldest if the history is full
+     *
+     * @param system
+     *            The load of the whole system
+     * @param processors
+     *            The load of each logical processor
+     */
+    synchronized void record(double system, double[] processors) {
+        this.systemLoad[this.next] = (float) system;
+        for (int cpu = 0; cpu < this.processorLoad.length; cpu++) {
+            this.processorLoad[cpu][this.next] = cpu < processors.length ? (float) processors[cpu] : 0f;
+        }
+        this.next = (this.next + 1) % this.capacity;
+        if (this.count < this.capacity) {
+            this.count++;
+        }
+    }
+
+    private float[] buffer(int processor) {
+        if (processor == SYSTEM) {
+            return this.systemLoad;
+        }
+        if (processor < 0 || processor >= this.processorLoad.length) {
+            throw new IllegalArgumentException("No such processor: " + processor);
+        }
+        return this.processorLoad[processor];
+    }
+
+    /**
+     * @return The number of most recent samples covering a period
+     */
+    private int samples(long seconds) {
+        long n = (seconds * 1000L + this.interval - 1) / this.interval;
+        return (int) Math.max(0L, Math.min(n, this.count));
+    }
+
+    /**
+     * @return The index of the oldest of the n most recent samples
+     */
+    private int first(int n) {
+        return (this.next - n + this.capacity) % this.capacity;
+    }
+
+    /**
+     * Finds the k-th smallest of the first n values, reordering them
+     */
+    private static float select(float[] values, int n, int k) {
+        int lo = 0;
+        int hi = n - 1;
+        while (lo < hi) {
+            float pivot = values[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    float tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor acquireScheduler() {
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "oshi-cpu-load-history");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+        }
+        running++;
+        return scheduler;
+    }
+
+    private static synchronized void releaseScheduler() {
+        if (--running == 0) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures CPU load between successive samples of one consumer. Each sampler
+ * keeps its own two most recent {@link CpuTicks} snapshots, so samplers polled
+ * at different intervals do not affect each other, unlike
+ * {@link CentralProcessor#getSystemCpuLoadBetweenTicks()} which shares one
+ * baseline among all callers.
+ *
+ * Samplers are thread safe without locking: the pair of snapshots is replaced
+ * atomically, the load methods only read it, and concurrent samples never
+ * move the baseline backwards.
+ */
+public final class CpuLoadSampler implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CentralProcessor processor;
+
+    private final AtomicReference<Interval> interval;
+
+    /**
+     * Creates a sampler with an initial sample. Until the next sample, the
+     * load methods return the load since boot, measured against a snapshot
+     * with zero ticks and a zero timestamp.
+     *
+     * @param processor
+     *            The processor to sample
+     */
+    public CpuLoadSampler(CentralProcessor processor) {
+        this.processor = processor;
+        CpuTicks ticks = processor.getCpuTicks();
+        long[] zero = new long[ticks.getSystemCpuLoadTicks().length];
+        long[][] processorZero = new long[ticks.getProcessorCpuLoadTicks().length][zero.length];
+        this.interval = new AtomicReference<>(new Interval(new CpuTicks(0L, zero, processorZero), ticks));
+    }
+
+    /**
+     * Takes a new sample, after which the load methods return the load since
+     * the previous sample. A sample in which all ticks are zero (i.e., they
+     * could not be read) is discarded.
+     *
+     * @return The latest sample
+     */
+    public CpuTicks sample() {
+        return sample(0L);
+    }
+
+    /**
+     * Takes a new sample if the latest one is at least the given age
+     *
+     * @param minInterval
+     *            The minimum time between samples, in milliseconds. If a
+     *            concurrent caller sampled more recently than this, the new
+     *            sample is discarded.
+     * @return The latest sample
+     */
+    public CpuTicks sample(long minInterval) {
+        Interval current = this.interval.get();
+        if (System.currentTimeMillis() - current.latest.getTimestamp() < minInterval) {
+            return current.latest;
+        }
+        CpuTicks ticks = this.processor.getCpuTicks();
+        if (!ticks.hasTicks()) {
+            return current.latest;
+        }
+        while (true) {
+            current = this.interval.get();
+            if (ticks.getTimestamp() - current.latest.getTimestamp() < minInterval
+                    || ticks.getTimestamp() < current.latest.getTimestamp()) {
+                // Another caller sampled in the meantime
+                return current.latest;
+            }
+            if (this.interval.compareAndSet(current, new Interval(current.latest, ticks))) {
+                return ticks;
+            }
+        }
+    }
+
+    /**
+     * @return The CPU load of the whole system between the two most recent
+     *         samples, between 0 and 1 (100%)
+     */
+    public double getSystemCpuLoad() {
+        Interval current = this.interval.get();
+        return current.latest.getSystemCpuLoadSince(current.previous);
+    }
+
+    /**
+     * @return array of CPU load between the two most recent samples, between
+     *         0 and 1 (100%), for each logical processor
+     */
+    public double[] getProcessorCpuLoad() {
+        Interval current = this.interval.get();
+        return current.latest.getProcessorCpuLoadSince(current.previous);
+    }
+
+    /**
+     * @return The second most recent sample
+     */
+    public CpuTicks getPrevious() {
+        return this.interval.get().previous;
+    }
+
+    /**
+     * @return The most recent sample
+     */
+    public CpuTicks getLatest() {
+        return this.interval.get().latest;
+    }
+
+    /**
+     * The two most recent samples, replaced together
+     */
+    private static final class Interval implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CpuTicks previous;
+
+        private final CpuTicks latest;
+
+        private Interval(CpuTicks previous, CpuTicks latest) {
+            this.previous = previous;
+            this.latest = latest;
+        }
+    }
+}
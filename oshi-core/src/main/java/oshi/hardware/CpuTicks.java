@@ -0,0 +1,144 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import java.io.Serializable;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * An immutable snapshot of the CPU tick counters of the whole system and of
+ * each logical processor, as returned by
+ * {@link CentralProcessor#getSystemCpuLoadTicks()} and
+ * {@link CentralProcessor#getProcessorCpuLoadTicks()}, and the time they were
+ * read. The CPU load over the interval between any two snapshots of the same
+ * processor may be calculated from them, so that any number of consumers can
+ * each keep their own previous snapshot.
+ */
+public final class CpuTicks implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long timestamp;
+
+    private final long[] systemTicks;
+
+    private final long[][] processorTicks;
+
+    /**
+     * Creates a snapshot, copying the tick arrays
+     *
+     * @param timestamp
+     *            The time the ticks were read, in milliseconds since the
+     *            epoch
+     * @param systemTicks
+     *            The ticks of the whole system, indexed by {@link TickType}
+     * @param processorTicks
+     *            The ticks of each logical processor, each indexed by
+     *            {@link TickType}
+     */
+    public CpuTicks(long timestamp, long[] systemTicks, long[][] processorTicks) {
+        this.timestamp = timestamp;
+        this.systemTicks = systemTicks.clone();
+        this.processorTicks = new long[processorTicks.length][];
+        for (int cpu = 0; cpu < processorTicks.length; cpu++) {
+            this.processorTicks[cpu] = processorTicks[cpu].clone();
+        }
+    }
+
+    /**
+     * @return The time the ticks were read, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The ticks of the whole system, indexed by {@link TickType}
+     */
+    public long[] getSystemCpuLoadTicks() {
+        return this.systemTicks.clone();
+    }
+
+    /**
+     * @return The ticks of each logical processor, each indexed by
+     *         {@link TickType}
+     */
+    public long[][] getProcessorCpuLoadTicks() {
+        long[][] ticks = new long[this.processorTicks.length][];
+        for (int cpu = 0; cpu < ticks.length; cpu++) {
+            ticks[cpu] = this.processorTicks[cpu].clone();
+        }
+        return ticks;
+    }
+
+    /**
+     * Calculates the CPU load of the whole system between an earlier snapshot
+     * and this one
+     *
+     * @param previous
+     *            An earlier snapshot of the same processor
+     * @return CPU load between 0 and 1 (100%); 0 if no ticks elapsed
+     */
+    public double getSystemCpuLoadSince(CpuTicks previous) {
+        return load(previous.systemTicks, this.systemTicks);
+    }
+
+    /**
+     * Calculates the CPU load of each logical processor between an earlier
+     * snapshot and this one
+     *
+     * @param previous
+     *            An earlier snapshot of the same processor
+     * @return array of CPU load between 0 and 1 (100%) for each logical
+     *         processor in this snapshot; 0 for processors with no elapsed
+     *         ticks or not in the earlier snapshot
+     */
+    public double[] getProcessorCpuLoadSince(CpuTicks previous) {
+        double[] load = new double[this.processorTicks.length];
+        for (int cpu = 0; cpu < load.length && cpu < previous.processorTicks.length; cpu++) {
+            load[cpu] = load(previous.processorTicks[cpu], this.processorTicks[cpu]);
+        }
+        return load;
+    }
+
+    /**
+     * @return true if any system tick is nonzero; all are zero if the ticks
+     *         could not be read
+     */
+    boolean hasTicks() {
+        for (long tick : this.systemTicks) {
+            if (tick != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double load(long[] prev, long[] cur) {
+        long total = 0;
+        for (int i = 0; i < cur.length && i < prev.length; i++) {
+            total += cur[i] - prev[i];
+        }
+        // Calculate idle from difference in idle and IOwait
+        long idle = cur[TickType.IDLE.getIndex()] + cur[TickType.IOWAIT.getIndex()]
+                - prev[TickType.IDLE.getIndex()] - prev[TickType.IOWAIT.getIndex()];
+        return total > 0 && idle >= 0 ? (double) (total - idle) / total : 0d;
+    }
+}
@@ -0,0 +1,444 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The topology of the online logical processors: the package (socket), die,
+ * core and NUMA node of each, and the caches shared between them.
+ *
+ * Logical processors are listed in processor number order, the same order as
+ * the per-processor values of {@link CentralProcessor}, so that
+ * per-processor load can be aggregated by core, package and NUMA node with
+ * {@link #aggregate(double[], double[], double[], double[])}. Cores,
+ * packages and nodes are numbered from zero by this class, in order of their
+ * IDs; a core is identified by its package, die and core IDs, as core IDs are
+ * only unique within a die.
+ */
+public final class ProcessorTopology implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LogicalProcessor[] processors;
+
+    private final Cache[] caches;
+
+    // Index of the core, package and node of each logical processor
+    private final int[] coreIndex;
+
+    private final int[] packageIndex;
+
+    private final int[] nodeIndex;
+
+    private final int[] packageIds;
+
+    private final int[] nodeIds;
+
+    private final int coreCount;
+
+    // Number of logical processors of each core, package and node
+    private final int[] coreSizes;
+
+    private final int[] packageSizes;
+
+    private final int[] nodeSizes;
+
+    /**
+     * Creates a topology
+     *
+     * @param processors
+     *            The online logical processors, in processor number order
+     * @param caches
+     *            The caches
+     */
+    public ProcessorTopology(LogicalProcessor[] processors, Cache[] caches) {
+        this.processors = processors.clone();
+        this.caches = caches.clone();
+        int n = processors.length;
+        this.coreIndex = new int[n];
+        this.packageIndex = new int[n];
+        this.nodeIndex = new int[n];
+        // Sorted maps number cores, packages and nodes in ID order
+        Map<Long, Integer> cores = new TreeMap<>();
+        Map<Integer, Integer> packages = new TreeMap<>();
+        Map<Integer, Integer> nodes = new TreeMap<>();
+        for (LogicalProcessor p : processors) {
+            cores.put(coreKey(p), 0);
+            packages.put(p.getPackageId(), 0);
+            nodes.put(p.getNodeId(), 0);
+        }
+        this.coreCount = number(cores);
+        this.packageIds = ids(packages);
+        this.nodeIds = ids(nodes);
+        for (int i = 0; i < n; i++) {
+            this.coreIndex[i] = cores.get(coreKey(processors[i]));
+            this.packageIndex[i] = packages.get(processors[i].getPackageId());
+            this.nodeIndex[i] = nodes.get(processors[i].getNodeId());
+        }
+        this.coreSizes = sizes(this.coreIndex, this.coreCount);
+        this.packageSizes = sizes(this.packageIndex, this.packageIds.length);
+        this.nodeSizes = sizes(this.nodeIndex, this.nodeIds.length);
+    }
+
+    /**
+     * @return The online logical processors, in processor number order
+     */
+    public LogicalProcessor[] getLogicalProcessors() {
+        return this.processors.clone();
+    }
+
+    /**
+     * @return The caches, each listed once with the processors sharing it
+     */
+    public Cache[] getCaches() {
+        return this.caches.clone();
+    }
+
+    /**
+     * @return The number of physical cores with an online logical processor
+     */
+    public int getCoreCount() {
+        return this.coreCount;
+    }
+
+    /**
+     * @return The number of packages (sockets) with an online logical
+     *         processor
+     */
+    public int getPackageCount() {
+        return this.packageIds.length;
+    }
+
+    /**
+     * @return The number of NUMA nodes with an online logical processor
+     */
+    public int getNodeCount() {
+        return this.nodeIds.length;
+    }
+
+    /**
+     * @return The physical package ID of each package index
+     */
+    public int[] getPackageIds() {
+        return this.packageIds.clone();
+    }
+
+    /**
+     * @return The NUMA node number of each node index
+     */
+    public int[] getNodeIds() {
+        return this.nodeIds.clone();
+    }
+
+    /**
+     * @param processor
+     *            The index of a logical processor
+     * @return The index of its core, from 0 to {@link #getCoreCount()} - 1
+     */
+    public int getCoreIndex(int processor) {
+        return this.coreIndex[processor];
+    }
+
+    /**
+     * @param processor
+     *            The index of a logical processor
+     * @return The index of its package, from 0 to {@link #getPackageCount()} -
+     *         1
+     */
+    public int getPackageIndex(int processor) {
+        return this.packageIndex[processor];
+    }
+
+    /**
+     * @param processor
+     *            The index of a logical processor
+     * @return The index of its NUMA node, from 0 to {@link #getNodeCount()} -
+     *         1
+     */
+    public int getNodeIndex(int processor) {
+        return this.nodeIndex[processor];
+    }
+
+    /**
+     * Averages a per-processor value, such as the load from
+     * {@link CentralProcessor#getProcessorCpuLoadBetweenTicks()}, by core,
+     * package and NUMA node in a single pass, without allocating
+     *
+     * @param processorValues
+     *            A value for each logical processor; missing values count as
+     *            zero
+     * @param coreValues
+     *            Filled with the average for each core; null to skip. Must
+     *            hold at least {@link #getCoreCount()} values.
+     * @param packageValues
+     *            Filled with the average for each package; null to skip. Must
+     *            hold at least {@link #getPackageCount()} values.
+     * @param nodeValues
+     *            Filled with the average for each NUMA node; null to skip.
+     *            Must hold at least {@link #getNodeCount()} values.
+     */
+    public void aggregate(double[] processorValues, double[] coreValues, double[] packageValues,
+            double[] nodeValues) {
+        zero(coreValues, this.coreCount);
+        zero(packageValues, this.packageIds.length);
+        zero(nodeValues, this.nodeIds.length);
+        int n = Math.min(processorValues.length, this.processors.length);
+        for (int i = 0; i < n; i++) {
+            double v = processorValues[i];
+            if (coreValues != null) {
+                coreValues[this.coreIndex[i]] += v;
+            }
+            if (packageValues != null) {
+                packageValues[this.packageIndex[i]] += v;
+            }
+            if (nodeValues != null) {
+                nodeValues[this.nodeIndex[i]] += v;
+            }
+        }
+        divide(coreValues, this.coreSizes);
+        divide(packageValues, this.packageSizes);
+        divide(nodeValues, this.nodeSizes);
+    }
+
+    private static void zero(double[] values, int count) {
+        if (values != null) {
+            for (int i = 0; i < count; i++) {
+                values[i] = 0d;
+            }
+        }
+    }
+
+    private static void divide(double[] values, int[] sizes) {
+        if (values != null) {
+            for (int i = 0; i < sizes.length; i++) {
+                values[i] /= sizes[i];
+            }
+        }
+    }
+
+    private static int[] sizes(int[] index, int count) {
+        int[] sizes = new int[count];
+        for (int i : index) {
+            sizes[i]++;
+        }
+        return sizes;
+    }
+
+    private static long coreKey(LogicalProcessor p) {
+        // Package, die and core IDs each fit in 21 bits
+        return ((long) p.getPackageId() & 0x1fffff) << 42 | ((long) p.getDieId() & 0x1fffff) << 21
+                | p.getCoreId() & 0x1fffff;
+    }
+
+    /**
+     * Numbers the keys of a sorted map in order
+     *
+     * @return The number of keys
+     */
+    private static <K> int number(Map<K, Integer> map) {
+        int i = 0;
+        for (Map.Entry<K, Integer> e : map.entrySet()) {
+            e.setValue(i++);
+        }
+        return i;
+    }
+
+    private static int[] ids(Map<Integer, Integer> map) {
+        int[] ids = new int[number(map)];
+        int i = 0;
+        for (Integer id : map.keySet()) {
+            ids[i++] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * A logical processor and its place in the topology
+     */
+    public static final class LogicalProcessor implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int processorNumber;
+
+        private final int packageId;
+
+        private final int dieId;
+
+        private final int coreId;
+
+        private final int threadId;
+
+        private final int nodeId;
+
+        /**
+         * @param processorNumber
+         *            The logical processor number
+         * @param packageId
+         *            The physical package (socket) ID
+         * @param dieId
+         *            The die ID within the package
+         * @param coreId
+         *            The core ID within the die
+         * @param threadId
+         *            The hardware thread within the core, from 0
+         * @param nodeId
+         *            The NUMA node number
+         */
+        public LogicalProcessor(int processorNumber, int packageId, int dieId, int coreId, int threadId,
+                int nodeId) {
+            this.processorNumber = processorNumber;
+            this.packageId = packageId;
+            this.dieId = dieId;
+            this.coreId = coreId;
+            this.threadId = threadId;
+            this.nodeId = nodeId;
+        }
+
+        /**
+         * @return The logical processor number
+         */
+        public int getProcessorNumber() {
+            return this.processorNumber;
+        }
+
+        /**
+         * @return The physical package (socket) ID
+         */
+        public int getPackageId() {
+            return this.packageId;
+        }
+
+        /**
+         * @return The die ID within the package
+         */
+        public int getDieId() {
+            return this.dieId;
+        }
+
+        /**
+         * @return The core ID within the die
+         */
+        public int getCoreId() {
+            return this.coreId;
+        }
+
+        /**
+         * @return The hardware thread within the core, from 0
+         */
+        public int getThreadId() {
+            return this.threadId;
+        }
+
+        /**
+         * @return The NUMA node number
+         */
+        public int getNodeId() {
+            return this.nodeId;
+        }
+    }
+
+    /**
+     * A cache and the logical processors sharing it
+     */
+    public static final class Cache implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int level;
+
+        private final String type;
+
+        private final long size;
+
+        private final int lineSize;
+
+        private final int associativity;
+
+        private final int[] sharedProcessors;
+
+        /**
+         * @param level
+         *            The cache level, e.g., 1 for L1
+         * @param type
+         *            The type: Data, Instruction or Unified
+         * @param size
+         *            The size in bytes
+         * @param lineSize
+         *            The line size in bytes, or 0 if unknown
+         * @param associativity
+         *            The number of ways, or 0 if unknown
+         * @param sharedProcessors
+         *            The numbers of the logical processors sharing the cache
+         */
+        public Cache(int level, String type, long size, int lineSize, int associativity, int[] sharedProcessors) {
+            this.level = level;
+            this.type = type;
+            this.size = size;
+            this.lineSize = lineSize;
+            this.associativity = associativity;
+            this.sharedProcessors = sharedProcessors.clone();
+        }
+
+        /**
+         * @return The cache level, e.g., 1 for L1
+         */
+        public int getLevel() {
+            return this.level;
+        }
+
+        /**
+         * @return The type: Data, Instruction or Unified
+         */
+        public String getType() {
+            return this.type;
+        }
+
+        /**
+         * @return The size in bytes
+         */
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * @return The line size in bytes, or 0 if unknown
+         */
+        public int getLineSize() {
+            return this.lineSize;
+        }
+
+        /**
+         * @return The number of ways, or 0 if unknown
+         */
+        public int getAssociativity() {
+            return this.associativity;
+        }
+
+        /**
+         * @return The numbers of the logical processors sharing the cache
+         */
+        public int[] getSharedProcessors() {
+            return this.sharedProcessors.clone();
+        }
+    }
+}
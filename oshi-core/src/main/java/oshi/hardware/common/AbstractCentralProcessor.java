@@ -26,6 +26,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import oshi.hardware.CentralProcessor;
+import oshi.hardware.CpuLoadSampler;
+import oshi.hardware.CpuTicks;
 import oshi.util.ParseUtil;
 
 /**
@@ -70,20 +72,8 @@ public abstract class AbstractCentralProcessor implements CentralProcessor {
 
     protected int physicalProcessorCount = 0;
 
-    // Maintain previous ticks to be used for calculating usage between them.
-    // System ticks
-    private long tickTime;
-
-    private long[] prevTicks;
-
-    private long[] curTicks;
-
-    // Per-processor ticks [cpu][type]
-    private long procTickTime;
-
-    private long[][] prevProcTicks;
-
-    private long[][] curProcTicks;
+    // Samples shared by the methods calculating usage between ticks
+    private volatile CpuLoadSampler ticksSampler;
 
     // Processor info
     private String cpuVendor;
@@ -131,20 +121,12 @@ public abstract class AbstractCentralProcessor implements CentralProcessor {
     }
 
     /**
-     * Initializes tick arrays
+     * Initializes the tick counts shared by
+     * {@link #getSystemCpuLoadBetweenTicks()} and
+     * {@link #getProcessorCpuLoadBetweenTicks()}
      */
-    protected synchronized void initTicks() {
-        // Per-processor ticks
-        this.prevProcTicks = new long[this.logicalProcessorCount][TickType.values().length];
-        this.curProcTicks = new long[this.logicalProcessorCount][TickType.values().length];
-        updateProcessorTicks();
-
-        // Solaris relies on procTicks init before system ticks
-        // System ticks
-        this.prevTicks = new long[TickType.values().length];
-        this.curTicks = new long[TickType.values().length];
-        updateSystemTicks();
-
+    protected void initTicks() {
+        this.ticksSampler = new CpuLoadSampler(this);
     }
 
     /**
@@ -374,51 +356,21 @@ public abstract class AbstractCentralProcessor implements CentralProcessor {
      * {@inheritDoc}
      */
     @Override
-    public synchronized double getSystemCpuLoadBetweenTicks() {
-        // Check if > ~ 0.95 seconds since last tick count.
-        long now = System.currentTimeMillis();
-        LOG.trace("Current time: {}  Last tick time: {}", now, this.tickTime);
-        if (now - this.tickTime > 950) {
-            // Enough time has elapsed.
-            updateSystemTicks();
-        }
-        // Calculate total
-        long total = 0;
-        for (int i = 0; i < this.curTicks.length; i++) {
-            total += this.curTicks[i] - this.prevTicks[i];
-        }
-        // Calculate idle from difference in idle and IOwait
-        long idle = this.curTicks[TickType.IDLE.getIndex()] + this.curTicks[TickType.IOWAIT.getIndex()]
-                - this.prevTicks[TickType.IDLE.getIndex()] - this.prevTicks[TickType.IOWAIT.getIndex()];
-        LOG.trace("Total ticks: {}  Idle ticks: {}", total, idle);
-
-        return total > 0 && idle >= 0 ? (double) (total - idle) / total : 0d;
+    public double getSystemCpuLoadBetweenTicks() {
+        // Update if > ~ 0.95 seconds since last tick count.
+        CpuLoadSampler sampler = this.ticksSampler;
+        sampler.sample(950);
+        return sampler.getSystemCpuLoad();
     }
 
     /**
-     * Updates system tick information. Stores in array with seven elements
-     * representing clock ticks or milliseconds (platform dependent) spent in
-     * User (0), Nice (1), System (2), Idle (3), IOwait (4), IRQ (5), and
-     * SoftIRQ (6) states. By measuring the difference between ticks across a
-     * time interval, CPU load over that interval may be calculated.
+     * {@inheritDoc}
      */
-    protected void updateSystemTicks() {
-        LOG.trace("Updating System Ticks");
+    @Override
+    public CpuTicks getCpuTicks() {
+        long[][] procTicks = getProcessorCpuLoadTicks();
         long[] ticks = getSystemCpuLoadTicks();
-        // Skip update if ticks is all zero.
-        // Iterate to find a nonzero tick value and return; this should quickly
-        // find a nonzero value if one exists and be fast in checking 0's
-        // through branch prediction if it doesn't
-        for (long tick : ticks) {
-            if (tick != 0) {
-                // We have a nonzero tick array, update and return!
-                this.tickTime = System.currentTimeMillis();
-                // Copy to previous
-                System.arraycopy(this.curTicks, 0, this.prevTicks, 0, this.curTicks.length);
-                System.arraycopy(ticks, 0, this.curTicks, 0, ticks.length);
-                return;
-            }
-        }
+        return new CpuTicks(System.currentTimeMillis(), ticks, procTicks);
     }
 
     /**
@@ -452,65 +404,10 @@ public abstract class AbstractCentralProcessor implements CentralProcessor {
      */
     @Override
     public double[] getProcessorCpuLoadBetweenTicks() {
-        // Check if > ~ 0.95 seconds since last tick count.
-        long now = System.currentTimeMillis();
-        LOG.trace("Current time: {}  Last tick time: {}", now, this.procTickTime);
-        if (now - this.procTickTime > 950) {
-            // Enough time has elapsed.
-            // Update latest
-            updateProcessorTicks();
-        }
-        double[] load = new double[this.logicalProcessorCount];
-        for (int cpu = 0; cpu < this.logicalProcessorCount; cpu++) {
-            long total = 0;
-            for (int i = 0; i < this.curProcTicks[cpu].length; i++) {
-                total += this.curProcTicks[cpu][i] - this.prevProcTicks[cpu][i];
-            }
-            // Calculate idle from difference in idle and IOwait
-            long idle = this.curProcTicks[cpu][TickType.IDLE.getIndex()]
-                    + this.curProcTicks[cpu][TickType.IOWAIT.getIndex()]
-                    - this.prevProcTicks[cpu][TickType.IDLE.getIndex()]
-                    - this.prevProcTicks[cpu][TickType.IOWAIT.getIndex()];
-            LOG.trace("CPU: {}  Total ticks: {}  Idle ticks: {}", cpu, total, idle);
-            // update
-            load[cpu] = total > 0 && idle >= 0 ? (double) (total - idle) / total : 0d;
-        }
-        return load;
-    }
-
-    /**
-     * Updates per-processor tick information. Stores in 2D array; an array for
-     * each logical processor with with seven elements representing clock ticks
-     * or milliseconds (platform dependent) spent in User (0), Nice (1), System
-     * (2), Idle (3), IOwait (4), IRQ (5), and SoftIRQ (6) states. By measuring
-     * the difference between ticks across a time interval, CPU load over that
-     * interval may be calculated.
-     */
-    protected void updateProcessorTicks() {
-        LOG.trace("Updating Processor Ticks");
-        long[][] ticks = getProcessorCpuLoadTicks();
-        // Skip update if ticks is all zero.
-        // Iterate to find a nonzero tick value and return; this should quickly
-        // find a nonzero value if one exists and be fast in checking 0's
-        // through branch prediction if it doesn't
-        for (long[] tick : ticks) {
-            for (long element : tick) {
-                if (element == 0L) {
-                    continue;
-                }
-                // We have a nonzero tick array, update and return!
-                this.procTickTime = System.currentTimeMillis();
-                // Copy to previous
-                for (int cpu = 0; cpu < this.logicalProcessorCount; cpu++) {
-                    System.arraycopy(this.curProcTicks[cpu], 0, this.prevProcTicks[cpu], 0,
-                            this.curProcTicks[cpu].length);
-                }
-                for (int cpu = 0; cpu < this.logicalProcessorCount; cpu++) {
-                    System.arraycopy(ticks[cpu], 0, this.curProcTicks[cpu], 0, ticks[cpu].length);
-                }
-                return;
-            }
-        }
+        // Update if > ~ 0.95 seconds since last tick count.
+        CpuLoadSampler sampler = this.ticksSampler;
+        sampler.sample(950);
+        return sampler.getProcessorCpuLoad();
     }
 
     /**
@@ -0,0 +1,255 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.util.FileUtil;
+import oshi.util.ParseUtil;
+import oshi.util.platform.linux.CgroupFileParser;
+import oshi.util.platform.linux.CgroupUtil;
+
+/**
+ * Reads the memory and CPU limits and usage of the control group this process
+ * runs in, as found in /proc/self/cgroup, from cgroup v2 or the v1
+ * hierarchies. Limits may be set on the group or any of its ancestors, so the
+ * lowest limit of the groups from this process's group up to the root of the
+ * hierarchy applies. Inside a container the root of a mounted hierarchy is
+ * often the container's own group, in which case the path in
+ * /proc/self/cgroup does not exist below the mount and the mount itself is
+ * read instead.
+ *
+ * Values are read from the files on each call, so that limits changed while
+ * running are seen. Instances are not thread safe.
+ */
+final class ContainerLimits {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContainerLimits.class);
+
+    private static final byte[][] INACTIVE_FILE_V2_KEYS = { CgroupFileParser.bytes("inactive_file") };
+    private static final byte[][] INACTIVE_FILE_V1_KEYS = { CgroupFileParser.bytes("total_inactive_file") };
+    private static final byte[][] USAGE_KEYS = { CgroupFileParser.bytes("usage_usec") };
+
+    private final int version;
+
+    private final CgroupFileParser parser = new CgroupFileParser();
+
+    // Group directories, from this process's group up to the hierarchy root
+    private final List<String> memoryDirs;
+
+    private final List<String> cpuDirs;
+
+    private final List<String> cpusetDirs;
+
+    private final List<String> cpuacctDirs;
+
+    /**
+     * Finds the control groups of this process
+     */
+    ContainerLimits() {
+        this(CgroupUtil.ROOT, FileUtil.readFile("/proc/self/cgroup", false));
+    }
+
+    /**
+     * Finds the control groups of a process
+     *
+     * @param root
+     *            The directory control group hierarchies are mounted under
+     * @param procCgroup
+     *            The lines of /proc/[pid]/cgroup for the process
+     */
+    ContainerLimits(String root, List<String> procCgroup) {
+        Map<String, String> paths = CgroupUtil.parseProcessGroups(procCgroup);
+        if (CgroupUtil.getVersion(root) == 2) {
+            this.version = 2;
+            this.memoryDirs = dirs(root, paths.get(CgroupUtil.UNIFIED));
+            this.cpuDirs = this.memoryDirs;
+            this.cpusetDirs = this.memoryDirs;
+            this.cpuacctDirs = this.memoryDirs;
+        } else {
+            this.version = 1;
+            this.memoryDirs = dirs(root + "/memory", paths.get("memory"));
+            this.cpuDirs = dirs(root + "/cpu", paths.get("cpu"));
+            this.cpusetDirs = dirs(root + "/cpuset", paths.get("cpuset"));
+            this.cpuacctDirs = dirs(root + "/cpuacct", paths.get("cpuacct"));
+        }
+        LOG.debug("cgroup v{} memory: {} cpu: {}", this.version,
+                this.memoryDirs.isEmpty() ? null : this.memoryDirs.get(0),
+                this.cpuDirs.isEmpty() ? null : this.cpuDirs.get(0));
+    }
+
+    /**
+     * Gets the memory limit
+     *
+     * @return The lowest memory limit of the group and its ancestors in bytes,
+     *         or -1 if none is set
+     */
+    long getMemoryLimit() {
+        long limit = -1L;
+        for (String dir : this.memoryDirs) {
+            long value = this.parser.readLong(
+                    this.version == 2 ? dir + "/memory.max" : dir + "/memory.limit_in_bytes", -1L);
+            if (value >= 0 && value < CgroupUtil.UNLIMITED_MEMORY && (limit < 0 || value < limit)) {
+                limit = value;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Gets the memory used by the group, including page cache
+     *
+     * @return The memory used in bytes, or -1 if unknown
+     */
+    long getMemoryUsage() {
+        if (this.memoryDirs.isEmpty()) {
+            return -1L;
+        }
+        String dir = this.memoryDirs.get(0);
+        return this.parser.readLong(this.version == 2 ? dir + "/memory.current" : dir + "/memory.usage_in_bytes",
+                -1L);
+    }
+
+    /**
+     * Gets the inactive page cache of the group, which is counted in its usage
+     * but can be reclaimed
+     *
+     * @return The inactive file-backed memory in bytes, or 0 if unknown
+     */
+    long getMemoryInactiveFile() {
+        if (this.memoryDirs.isEmpty()) {
+            return 0L;
+        }
+        long[] inactive = new long[1];
+        this.parser.readKeyed(this.memoryDirs.get(0) + "/memory.stat",
+                this.version == 2 ? INACTIVE_FILE_V2_KEYS : INACTIVE_FILE_V1_KEYS, inactive);
+        return inactive[0];
+    }
+
+    /**
+     * Gets the CPU quota
+     *
+     * @return The lowest CPU quota of the group and its ancestors, in logical
+     *         processors (quota divided by period), or -1 if none is set
+     */
+    double getCpuQuota() {
+        double quota = -1d;
+        for (String dir : this.cpuDirs) {
+            double value;
+            if (this.version == 2) {
+                value = this.parser.readCpuMax(dir + "/cpu.max");
+            } else {
+                long max = this.parser.readLong(dir + "/cpu.cfs_quota_us", -1L);
+                long period = this.parser.readLong(dir + "/cpu.cfs_period_us", -1L);
+                value = max > 0 && period > 0 ? (double) max / period : -1d;
+            }
+            if (value > 0 && (quota < 0 || value < quota)) {
+                quota = value;
+            }
+        }
+        return quota;
+    }
+
+    /**
+     * Gets the number of logical processors the group may run on
+     *
+     * @return The number of processors in the group's effective cpuset, or 0
+     *         if unknown
+     */
+    int getCpusetCount() {
+        // The effective set already accounts for the ancestors' sets
+        for (String dir : this.cpusetDirs) {
+            String cpus = this.version == 2 ? FileUtil.getStringFromFile(dir + "/cpuset.cpus.effective")
+                    : FileUtil.getStringFromFile(dir + "/cpuset.effective_cpus");
+            if (cpus.isEmpty() && this.version == 1) {
+                cpus = FileUtil.getStringFromFile(dir + "/cpuset.cpus");
+            }
+            int count = parseCpuList(cpus);
+            if (count > 0) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the CPU time used by the group
+     *
+     * @return The total CPU time used by all tasks in the group in
+     *         microseconds, or -1 if unknown
+     */
+    long getCpuUsage() {
+        if (this.cpuacctDirs.isEmpty()) {
+            return -1L;
+        }
+        String dir = this.cpuacctDirs.get(0);
+        if (this.version == 2) {
+            long[] usage = new long[1];
+            return this.parser.readKeyed(dir + "/cpu.stat", USAGE_KEYS, usage) ? usage[0] : -1L;
+        }
+        long nanos = this.parser.readLong(dir + "/cpuacct.usage", -1L);
+        return nanos < 0 ? -1L : nanos / 1000L;
+    }
+
+    /**
+     * Counts the processors in a list such as "0-3,8,10-11"
+     *
+     * @param cpus
+     *            A list of processor numbers and ranges
+     * @return The number of processors, or 0 if the list is empty or invalid
+     */
+    static int parseCpuList(String cpus) {
+        return ParseUtil.parseIntRangeList(cpus).length;
+    }
+
+    /**
+     * Lists the directories of a group and its ancestors in a hierarchy
+     *
+     * @param mount
+     *            The directory the hierarchy is mounted on
+     * @param path
+     *            The path of the group in the hierarchy
+     * @return The directories, starting with the group's; empty if the
+     *         hierarchy is not mounted or the process is not in it
+     */
+    private static List<String> dirs(String mount, String path) {
+        if (path == null || !path.startsWith("/") || !new File(mount).isDirectory()) {
+            return Collections.emptyList();
+        }
+        String p = path;
+        if (!new File(mount + p).isDirectory()) {
+            // The mount is the container's own group
+            p = "/";
+        }
+        List<String> dirs = new ArrayList<>();
+        while (!"/".equals(p) && !p.isEmpty()) {
+            dirs.add(CgroupUtil.getGroupDir(mount, p));
+            p = p.substring(0, p.lastIndexOf('/'));
+        }
+        dirs.add(mount);
+        return dirs;
+    }
+}
@@ -34,8 +34,33 @@ final class LinuxBaseboard extends AbstractBaseboard {
     // official/approved path for sysfs information
     private static final String SYSFS_SERIAL_PATH = "/sys/devices/virtual/dmi/id/";
 
-    LinuxBaseboard() {
+    /**
+     * @param cache
+     *            The identity cache to read the values from, or add them to if
+     *            not cached; null for none
+     */
+    LinuxBaseboard(LinuxIdentityCache cache) {
+        if (cache != null && cache.get("baseboard.model") != null) {
+            setManufacturer(cache.get("baseboard.manufacturer"));
+            setModel(cache.get("baseboard.model"));
+            setVersion(cache.get("baseboard.version"));
+            // Only known serial numbers are cached, so retry if not cached
+            String serialNumber = cache.get("baseboard.serialNumber");
+            if (serialNumber == null) {
+                readSerialNumber();
+                cache.putSerialNumber("baseboard.serialNumber", getSerialNumber());
+            } else {
+                setSerialNumber(serialNumber);
+            }
+            return;
+        }
         init();
+        if (cache != null) {
+            cache.put("baseboard.manufacturer", getManufacturer());
+            cache.put("baseboard.model", getModel());
+            cache.put("baseboard.version", getVersion());
+            cache.putSerialNumber("baseboard.serialNumber", getSerialNumber());
+        }
     }
 
     private void init() {
@@ -63,6 +88,11 @@ final class LinuxBaseboard extends AbstractBaseboard {
             setVersion(boardVersion.trim());
         }
 
+        readSerialNumber();
+    }
+
+    private void readSerialNumber() {
+        // Readable only by root, unless chmod'd at boot time
         final String boardSerialNumber = FileUtil.getStringFromFile(SYSFS_SERIAL_PATH + "board_serial");
         if (boardSerialNumber != null && !boardSerialNumber.trim().isEmpty()) {
             setSerialNumber(boardSerialNumber.trim());
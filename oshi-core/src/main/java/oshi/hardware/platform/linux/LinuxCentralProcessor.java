@@ -20,6 +20,8 @@ package oshi.hardware.platform.linux;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import oshi.hardware.CpuTicks;
+import oshi.hardware.ProcessorTopology;
 import oshi.hardware.common.AbstractCentralProcessor;
 import oshi.jna.platform.linux.Libc;
 import oshi.util.ExecutingCommand;
@@ -44,13 +46,74 @@ public class LinuxCentralProcessor extends AbstractCentralProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(LinuxCentralProcessor.class);
 
+    // Readers of snapshots for tick counts only, whose rates are not used, so
+    // that only getProcStat() advances the baseline of its rates
+    private static final ThreadLocal<ProcStatReader> TICK_READERS = new ThreadLocal<ProcStatReader>() {
+        @Override
+        protected ProcStatReader initialValue() {
+            return new ProcStatReader("/proc/stat");
+        }
+    };
+
+    private volatile boolean containerAware;
+
+    private transient ContainerLimits container;
+
+    private transient ProcStatReader procStatReader;
+
+    // The two most recent scheduler statistics of the processors
+    private transient LinuxSchedStat prevSchedStat;
+
+    private transient LinuxSchedStat curSchedStat;
+
+    // Set by calculateProcessorCounts() during construction, so must not be
+    // initialized here
+    private ProcessorTopology topology;
+
+    // CPU time used by the control group (microseconds) and when it was read
+    // (nanoseconds), as of the two most recent samples
+    private long prevGroupUsage = -1L;
+    private long curGroupUsage = -1L;
+    private long prevGroupTime;
+    private long curGroupTime;
+
     /**
      * Create a Processor
      */
     public LinuxCentralProcessor() {
+        this(null);
+    }
+
+    /**
+     * Create a Processor
+     *
+     * @param cache
+     *            The identity cache to read the vendor, model and processor ID
+     *            from, or add them to if not cached; null for none
+     */
+    LinuxCentralProcessor(LinuxIdentityCache cache) {
         super();
         // Initialize class variables
-        initVars();
+        if (cache != null && cache.get("processor.processorID") != null) {
+            setVendor(cache.get("processor.vendor"));
+            setName(cache.get("processor.name"));
+            setFamily(cache.get("processor.family"));
+            setModel(cache.get("processor.model"));
+            setStepping(cache.get("processor.stepping"));
+            setCpu64(Boolean.parseBoolean(cache.get("processor.cpu64")));
+            setProcessorID(cache.get("processor.processorID"));
+        } else {
+            initVars();
+            if (cache != null) {
+                cache.put("processor.vendor", getVendor());
+                cache.put("processor.name", getName());
+                cache.put("processor.family", getFamily());
+                cache.put("processor.model", getModel());
+                cache.put("processor.stepping", getStepping());
+                cache.put("processor.cpu64", Boolean.toString(isCpu64bit()));
+                cache.put("processor.processorID", getProcessorID());
+            }
+        }
         // Initialize tick arrays
         initTicks();
 
@@ -101,10 +164,137 @@ public class LinuxCentralProcessor extends AbstractCentralProcessor {
     }
 
     /**
-     * Updates logical and physical processor counts from /proc/cpuinfo
+     * Sets whether system load is reported for the control group (container)
+     * this process runs in rather than for the host. When enabled,
+     * {@link #getSystemCpuLoad()} and {@link #getSystemCpuLoadBetweenTicks()}
+     * return the CPU time used by the group as a fraction of the time its
+     * {@link #getContainerProcessorCapacity()} allows. Processor counts, tick
+     * counts and per-processor values are still reported for the host's
+     * processors. Disabled by default.
+     *
+     * @param containerAware
+     *            Whether to report values for this process's control group
+     */
+    public synchronized void setContainerAware(boolean containerAware) {
+        this.containerAware = containerAware;
+        this.container = null;
+        this.prevGroupUsage = -1L;
+        this.curGroupUsage = -1L;
+        if (containerAware) {
+            updateGroupUsage();
+        }
+    }
+
+    /**
+     * @return Whether system load is reported for this process's control
+     *         group
+     */
+    public boolean isContainerAware() {
+        return this.containerAware;
+    }
+
+    /**
+     * Gets the processor capacity of the control group (container) this
+     * process runs in: the lower of the number of processors in its cpuset and
+     * its CPU quota (quota divided by period), whether or not container-aware
+     * mode is enabled
+     *
+     * @return The number of logical processors the group may use, which may
+     *         be fractional if limited by a CPU quota; the host's logical
+     *         processor count if the group has no limits
+     */
+    public synchronized double getContainerProcessorCapacity() {
+        return getGroupCapacity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSystemCpuLoadBetweenTicks() {
+        if (this.containerAware) {
+            double load = getGroupCpuLoadBetweenTicks();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        return super.getSystemCpuLoadBetweenTicks();
+    }
+
+    /**
+     * Gets the CPU load of the control group since the previous sample at
+     * least about a second earlier
+     *
+     * @return The load, or -1 if the group has no CPU accounting
+     */
+    private synchronized double getGroupCpuLoadBetweenTicks() {
+        // Check if > ~ 0.95 seconds since last sample.
+        if (System.nanoTime() - this.curGroupTime > 950_000_000L) {
+            updateGroupUsage();
+        }
+        if (this.curGroupUsage < 0) {
+            return -1d;
+        }
+        long elapsed = this.curGroupTime - this.prevGroupTime;
+        long used = this.curGroupUsage - this.prevGroupUsage;
+        if (this.prevGroupUsage < 0 || elapsed <= 0 || used < 0) {
+            return 0d;
+        }
+        return Math.min(1d, used * 1000d / elapsed / getGroupCapacity());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSystemCpuLoad() {
+        // The MXBean reports load for the host
+        return isContainerAware() ? getSystemCpuLoadBetweenTicks() : super.getSystemCpuLoad();
+    }
+
+    private ContainerLimits getContainer() {
+        if (this.container == null) {
+            this.container = new ContainerLimits();
+        }
+        return this.container;
+    }
+
+    /**
+     * Gets the number of processors the control group may use, which may be
+     * fractional if limited by a CPU quota
+     */
+    private double getGroupCapacity() {
+        double capacity = this.logicalProcessorCount;
+        int cpus = getContainer().getCpusetCount();
+        if (cpus > 0) {
+            capacity = Math.min(capacity, cpus);
+        }
+        double quota = getContainer().getCpuQuota();
+        if (quota > 0) {
+            capacity = Math.min(capacity, quota);
+        }
+        return capacity;
+    }
+
+    private void updateGroupUsage() {
+        this.prevGroupUsage = this.curGroupUsage;
+        this.prevGroupTime = this.curGroupTime;
+        this.curGroupUsage = getContainer().getCpuUsage();
+        this.curGroupTime = System.nanoTime();
+    }
+
+    /**
+     * Updates logical and physical processor counts from the sysfs topology,
+     * or from /proc/cpuinfo if sysfs has none
      */
     @Override
     protected void calculateProcessorCounts() {
+        this.topology = SysfsTopology.read();
+        if (this.topology.getLogicalProcessors().length > 0) {
+            this.logicalProcessorCount = this.topology.getLogicalProcessors().length;
+            this.physicalProcessorCount = this.topology.getCoreCount();
+            return;
+        }
         List<String> procCpu = FileUtil.readFile("/proc/cpuinfo");
         // Get number of logical processors
         for (String cpu : procCpu) {
@@ -171,34 +361,88 @@ public class LinuxCentralProcessor extends AbstractCentralProcessor {
     }
 
     /**
-     * {@inheritDoc}
+     * Reads a new snapshot of /proc/stat, with the ticks of the system and of
+     * each processor and the kernel activity counters, with a single read of
+     * the file. Rates in the snapshot are since the previous snapshot returned
+     * by this method; reading tick counts does not affect them.
+     *
+     * @return A snapshot of /proc/stat
      */
-    @Override
-    public synchronized long[] getSystemCpuLoadTicks() {
-        long[] ticks = new long[TickType.values().length];
-        // /proc/stat expected format
-        // first line is overall user,nice,system,idle,iowait,irq, etc.
-        // cpu 3357 0 4313 1362393 ...
-        String tickStr;
-        List<String> procStat = FileUtil.readFile("/proc/stat");
-        if (!procStat.isEmpty()) {
-            tickStr = procStat.get(0);
-        } else {
-            return ticks;
-        }
-        // Split the line. Note the first (0) element is "cpu" so remaining
-        // elements are offset by 1 from the enum index
-        String[] tickArr = ParseUtil.whitespaces.split(tickStr);
-        if (tickArr.length <= TickType.IDLE.getIndex()) {
-            // If ticks don't at least go user/nice/system/idle, abort
-            return ticks;
+    public synchronized LinuxProcStat getProcStat() {
+        if (this.procStatReader == null) {
+            this.procStatReader = new ProcStatReader("/proc/stat");
         }
-        // Note tickArr is offset by 1
-        for (int i = 0; i < TickType.values().length; i++) {
-            ticks[i] = ParseUtil.parseLongOrDefault(tickArr[i + 1], 0L);
+        return this.procStatReader.read();
+    }
+
+    /**
+     * Reads the scheduler statistics of each logical processor from
+     * /proc/schedstat
+     *
+     * @return The statistics; with no rows if the kernel does not provide them
+     */
+    public LinuxSchedStat getSchedStat() {
+        return LinuxSchedStat.readProcessors("/proc/schedstat");
+    }
+
+    /**
+     * Reads the scheduler statistics of a process from /proc/[pid]/schedstat.
+     * Use {@link LinuxSchedStat#getRatesSince(LinuxSchedStat)} with an earlier
+     * snapshot for its run queue wait per second.
+     *
+     * @param pid
+     *            The process ID
+     * @return The statistics; with no rows if the process does not exist
+     */
+    public LinuxSchedStat getProcessSchedStat(int pid) {
+        return LinuxSchedStat.readProcess(pid, String.format("/proc/%d/schedstat", pid));
+    }
+
+    /**
+     * Gets the scheduler rates of each logical processor over the same kind of
+     * interval as {@link #getProcessorCpuLoadBetweenTicks()}: since the
+     * previous call at least about a second earlier. The first call only
+     * starts the interval and returns zeros.
+     *
+     * @return For each logical processor, in processor number order, indexed
+     *         by {@link LinuxSchedStat#RUN}, {@link LinuxSchedStat#WAIT} and
+     *         {@link LinuxSchedStat#TIMESLICES}: the seconds spent running per
+     *         second, the seconds tasks spent waiting on its run queue per
+     *         second, and the timeslices per second. Empty if the kernel does
+     *         not provide scheduler statistics.
+     */
+    public synchronized double[][] getProcessorSchedStatBetweenTicks() {
+        // Update if > ~ 0.95 seconds since last sample.
+        if (this.curSchedStat == null) {
+            this.curSchedStat = getSchedStat();
+            this.prevSchedStat = this.curSchedStat;
+        } else if (System.currentTimeMillis() - this.curSchedStat.getTimestamp() >= 950) {
+            this.prevSchedStat = this.curSchedStat;
+            this.curSchedStat = getSchedStat();
         }
+        return this.curSchedStat.getRatesSince(this.prevSchedStat);
+    }
+
+    /**
+     * Gets the topology of the online logical processors, read from sysfs
+     * when this processor was created: the package, die, core and NUMA node of
+     * each, and their caches. Use
+     * {@link ProcessorTopology#aggregate(double[], double[], double[], double[])}
+     * to aggregate per-processor load by core, package or node.
+     *
+     * @return The topology; with no logical processors if sysfs has none
+     */
+    public ProcessorTopology getTopology() {
+        return this.topology;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getSystemCpuLoadTicks() {
         // Ignore guest or guest_nice, they are included in user/nice
-        return ticks;
+        return TICK_READERS.get().read().getSystemCpuLoadTicks();
     }
 
     /**
@@ -224,32 +468,25 @@ public class LinuxCentralProcessor extends AbstractCentralProcessor {
      */
     @Override
     public long[][] getProcessorCpuLoadTicks() {
+        return getProcessorCpuLoadTicks(TICK_READERS.get().read());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CpuTicks getCpuTicks() {
+        // System and processor ticks from a single read of /proc/stat, with a
+        // reader per thread so that samplers do not wait for each other
+        LinuxProcStat stat = TICK_READERS.get().read();
+        return new CpuTicks(stat.getTimestamp(), stat.getSystemCpuLoadTicks(), getProcessorCpuLoadTicks(stat));
+    }
+
+    private long[][] getProcessorCpuLoadTicks(LinuxProcStat stat) {
         long[][] ticks = new long[this.logicalProcessorCount][TickType.values().length];
-        // /proc/stat expected format
-        // first line is overall user,nice,system,idle, etc.
-        // cpu 3357 0 4313 1362393 ...
-        // per-processor subsequent lines for cpu0, cpu1, etc.
-        int cpu = 0;
-        List<String> procStat = FileUtil.readFile("/proc/stat");
-        for (String stat : procStat) {
-            if (stat.startsWith("cpu") && !stat.startsWith("cpu ")) {
-                // Split the line. Note the first (0) element is "cpu" so
-                // remaining
-                // elements are offset by 1 from the enum index
-                String[] tickArr = ParseUtil.whitespaces.split(stat);
-                if (tickArr.length <= TickType.IDLE.getIndex()) {
-                    // If ticks don't at least go user/nice/system/idle, abort
-                    return ticks;
-                }
-                // Note tickArr is offset by 1
-                for (int i = 0; i < TickType.values().length; i++) {
-                    ticks[cpu][i] = ParseUtil.parseLongOrDefault(tickArr[i + 1], 0L);
-                }
-                // Ignore guest or guest_nice, they are included in
-                if (++cpu >= this.logicalProcessorCount) {
-                    break;
-                }
-            }
+        long[][] procTicks = stat.processorTicks;
+        for (int cpu = 0; cpu < procTicks.length && cpu < ticks.length; cpu++) {
+            System.arraycopy(procTicks[cpu], 0, ticks[cpu], 0, ticks[cpu].length);
         }
         return ticks;
     }
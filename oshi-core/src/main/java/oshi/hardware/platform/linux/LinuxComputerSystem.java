@@ -39,7 +39,35 @@ final class LinuxComputerSystem extends AbstractComputerSystem {
     private static final String UNKNOWN = "unknown";
 
     LinuxComputerSystem() {
-        init();
+        this(null);
+    }
+
+    /**
+     * @param cache
+     *            The identity cache to read the values from, or add them to if
+     *            not cached; null for none
+     */
+    LinuxComputerSystem(LinuxIdentityCache cache) {
+        if (cache != null && cache.get("system.model") != null) {
+            setManufacturer(cache.get("system.manufacturer"));
+            setModel(cache.get("system.model"));
+            // Only known serial numbers are cached, so retry if not cached
+            String serialNumber = cache.get("system.serialNumber");
+            if (serialNumber == null) {
+                serialNumber = getSystemSerialNumber();
+                cache.putSerialNumber("system.serialNumber", serialNumber);
+            }
+            setSerialNumber(serialNumber);
+        } else {
+            init();
+            if (cache != null) {
+                cache.put("system.manufacturer", getManufacturer());
+                cache.put("system.model", getModel());
+                cache.putSerialNumber("system.serialNumber", getSerialNumber());
+            }
+        }
+        setFirmware(new LinuxFirmware(cache));
+        setBaseboard(new LinuxBaseboard(cache));
     }
 
     private void init() {
@@ -76,10 +104,6 @@ final class LinuxComputerSystem extends AbstractComputerSystem {
         }
 
         setSerialNumber(getSystemSerialNumber());
-
-        setFirmware(new LinuxFirmware());
-
-        setBaseboard(new LinuxBaseboard());
     }
 
     private String getSystemSerialNumber() {
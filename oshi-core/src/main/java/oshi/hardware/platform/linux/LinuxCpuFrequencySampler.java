@@ -0,0 +1,367 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.hardware.CpuFrequency;
+import oshi.util.platform.linux.ProcUtil;
+
+/**
+ * Samples the frequency scaling state of each logical processor from the
+ * cpufreq files in /sys/devices/system/cpu/cpu[N]/cpufreq. The files are
+ * opened once and re-read from offset zero on each sample, which makes sysfs
+ * regenerate their contents, so that polling many processors costs one read
+ * per file rather than an open, read and close.
+ *
+ * Processors without cpufreq (e.g., in most virtual machines) are not
+ * sampled. A sampler holds up to five open files per processor, which are
+ * only released by {@link #close()}, so the caller owns the sampler and must
+ * close it, e.g., with try-with-resources:
+ *
+ * <pre>
+ * try (LinuxCpuFrequencySampler sampler = new LinuxCpuFrequencySampler()) {
+ *     CpuFrequency[] freqs = sampler.sample();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class LinuxCpuFrequencySampler implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxCpuFrequencySampler.class);
+
+    private static final String CPU_DIR = "/sys/devices/system/cpu";
+
+    private static final Pattern CPU_NAME = Pattern.compile("cpu\\d+");
+
+    private static final long[] EMPTY = new long[0];
+
+    private static final CpuFrequency[] NONE = new CpuFrequency[0];
+
+    // Clock ticks per second, the unit of time_in_state
+    private static final long HZ = ProcUtil.getClockTicks();
+
+    private final Cpu[] cpus;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+
+    private boolean closed;
+
+    /**
+     * Opens the cpufreq files of each logical processor
+     */
+    public LinuxCpuFrequencySampler() {
+        this(CPU_DIR);
+    }
+
+    /**
+     * Opens the cpufreq files of each logical processor
+     *
+     * @param cpuDir
+     *            The directory containing the processors' directories
+     */
+    LinuxCpuFrequencySampler(String cpuDir) {
+        Map<Integer, File> dirs = new TreeMap<>();
+        File[] files = new File(cpuDir).listFiles();
+        if (files != null) {
+            for (File f : files) {
+                File freq = new File(f, "cpufreq");
+                if (CPU_NAME.matcher(f.getName()).matches() && freq.isDirectory()) {
+                    dirs.put(Integer.parseInt(f.getName().substring(3)), freq);
+                }
+            }
+        }
+        List<Cpu> list = new ArrayList<>(dirs.size());
+        for (Map.Entry<Integer, File> dir : dirs.entrySet()) {
+            list.add(new Cpu(dir.getKey(), dir.getValue()));
+        }
+        this.cpus = list.toArray(new Cpu[list.size()]);
+        LOG.debug("Sampling cpufreq of {} processors", this.cpus.length);
+    }
+
+    /**
+     * @return The number of processors with cpufreq
+     */
+    public int getProcessorCount() {
+        return this.cpus.length;
+    }
+
+    /**
+     * Samples each processor
+     *
+     * @return The frequency state of each processor with cpufreq, in processor
+     *         number order; empty if the sampler is closed
+     */
+    public synchronized CpuFrequency[] sample() {
+        if (this.closed) {
+            return NONE;
+        }
+        CpuFrequency[] freqs = new CpuFrequency[this.cpus.length];
+        for (int i = 0; i < this.cpus.length; i++) {
+            Cpu cpu = this.cpus[i];
+            long cur = readKHz(cpu.cur);
+            long min = readKHz(cpu.min);
+            long max = readKHz(cpu.max);
+            String governor = readGovernor(cpu);
+            long[] times = readTimeInState(cpu);
+            freqs[i] = new CpuFrequency(cpu.number, cur, min, max, governor, cpu.stateFrequencies, times);
+        }
+        return freqs;
+    }
+
+    /**
+     * Closes the files of each processor
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        for (Cpu cpu : this.cpus) {
+            cpu.close();
+        }
+    }
+
+    /**
+     * @return A frequency file's value, converted from kHz to Hz, or -1 if it
+     *         could not be read
+     */
+    private long readKHz(FileChannel channel) {
+        int length = read(channel);
+        if (length <= 0) {
+            return -1L;
+        }
+        long khz = parseLong(0, tokenEnd(0, length));
+        return khz < 0 ? -1L : khz * 1000L;
+    }
+
+    /**
+     * @return The governor, reusing the previous String if unchanged
+     */
+    private String readGovernor(Cpu cpu) {
+        int length = read(cpu.governor);
+        if (length <= 0) {
+            return "";
+        }
+        int end = tokenEnd(0, length);
+        byte[] prev = cpu.governorBytes;
+        boolean same = prev != null && prev.length == end;
+        for (int i = 0; same && i < end; i++) {
+            same = prev[i] == this.buffer.get(i);
+        }
+        if (!same) {
+            byte[] bytes = new byte[end];
+            this.buffer.position(0);
+            this.buffer.get(bytes);
+            cpu.governorBytes = bytes;
+            cpu.governorName = new String(bytes, StandardCharsets.US_ASCII);
+        }
+        return cpu.governorName;
+    }
+
+    /**
+     * Reads time_in_state, lines of "frequency-kHz time-in-clock-ticks"
+     *
+     * @return The time at each frequency since the previous sample, in ms
+     */
+    private long[] readTimeInState(Cpu cpu) {
+        int length = read(cpu.timeInState);
+        if (length <= 0) {
+            return EMPTY;
+        }
+        // Count lines to size the arrays
+        int lines = 0;
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (lines != cpu.stateFrequencies.length) {
+            cpu.stateFrequencies = new long[lines];
+            cpu.stateTicks = new long[lines];
+        }
+        long[] times = new long[lines];
+        int pos = 0;
+        for (int line = 0; line < lines; line++) {
+            int end = tokenEnd(pos, length);
+            long khz = parseLong(pos, end);
+            pos = skipSpaces(end, length);
+            end = tokenEnd(pos, length);
+            long ticks = parseLong(pos, end);
+            pos = end + 1;
+            if (cpu.stateFrequencies[line] != khz * 1000L) {
+                // Different states than before, count from boot
+                cpu.stateFrequencies[line] = khz * 1000L;
+                cpu.stateTicks[line] = 0L;
+            }
+            long delta = ticks >= cpu.stateTicks[line] ? ticks - cpu.stateTicks[line] : 0L;
+            cpu.stateTicks[line] = ticks;
+            times[line] = delta * 1000L / HZ;
+        }
+        return times;
+    }
+
+    /**
+     * Reads a file from offset zero into the buffer, growing it if needed
+     *
+     * @return The number of bytes read, or -1 if the file is not open or
+     *         could not be read
+     */
+    private int read(FileChannel channel) {
+        if (channel == null || !channel.isOpen()) {
+            return -1;
+        }
+        try {
+            while (true) {
+                this.buffer.clear();
+                int length = 0;
+                int n;
+                while ((n = channel.read(this.buffer, length)) > 0) {
+                    length += n;
+                    if (!this.buffer.hasRemaining()) {
+                        break;
+                    }
+                }
+                if (this.buffer.hasRemaining()) {
+                    return length;
+                }
+                // Full; grow and read again from the start
+                this.buffer = ByteBuffer.allocateDirect(this.buffer.capacity() * 2);
+            }
+        } catch (IOException e) {
+            LOG.trace("Unable to read cpufreq file. {}", e);
+            return -1;
+        }
+    }
+
+    private int tokenEnd(int pos, int length) {
+        int i = pos;
+        while (i < length) {
+            byte b = this.buffer.get(i);
+            if (b == ' ' || b == '\n' || b == '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int skipSpaces(int pos, int length) {
+        int i = pos;
+        while (i < length && (this.buffer.get(i) == ' ' || this.buffer.get(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return The unsigned decimal number, or -1 if it contains any other
+     *         characters
+     */
+    private long parseLong(int start, int end) {
+        if (start >= end) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            int digit = this.buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1L;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * The open files and previous values of a processor
+     */
+    private static final class Cpu {
+
+        private final int number;
+
+        private final FileChannel cur;
+
+        private final FileChannel min;
+
+        private final FileChannel max;
+
+        private final FileChannel governor;
+
+        private final FileChannel timeInState;
+
+        private byte[] governorBytes;
+
+        private String governorName = "";
+
+        private long[] stateFrequencies = EMPTY;
+
+        private long[] stateTicks = EMPTY;
+
+        private Cpu(int number, File dir) {
+            this.number = number;
+            // The scaling driver's view; cpuinfo_cur_freq is only readable
+            // by root
+            this.cur = open(dir, "scaling_cur_freq");
+            this.min = open(dir, "scaling_min_freq");
+            this.max = open(dir, "scaling_max_freq");
+            this.governor = open(dir, "scaling_governor");
+            this.timeInState = open(dir, "stats/time_in_state");
+        }
+
+        private static FileChannel open(File dir, String name) {
+            File file = new File(dir, name);
+            if (!file.exists()) {
+                return null;
+            }
+            try {
+                return FileChannel.open(Paths.get(file.getPath()), StandardOpenOption.READ);
+            } catch (IOException e) {
+                LOG.debug("Unable to open {}. {}", file, e);
+                return null;
+            }
+        }
+
+        private void close() {
+            for (FileChannel channel : new FileChannel[] { this.cur, this.min, this.max, this.governor,
+                    this.timeInState }) {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        LOG.trace("Unable to close cpufreq file. {}", e);
+                    }
+                }
+            }
+        }
+    }
+}
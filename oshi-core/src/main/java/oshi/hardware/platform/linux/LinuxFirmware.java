@@ -18,6 +18,8 @@
  */
 package oshi.hardware.platform.linux;
 
+import org.threeten.bp.LocalDate;
+
 import oshi.hardware.common.AbstractFirmware;
 import oshi.util.ExecutingCommand;
 import oshi.util.FileUtil;
@@ -37,8 +39,34 @@ final class LinuxFirmware extends AbstractFirmware {
     // official/approved path for sysfs information
     private static final String SYSFS_SERIAL_PATH = "/sys/devices/virtual/dmi/id/";
 
-    LinuxFirmware() {
+    /**
+     * @param cache
+     *            The identity cache to read the values from, or add them to if
+     *            not cached; null for none
+     */
+    LinuxFirmware(LinuxIdentityCache cache) {
+        if (cache != null && cache.get("firmware.version") != null) {
+            setManufacturer(cache.get("firmware.manufacturer"));
+            setName(cache.get("firmware.name"));
+            setDescription(cache.get("firmware.description"));
+            setVersion(cache.get("firmware.version"));
+            String releaseDate = cache.get("firmware.releaseDate");
+            if (releaseDate != null) {
+                setReleaseDate(LocalDate.parse(releaseDate));
+            }
+            return;
+        }
         init();
+        if (cache != null) {
+            cache.put("firmware.manufacturer", getManufacturer());
+            cache.put("firmware.name", getName());
+            cache.put("firmware.description", getDescription());
+            if (getReleaseDate() != null) {
+                cache.put("firmware.releaseDate", getReleaseDate().toString());
+            }
+            // Put last, as its presence marks the values as cached
+            cache.put("firmware.version", getVersion());
+        }
     }
 
     private void init() {
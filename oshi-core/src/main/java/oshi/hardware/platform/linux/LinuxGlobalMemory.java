@@ -43,6 +43,37 @@ public class LinuxGlobalMemory extends AbstractGlobalMemory {
 
     private long lastUpdate = 0;
 
+    private boolean containerAware;
+
+    private transient ContainerLimits container;
+
+    /**
+     * Sets whether memory is reported for the control group (container) this
+     * process runs in rather than for the host. When enabled, the total is the
+     * memory limit of the group or of any of its ancestors, if lower than the
+     * physical memory, and the available memory is that total less the memory
+     * used by the group, not counting its inactive page cache, if lower than
+     * the memory available on the host. Swap is still reported for the host.
+     * Disabled by default.
+     *
+     * @param containerAware
+     *            Whether to report values for this process's control group
+     */
+    public synchronized void setContainerAware(boolean containerAware) {
+        this.containerAware = containerAware;
+        this.container = null;
+        // Force a re-read of the total
+        this.memTotal = 0;
+        this.lastUpdate = 0;
+    }
+
+    /**
+     * @return Whether memory is reported for this process's control group
+     */
+    public synchronized boolean isContainerAware() {
+        return this.containerAware;
+    }
+
     /**
      * Updates instance variables from reading /proc/meminfo no more frequently
      * than every 100ms. While most of the information is available in the
@@ -57,7 +88,7 @@ public class LinuxGlobalMemory extends AbstractGlobalMemory {
      * spends time populating the memory components of the sysinfo structure.
      */
     @Override
-    protected void updateMeminfo() {
+    protected synchronized void updateMeminfo() {
         long now = System.currentTimeMillis();
         if (now - this.lastUpdate > 100) {
             List<String> memInfo = FileUtil.readFile("/proc/meminfo");
@@ -105,11 +136,34 @@ public class LinuxGlobalMemory extends AbstractGlobalMemory {
             if (!found) {
                 this.memAvailable = this.memFree + this.activeFile + this.inactiveFile + this.sReclaimable;
             }
+            if (this.containerAware) {
+                applyContainerLimits();
+            }
 
             this.lastUpdate = now;
         }
     }
 
+    /**
+     * Reduces the total and available memory read from /proc/meminfo to those
+     * of this process's control group, if it has a memory limit
+     */
+    private void applyContainerLimits() {
+        if (this.container == null) {
+            this.container = new ContainerLimits();
+        }
+        long limit = this.container.getMemoryLimit();
+        if (limit < 0) {
+            return;
+        }
+        this.memTotal = Math.min(this.memTotal, limit);
+        long usage = this.container.getMemoryUsage();
+        if (usage >= 0) {
+            long used = Math.max(0L, usage - this.container.getMemoryInactiveFile());
+            this.memAvailable = Math.min(this.memAvailable, Math.max(0L, this.memTotal - used));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,6 +18,8 @@
  */
 package oshi.hardware.platform.linux;
 
+import java.io.File;
+
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.ComputerSystem;
 import oshi.hardware.Display;
@@ -33,13 +35,85 @@ public class LinuxHardwareAbstractionLayer extends AbstractHardwareAbstractionLa
 
     private static final long serialVersionUID = 1L;
 
+    private boolean containerAware;
+
+    private File identityCacheFile;
+
+    private transient LinuxIdentityCache identityCache;
+
+    /**
+     * Sets whether memory and system CPU load are reported for the control
+     * group (container) this process runs in rather than for the host. See
+     * {@link LinuxGlobalMemory#setContainerAware(boolean)} and
+     * {@link LinuxCentralProcessor#setContainerAware(boolean)}. Disabled by
+     * default.
+     *
+     * @param containerAware
+     *            Whether to report values for this process's control group
+     */
+    public synchronized void setContainerAware(boolean containerAware) {
+        this.containerAware = containerAware;
+        if (this.memory != null) {
+            ((LinuxGlobalMemory) this.memory).setContainerAware(containerAware);
+        }
+        if (this.processor != null) {
+            ((LinuxCentralProcessor) this.processor).setContainerAware(containerAware);
+        }
+    }
+
+    /**
+     * @return Whether memory and system CPU load are reported for this
+     *         process's control group
+     */
+    public synchronized boolean isContainerAware() {
+        return this.containerAware;
+    }
+
+    /**
+     * Sets a file in which to cache the processor and computer system
+     * identity (vendor, model, processor ID, serial numbers, firmware and
+     * baseboard), which cannot change until the next boot. When a cache
+     * written since boot exists, later processes read these values from it
+     * rather than from /proc/cpuinfo and sysfs, and without running dmidecode,
+     * cpuid or lshal. Must be set before the processor or computer system is
+     * first requested. Disabled by default.
+     *
+     * @param file
+     *            The cache file, created if needed; null to disable
+     */
+    public synchronized void setIdentityCache(File file) {
+        this.identityCacheFile = file;
+        this.identityCache = null;
+    }
+
+    /**
+     * @return The identity cache file, or null if disabled
+     */
+    public synchronized File getIdentityCache() {
+        return this.identityCacheFile;
+    }
+
+    /**
+     * @return The identity cache, or null if disabled
+     */
+    private LinuxIdentityCache identityCache() {
+        if (this.identityCache == null && this.identityCacheFile != null) {
+            this.identityCache = new LinuxIdentityCache(this.identityCacheFile);
+        }
+        return this.identityCache;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public ComputerSystem getComputerSystem() {
+    public synchronized ComputerSystem getComputerSystem() {
         if (this.computerSystem == null) {
-            this.computerSystem = new LinuxComputerSystem();
+            LinuxIdentityCache cache = identityCache();
+            this.computerSystem = new LinuxComputerSystem(cache);
+            if (cache != null) {
+                cache.store();
+            }
         }
         return this.computerSystem;
     }
@@ -48,9 +122,11 @@ public class LinuxHardwareAbstractionLayer extends AbstractHardwareAbstractionLa
      * {@inheritDoc}
      */
     @Override
-    public GlobalMemory getMemory() {
+    public synchronized GlobalMemory getMemory() {
         if (this.memory == null) {
-            this.memory = new LinuxGlobalMemory();
+            LinuxGlobalMemory linuxMemory = new LinuxGlobalMemory();
+            linuxMemory.setContainerAware(this.containerAware);
+            this.memory = linuxMemory;
         }
         return this.memory;
     }
@@ -59,9 +135,15 @@ public class LinuxHardwareAbstractionLayer extends AbstractHardwareAbstractionLa
      * {@inheritDoc}
      */
     @Override
-    public CentralProcessor getProcessor() {
+    public synchronized CentralProcessor getProcessor() {
         if (this.processor == null) {
-            this.processor = new LinuxCentralProcessor();
+            LinuxIdentityCache cache = identityCache();
+            LinuxCentralProcessor linuxProcessor = new LinuxCentralProcessor(cache);
+            if (cache != null) {
+                cache.store();
+            }
+            linuxProcessor.setContainerAware(this.containerAware);
+            this.processor = linuxProcessor;
         }
         return this.processor;
     }
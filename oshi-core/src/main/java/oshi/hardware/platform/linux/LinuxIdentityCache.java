@@ -0,0 +1,190 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.util.FileUtil;
+
+/**
+ * An on-disk cache of hardware identity values which cannot change while the
+ * system is up, such as processor IDs, serial numbers and firmware versions,
+ * some of which are otherwise only available by running dmidecode, cpuid or
+ * lshal. The cache is stamped with the kernel's boot ID, which changes on each
+ * boot, and is ignored and rewritten if the stamp does not match, so that
+ * hardware changed while the system was down is seen.
+ *
+ * The file is written to a temporary file which is then moved into place, so
+ * that processes sharing a cache never read a partly written file. The
+ * temporary file is created readable only by its owner, as it may hold serial
+ * numbers read with root privileges.
+ */
+final class LinuxIdentityCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxIdentityCache.class);
+
+    private static final String BOOT_ID_PATH = "/proc/sys/kernel/random/boot_id";
+
+    private static final String BOOT_ID = "bootId";
+
+    private final File file;
+
+    private final String bootId;
+
+    private final Properties values = new Properties();
+
+    private boolean changed;
+
+    /**
+     * Loads a cache, if it was written since this system booted
+     *
+     * @param file
+     *            The cache file, which need not exist
+     */
+    LinuxIdentityCache(File file) {
+        this(file, FileUtil.getStringFromFile(BOOT_ID_PATH).trim());
+    }
+
+    /**
+     * Loads a cache, if it was written with the given boot ID
+     *
+     * @param file
+     *            The cache file, which need not exist
+     * @param bootId
+     *            The current boot ID; if empty, nothing is cached
+     */
+    LinuxIdentityCache(File file, String bootId) {
+        this.file = file;
+        this.bootId = bootId;
+        if (bootId.isEmpty() || !file.isFile()) {
+            return;
+        }
+        Properties loaded = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            loaded.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Unable to read hardware identity cache {}. {}", file, e);
+            return;
+        }
+        if (bootId.equals(loaded.getProperty(BOOT_ID))) {
+            this.values.putAll(loaded);
+            LOG.debug("Loaded hardware identity cache {}", file);
+        } else {
+            LOG.debug("Ignoring hardware identity cache {} from a previous boot", file);
+        }
+    }
+
+    /**
+     * @param key
+     *            The name of a value
+     * @return The cached value, or null if not cached
+     */
+    synchronized String get(String key) {
+        return this.values.getProperty(key);
+    }
+
+    /**
+     * Caches a value until the next {@link #store()}
+     *
+     * @param key
+     *            The name of the value
+     * @param value
+     *            The value; null values are not cached
+     */
+    synchronized void put(String key, String value) {
+        if (value != null && !value.equals(this.values.getProperty(key))) {
+            this.values.setProperty(key, value);
+            this.changed = true;
+        }
+    }
+
+    /**
+     * Caches a serial number until the next {@link #store()}, if it is known.
+     * Without root the serial numbers are usually unreadable and reported as
+     * placeholders, which are not cached so that a later privileged run reads
+     * and caches the real ones.
+     *
+     * @param key
+     *            The name of the value
+     * @param serialNumber
+     *            The serial number
+     */
+    synchronized void putSerialNumber(String key, String serialNumber) {
+        if (isKnown(serialNumber)) {
+            put(key, serialNumber);
+        }
+    }
+
+    /**
+     * @param serialNumber
+     *            A serial number
+     * @return false if it is null, empty or a placeholder for an unknown
+     *         value
+     */
+    static boolean isKnown(String serialNumber) {
+        if (serialNumber == null) {
+            return false;
+        }
+        String s = serialNumber.trim();
+        return !s.isEmpty() && !"unknown".equalsIgnoreCase(s) && !"None".equals(s);
+    }
+
+    /**
+     * Writes the cache, if any value was added or changed since it was loaded
+     * or last written
+     */
+    synchronized void store() {
+        if (!this.changed || this.bootId.isEmpty()) {
+            return;
+        }
+        this.values.setProperty(BOOT_ID, this.bootId);
+        File dir = this.file.getAbsoluteFile().getParentFile();
+        Path temp = null;
+        try {
+            Files.createDirectories(dir.toPath());
+            temp = Files.createTempFile(dir.toPath(), this.file.getName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                this.values.store(out, "OSHI hardware identity");
+            }
+            Files.move(temp, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            this.changed = false;
+            LOG.debug("Wrote hardware identity cache {}", this.file);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("Unable to write hardware identity cache {}. {}", this.file, e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e2) {
+                    LOG.trace("Unable to delete {}. {}", temp, e2);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,486 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.util.platform.linux.ProcUtil;
+
+/**
+ * Samples the per-processor counts of each interrupt source from
+ * /proc/interrupts, or of each softirq type from /proc/softirqs, and their
+ * rates since the previous sample. Both files have a header of processor
+ * columns (CPU0, CPU1, ...) followed by a line per source: a label such as
+ * "24:" or "NET_RX:", a count for each processor, and for interrupts a
+ * description of the controller, trigger and device.
+ *
+ * The file is streamed through a small buffer a line at a time, as
+ * /proc/interrupts may be hundreds of kilobytes on systems with many
+ * processors, and the counts and rates are stored in matrices which are
+ * reused by each sample, so that while the sources and processors stay the
+ * same a sample creates no Strings and no per-source arrays. Arrays returned
+ * by this class are therefore overwritten by the next sample. When a source is
+ * added or removed, the sources after it are matched to the previous sample by
+ * label, so that their rates are still measured since the previous sample.
+ *
+ * Some sources, such as ERR and MIS in /proc/interrupts, are counted for the
+ * whole system rather than per processor. Their per-processor counts are zero
+ * and their count is only available from {@link #getTotals()}.
+ */
+public final class LinuxInterruptSampler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxInterruptSampler.class);
+
+    /**
+     * Hardware interrupts
+     */
+    public static final String INTERRUPTS = "/proc/interrupts";
+
+    /**
+     * Softirqs
+     */
+    public static final String SOFTIRQS = "/proc/softirqs";
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final String path;
+
+    private byte[] buffer;
+
+    // Processor numbers of the columns
+    private int[] processors = new int[0];
+
+    private byte[][] labelBytes = new byte[0][];
+
+    private String[] names = new String[0];
+
+    private byte[][] descriptionBytes = new byte[0][];
+
+    private String[] descriptions = new String[0];
+
+    private long[][] counts = new long[0][];
+
+    private double[][] rates = new double[0][];
+
+    private long[] totals = new long[0];
+
+    private double[] totalRates = new double[0];
+
+    // Sources read so far by the current sample
+    private int rows;
+
+    // Sources in the previous sample
+    private int previousRows;
+
+    // The previous sample's sources from the first one whose label changed,
+    // looked up by label, or null while the layout is unchanged
+    private Map<String, Integer> moved;
+
+    private byte[][] movedLabelBytes;
+
+    private String[] movedNames;
+
+    private long[][] movedCounts;
+
+    private long[] movedTotals;
+
+    private boolean header;
+
+    // Seconds since the previous sample, and since boot
+    private double seconds;
+
+    private double uptime;
+
+    private long sampleNanos;
+
+    private boolean sampled;
+
+    /**
+     * @param path
+     *            The file to sample: {@link #INTERRUPTS} or {@link #SOFTIRQS}
+     */
+    public LinuxInterruptSampler(String path) {
+        this(path, 8192);
+    }
+
+    /**
+     * @param path
+     *            The file to sample
+     * @param bufferSize
+     *            The initial size of the read buffer, which grows only to
+     *            hold a line longer than it
+     */
+    LinuxInterruptSampler(String path, int bufferSize) {
+        this.path = path;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Reads the counts, and calculates the rates since the previous sample,
+     * or since boot for the first sample and for sources not in the previous
+     * sample
+     *
+     * @return true if the file was read; if it could not be opened, the
+     *         values of the previous sample are kept
+     */
+    public synchronized boolean sample() {
+        return sample(System.nanoTime());
+    }
+
+    /**
+     * Reads the counts, as {@link #sample()}
+     *
+     * @param nanos
+     *            The time of the sample, from {@link System#nanoTime()}
+     * @return true if the file was read
+     */
+    synchronized boolean sample(long nanos) {
+        this.seconds = this.sampled ? (nanos - this.sampleNanos) / 1e9 : 0d;
+        this.uptime = -1d;
+        this.rows = 0;
+        this.previousRows = this.counts.length;
+        this.header = true;
+        try (InputStream in = new FileInputStream(this.path)) {
+            int length = 0;
+            int read;
+            while ((read = in.read(this.buffer, length, this.buffer.length - length)) >= 0) {
+                length += read;
+                int pos = 0;
+                for (int i = length - read; i < length; i++) {
+                    if (this.buffer[i] == '\n') {
+                        parseLine(pos, i);
+                        pos = i + 1;
+                    }
+                }
+                // Keep the partial last line
+                length -= pos;
+                System.arraycopy(this.buffer, pos, this.buffer, 0, length);
+                if (length == this.buffer.length) {
+                    this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+                }
+            }
+            if (length > 0) {
+                parseLine(0, length);
+            }
+        } catch (IOException e) {
+            LOG.error("Unable to read {}. {}", this.path, e);
+            this.rows = this.counts.length;
+            return false;
+        } finally {
+            forgetMoved();
+        }
+        if (this.rows != this.counts.length) {
+            resize(this.rows, this.processors.length);
+        }
+        this.sampleNanos = nanos;
+        this.sampled = true;
+        return true;
+    }
+
+    /**
+     * @return The processor number of each column
+     */
+    public synchronized int[] getProcessors() {
+        return this.processors.clone();
+    }
+
+    /**
+     * @return The number of interrupt sources or softirq types
+     */
+    public synchronized int getSourceCount() {
+        return this.rows;
+    }
+
+    /**
+     * @param source
+     *            The index of a source
+     * @return Its label, e.g., "24", "LOC" or "NET_RX"
+     */
+    public synchronized String getName(int source) {
+        return this.names[source];
+    }
+
+    /**
+     * @param source
+     *            The index of a source
+     * @return Its description, e.g., "IR-PCI-MSI 524288-edge eth0", or an
+     *         empty string if none
+     */
+    public synchronized String getDescription(int source) {
+        return this.descriptions[source];
+    }
+
+    /**
+     * @return The count of each source on each processor since boot, indexed
+     *         by source and column. The arrays are overwritten by the next
+     *         sample.
+     */
+    public synchronized long[][] getCounts() {
+        return this.counts;
+    }
+
+    /**
+     * @return The rate per second of each source on each processor, indexed
+     *         by source and column. The arrays are overwritten by the next
+     *         sample.
+     */
+    public synchronized double[][] getRates() {
+        return this.rates;
+    }
+
+    /**
+     * @return The count of each source on all processors since boot. The
+     *         array is overwritten by the next sample.
+     */
+    public synchronized long[] getTotals() {
+        return this.totals;
+    }
+
+    /**
+     * @return The rate per second of each source on all processors. The array
+     *         is overwritten by the next sample.
+     */
+    public synchronized double[] getTotalRates() {
+        return this.totalRates;
+    }
+
+    private void parseLine(int start, int end) {
+        if (this.header) {
+            this.header = false;
+            parseHeader(start, end);
+            return;
+        }
+        int labelStart = skipSpaces(start, end);
+        int colon = labelStart;
+        while (colon < end && this.buffer[colon] != ':') {
+            colon++;
+        }
+        if (colon == end) {
+            return;
+        }
+        int r = this.rows++;
+        if (r >= this.counts.length) {
+            resize(Math.max(16, this.counts.length * 2), this.processors.length);
+        }
+        long[] count = this.counts[r];
+        long[] previousCount = count;
+        long previousTotal = this.totals[r];
+        if (this.moved == null && this.sampled && r < this.previousRows
+                && !same(this.labelBytes[r], labelStart, colon)) {
+            // A source was added or removed, match the rest by label
+            rememberMoved(r);
+        }
+        // A source not in the previous sample counts from boot
+        boolean fresh;
+        if (this.moved != null) {
+            String name = new String(this.buffer, labelStart, colon - labelStart, StandardCharsets.US_ASCII);
+            Integer previous = this.moved.get(name);
+            fresh = previous == null;
+            if (fresh) {
+                this.labelBytes[r] = Arrays.copyOfRange(this.buffer, labelStart, colon);
+                this.names[r] = name;
+            } else {
+                this.labelBytes[r] = this.movedLabelBytes[previous];
+                this.names[r] = this.movedNames[previous];
+                previousCount = this.movedCounts[previous];
+                previousTotal = this.movedTotals[previous];
+            }
+        } else {
+            fresh = !this.sampled || !same(this.labelBytes[r], labelStart, colon);
+            if (fresh) {
+                this.labelBytes[r] = Arrays.copyOfRange(this.buffer, labelStart, colon);
+                this.names[r] = new String(this.labelBytes[r], StandardCharsets.US_ASCII);
+            }
+        }
+        double interval = fresh ? uptime() : this.seconds;
+        double[] rate = this.rates[r];
+        int pos = skipSpaces(colon + 1, end);
+        int n = 0;
+        long total = 0L;
+        while (n < count.length && pos < end) {
+            int tokenEnd = tokenEnd(pos, end);
+            long value = parseLong(pos, tokenEnd);
+            if (value < 0) {
+                break;
+            }
+            rate[n] = rate(fresh ? 0L : previousCount[n], value, interval);
+            count[n++] = value;
+            total += value;
+            pos = skipSpaces(tokenEnd, end);
+        }
+        if (n < count.length) {
+            // A system-wide count, or a short line
+            Arrays.fill(count, 0L);
+            Arrays.fill(rate, 0d);
+        }
+        this.totalRates[r] = rate(fresh ? 0L : previousTotal, total, interval);
+        this.totals[r] = total;
+        setDescription(r, pos, end);
+    }
+
+    /**
+     * Parses the CPU[N] column headings, starting over if they have changed
+     */
+    private void parseHeader(int start, int end) {
+        int columns = 0;
+        int pos = skipSpaces(start, end);
+        while (pos < end) {
+            columns++;
+            pos = skipSpaces(tokenEnd(pos, end), end);
+        }
+        int[] cpus = new int[columns];
+        pos = skipSpaces(start, end);
+        for (int i = 0; i < columns; i++) {
+            int tokenEnd = tokenEnd(pos, end);
+            // Skip the "CPU" prefix
+            cpus[i] = (int) parseLong(Math.min(pos + 3, tokenEnd), tokenEnd);
+            pos = skipSpaces(tokenEnd, end);
+        }
+        if (!Arrays.equals(cpus, this.processors)) {
+            this.processors = cpus;
+            this.sampled = false;
+            resize(0, columns);
+        }
+    }
+
+    /**
+     * Copies the previous sample's sources from an index on, whose arrays the
+     * current sample overwrites, and indexes them by label
+     */
+    private void rememberMoved(int from) {
+        this.movedLabelBytes = Arrays.copyOfRange(this.labelBytes, from, this.previousRows);
+        this.movedNames = Arrays.copyOfRange(this.names, from, this.previousRows);
+        this.movedTotals = Arrays.copyOfRange(this.totals, from, this.previousRows);
+        this.movedCounts = new long[this.previousRows - from][];
+        this.moved = new HashMap<>();
+        for (int i = 0; i < this.movedCounts.length; i++) {
+            this.movedCounts[i] = this.counts[from + i].clone();
+            this.moved.put(this.movedNames[i], i);
+        }
+    }
+
+    private void forgetMoved() {
+        this.moved = null;
+        this.movedLabelBytes = null;
+        this.movedNames = null;
+        this.movedCounts = null;
+        this.movedTotals = null;
+    }
+
+    private void setDescription(int r, int start, int end) {
+        int e = end;
+        while (e > start && (this.buffer[e - 1] == ' ' || this.buffer[e - 1] == '\r')) {
+            e--;
+        }
+        if (!same(this.descriptionBytes[r], start, e)) {
+            this.descriptionBytes[r] = start < e ? Arrays.copyOfRange(this.buffer, start, e) : NO_BYTES;
+            this.descriptions[r] = new String(this.descriptionBytes[r], StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Resizes the arrays to a number of sources, keeping those of existing
+     * sources if the number of columns is unchanged
+     */
+    private void resize(int size, int columns) {
+        int keep = Math.min(size, this.counts.length);
+        this.labelBytes = Arrays.copyOf(this.labelBytes, size);
+        this.names = Arrays.copyOf(this.names, size);
+        this.descriptionBytes = Arrays.copyOf(this.descriptionBytes, size);
+        this.descriptions = Arrays.copyOf(this.descriptions, size);
+        this.counts = Arrays.copyOf(this.counts, size);
+        this.rates = Arrays.copyOf(this.rates, size);
+        this.totals = Arrays.copyOf(this.totals, size);
+        this.totalRates = Arrays.copyOf(this.totalRates, size);
+        for (int i = keep; i < size; i++) {
+            this.counts[i] = new long[columns];
+            this.rates[i] = new double[columns];
+        }
+    }
+
+    /**
+     * @return Seconds since boot, read once per sample when needed
+     */
+    private double uptime() {
+        if (this.uptime < 0d) {
+            this.uptime = ProcUtil.getSystemUptimeFromProc();
+        }
+        return this.uptime;
+    }
+
+    private static double rate(long previous, long current, double seconds) {
+        return current >= previous && seconds > 0d ? (current - previous) / seconds : 0d;
+    }
+
+    private boolean same(byte[] bytes, int start, int end) {
+        if (bytes == null || bytes.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != this.buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int tokenEnd(int pos, int end) {
+        int i = pos;
+        while (i < end && this.buffer[i] != ' ' && this.buffer[i] != '\t') {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipSpaces(int pos, int end) {
+        int i = pos;
+        while (i < end && (this.buffer[i] == ' ' || this.buffer[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return The unsigned decimal number, or -1 if it contains any other
+     *         characters
+     */
+    private long parseLong(int start, int end) {
+        if (start >= end) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            int digit = this.buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1L;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * A snapshot of the kernel activity counters in /proc/stat, read at one time:
+ * the CPU ticks of the whole system and of each processor, and the counts of
+ * context switches, interrupts, soft interrupts and processes. Rates are per
+ * second over the interval since the previous snapshot read by the same
+ * processor, or since boot for the first snapshot.
+ *
+ * Tick arrays hold the values of the "cpu" lines in order: the
+ * {@link TickType} states, followed by {@link #GUEST} and {@link #GUEST_NICE}
+ * time, which the kernel also counts in user and nice time.
+ */
+public class LinuxProcStat implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Index of ticks spent running a guest (virtual CPU)
+     */
+    public static final int GUEST = 8;
+
+    /**
+     * Index of ticks spent running a niced guest
+     */
+    public static final int GUEST_NICE = 9;
+
+    /**
+     * Number of values in each tick array
+     */
+    public static final int TICK_FIELDS = 10;
+
+    long timestamp;
+
+    long[] cpuTicks = new long[TICK_FIELDS];
+
+    long[][] processorTicks = new long[0][];
+
+    long bootTime;
+
+    long contextSwitches;
+
+    long interrupts;
+
+    long softInterrupts;
+
+    long processesCreated;
+
+    int processesRunning;
+
+    int processesBlocked;
+
+    double contextSwitchRate;
+
+    double interruptRate;
+
+    double softInterruptRate;
+
+    double processCreationRate;
+
+    LinuxProcStat() {
+    }
+
+    /**
+     * @return The time the snapshot was read, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The ticks of the whole system, indexed by {@link TickType},
+     *         {@link #GUEST} and {@link #GUEST_NICE}
+     */
+    public long[] getCpuTicks() {
+        return this.cpuTicks.clone();
+    }
+
+    /**
+     * @return The ticks of the whole system, indexed by {@link TickType}, as
+     *         returned by
+     *         {@link oshi.hardware.CentralProcessor#getSystemCpuLoadTicks()}
+     */
+    public long[] getSystemCpuLoadTicks() {
+        return Arrays.copyOf(this.cpuTicks, TickType.values().length);
+    }
+
+    /**
+     * @return The number of processors listed
+     */
+    public int getProcessorCount() {
+        return this.processorTicks.length;
+    }
+
+    /**
+     * @return The ticks of each online processor in the order listed, each
+     *         indexed by {@link TickType}, {@link #GUEST} and
+     *         {@link #GUEST_NICE}
+     */
+    public long[][] getProcessorTicks() {
+        long[][] ticks = new long[this.processorTicks.length][];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = this.processorTicks[i].clone();
+        }
+        return ticks;
+    }
+
+    /**
+     * @return The system boot time, in seconds since the epoch
+     */
+    public long getBootTime() {
+        return this.bootTime;
+    }
+
+    /**
+     * @return The number of context switches since boot
+     */
+    public long getContextSwitches() {
+        return this.contextSwitches;
+    }
+
+    /**
+     * @return The number of interrupts serviced since boot
+     */
+    public long getInterrupts() {
+        return this.interrupts;
+    }
+
+    /**
+     * @return The number of soft interrupts serviced since boot
+     */
+    public long getSoftInterrupts() {
+        return this.softInterrupts;
+    }
+
+    /**
+     * @return The number of processes and threads created since boot
+     */
+    public long getProcessesCreated() {
+        return this.processesCreated;
+    }
+
+    /**
+     * @return The number of runnable threads
+     */
+    public int getProcessesRunning() {
+        return this.processesRunning;
+    }
+
+    /**
+     * @return The number of threads blocked waiting for I/O
+     */
+    public int getProcessesBlocked() {
+        return this.processesBlocked;
+    }
+
+    /**
+     * @return Context switches per second
+     */
+    public double getContextSwitchRate() {
+        return this.contextSwitchRate;
+    }
+
+    /**
+     * @return Interrupts per second
+     */
+    public double getInterruptRate() {
+        return this.interruptRate;
+    }
+
+    /**
+     * @return Soft interrupts per second
+     */
+    public double getSoftInterruptRate() {
+        return this.softInterruptRate;
+    }
+
+    /**
+     * @return Processes and threads created per second
+     */
+    public double getProcessCreationRate() {
+        return this.processCreationRate;
+    }
+}
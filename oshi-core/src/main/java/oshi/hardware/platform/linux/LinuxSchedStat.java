@@ -0,0 +1,222 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import oshi.util.FileUtil;
+import oshi.util.ParseUtil;
+
+/**
+ * A snapshot of scheduler statistics, read at one time, for each logical
+ * processor from /proc/schedstat or for a process from /proc/[pid]/schedstat:
+ * the time spent running, the time runnable tasks spent waiting on the run
+ * queue for a processor, and the number of timeslices run. Time waiting on the
+ * run queue shows contention for processors that CPU load does not: a
+ * processor may be fully loaded with nothing waiting, or tasks may wait while
+ * load is moderate.
+ *
+ * /proc/schedstat requires a kernel with CONFIG_SCHEDSTATS; without it a
+ * snapshot of the processors is empty.
+ */
+public final class LinuxSchedStat implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Index of the time spent running, in nanoseconds
+     */
+    public static final int RUN = 0;
+
+    /**
+     * Index of the time spent runnable and waiting on the run queue, in
+     * nanoseconds
+     */
+    public static final int WAIT = 1;
+
+    /**
+     * Index of the number of timeslices run
+     */
+    public static final int TIMESLICES = 2;
+
+    /**
+     * Number of values in each row
+     */
+    public static final int FIELDS = 3;
+
+    // Index of the run time in a split cpu line, of which the first token is
+    // the name and the last three are run time, wait time and timeslices
+    private static final int CPU_RUN_FIELD = 7;
+
+    private final long timestamp;
+
+    private final int[] ids;
+
+    private final long[][] values;
+
+    /**
+     * @param timestamp
+     *            The time the values were read, in milliseconds since the
+     *            epoch
+     * @param ids
+     *            The processor numbers, in increasing order, or the process ID
+     * @param values
+     *            A row of {@link #FIELDS} values for each ID
+     */
+    LinuxSchedStat(long timestamp, int[] ids, long[][] values) {
+        this.timestamp = timestamp;
+        this.ids = ids;
+        this.values = values;
+    }
+
+    /**
+     * Reads the statistics of each logical processor
+     *
+     * @param path
+     *            The file to read, normally /proc/schedstat
+     * @return The snapshot, with no rows if the file could not be read
+     */
+    static LinuxSchedStat readProcessors(String path) {
+        long now = System.currentTimeMillis();
+        List<String> lines = FileUtil.readFile(path, false);
+        List<Integer> ids = new ArrayList<>();
+        List<long[]> rows = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.startsWith("cpu")) {
+                continue;
+            }
+            String[] split = ParseUtil.whitespaces.split(line);
+            if (split.length < CPU_RUN_FIELD + FIELDS) {
+                continue;
+            }
+            long[] row = new long[FIELDS];
+            for (int i = 0; i < FIELDS; i++) {
+                row[i] = ParseUtil.parseLongOrDefault(split[CPU_RUN_FIELD + i], 0L);
+            }
+            ids.add(ParseUtil.parseIntOrDefault(split[0].substring(3), 0));
+            rows.add(row);
+        }
+        int[] idArray = new int[ids.size()];
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i);
+        }
+        return new LinuxSchedStat(now, idArray, rows.toArray(new long[rows.size()][]));
+    }
+
+    /**
+     * Reads the statistics of a process
+     *
+     * @param pid
+     *            The process ID
+     * @param path
+     *            The file to read, normally /proc/[pid]/schedstat
+     * @return The snapshot, with no rows if the file could not be read
+     */
+    static LinuxSchedStat readProcess(int pid, String path) {
+        long now = System.currentTimeMillis();
+        // run wait count
+        String[] split = FileUtil.getSplitFromFile(path);
+        if (split.length < FIELDS) {
+            return new LinuxSchedStat(now, new int[0], new long[0][]);
+        }
+        long[] row = new long[FIELDS];
+        for (int i = 0; i < FIELDS; i++) {
+            row[i] = ParseUtil.parseLongOrDefault(split[i], 0L);
+        }
+        return new LinuxSchedStat(now, new int[] { pid }, new long[][] { row });
+    }
+
+    /**
+     * @return The time the snapshot was read, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The number of rows: one per online logical processor, or one
+     *         for a process; zero if the statistics could not be read
+     */
+    public int getCount() {
+        return this.ids.length;
+    }
+
+    /**
+     * @return The processor number of each row, or the process ID
+     */
+    public int[] getIds() {
+        return this.ids.clone();
+    }
+
+    /**
+     * @return The values of each row since boot, or since the process
+     *         started, indexed by {@link #RUN}, {@link #WAIT} and
+     *         {@link #TIMESLICES}
+     */
+    public long[][] getValues() {
+        long[][] copy = new long[this.values.length][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = this.values[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Calculates the rates of each row between an earlier snapshot and this
+     * one. Rows are matched by processor number, so processors brought online
+     * or offline in between are handled.
+     *
+     * @param previous
+     *            An earlier snapshot of the same processors or process
+     * @return For each row of this snapshot, indexed by {@link #RUN},
+     *         {@link #WAIT} and {@link #TIMESLICES}: the seconds spent running
+     *         per second, the seconds spent waiting on the run queue per
+     *         second, and the timeslices per second. Zero for rows not in the
+     *         earlier snapshot or if no time elapsed.
+     */
+    public double[][] getRatesSince(LinuxSchedStat previous) {
+        double[][] rates = new double[this.ids.length][FIELDS];
+        double seconds = (this.timestamp - previous.timestamp) / 1000d;
+        if (seconds <= 0d) {
+            return rates;
+        }
+        // Both snapshots list processors in increasing order
+        int p = 0;
+        for (int i = 0; i < this.ids.length; i++) {
+            while (p < previous.ids.length && previous.ids[p] < this.ids[i]) {
+                p++;
+            }
+            if (p == previous.ids.length || previous.ids[p] != this.ids[i]) {
+                continue;
+            }
+            long[] prev = previous.values[p];
+            long[] cur = this.values[i];
+            rates[i][RUN] = rate(prev[RUN], cur[RUN], seconds) / 1e9;
+            rates[i][WAIT] = rate(prev[WAIT], cur[WAIT], seconds) / 1e9;
+            rates[i][TIMESLICES] = rate(prev[TIMESLICES], cur[TIMESLICES], seconds);
+        }
+        return rates;
+    }
+
+    private static double rate(long previous, long current, double seconds) {
+        return current >= previous ? (current - previous) / seconds : 0d;
+    }
+}
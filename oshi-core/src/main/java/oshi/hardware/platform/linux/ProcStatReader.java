@@ -0,0 +1,253 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads /proc/stat into a reusable byte buffer with a single read and parses
+ * it into a {@link LinuxProcStat}, without creating a String for each line or
+ * value. Of the intr and softirq lines only the totals are parsed; the
+ * per-source counts which follow are skipped.
+ *
+ * A reader keeps the previous snapshot to compute rates, and is not thread
+ * safe.
+ */
+final class ProcStatReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcStatReader.class);
+
+    private static final byte[] CPU = bytes("cpu");
+    private static final byte[] INTR = bytes("intr");
+    private static final byte[] CTXT = bytes("ctxt");
+    private static final byte[] BTIME = bytes("btime");
+    private static final byte[] PROCESSES = bytes("processes");
+    private static final byte[] PROCS_RUNNING = bytes("procs_running");
+    private static final byte[] PROCS_BLOCKED = bytes("procs_blocked");
+    private static final byte[] SOFTIRQ = bytes("softirq");
+
+    private final String path;
+
+    private byte[] buffer = new byte[4096];
+
+    private int length;
+
+    private LinuxProcStat previous;
+
+    /**
+     * @param path
+     *            The file to read, normally /proc/stat
+     */
+    ProcStatReader(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads a new snapshot
+     *
+     * @return The snapshot, with rates since the previous snapshot. If the
+     *         file could not be read, all values are zero.
+     */
+    LinuxProcStat read() {
+        return read(System.currentTimeMillis());
+    }
+
+    /**
+     * Reads a new snapshot
+     *
+     * @param now
+     *            The current time in milliseconds since the epoch
+     * @return The snapshot, with rates since the previous snapshot. If the
+     *         file could not be read, all values are zero.
+     */
+    LinuxProcStat read(long now) {
+        LinuxProcStat stat = new LinuxProcStat();
+        stat.timestamp = now;
+        if (readFile()) {
+            parse(stat);
+        }
+        setRates(stat);
+        this.previous = stat;
+        return stat;
+    }
+
+    private void parse(LinuxProcStat stat) {
+        List<long[]> processors = new ArrayList<>();
+        int pos = 0;
+        while (pos < this.length) {
+            int keyEnd = tokenEnd(pos);
+            int lineEnd = lineEnd(keyEnd);
+            int value = skipSpaces(keyEnd);
+            if (keyEnd - pos >= CPU.length && matches(pos, pos + CPU.length, CPU)) {
+                if (keyEnd - pos == CPU.length) {
+                    parseTicks(value, lineEnd, stat.cpuTicks);
+                } else {
+                    long[] ticks = new long[LinuxProcStat.TICK_FIELDS];
+                    parseTicks(value, lineEnd, ticks);
+                    processors.add(ticks);
+                }
+            } else if (matches(pos, keyEnd, INTR)) {
+                stat.interrupts = parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, CTXT)) {
+                stat.contextSwitches = parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, BTIME)) {
+                stat.bootTime = parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, PROCESSES)) {
+                stat.processesCreated = parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, PROCS_RUNNING)) {
+                stat.processesRunning = (int) parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, PROCS_BLOCKED)) {
+                stat.processesBlocked = (int) parseLong(value, tokenEnd(value));
+            } else if (matches(pos, keyEnd, SOFTIRQ)) {
+                stat.softInterrupts = parseLong(value, tokenEnd(value));
+            }
+            pos = lineEnd + 1;
+        }
+        stat.processorTicks = processors.toArray(new long[processors.size()][]);
+    }
+
+    private void parseTicks(int start, int lineEnd, long[] ticks) {
+        int t = start;
+        for (int i = 0; i < ticks.length && t < lineEnd; i++) {
+            int end = tokenEnd(t);
+            ticks[i] = parseLong(t, end);
+            t = skipSpaces(end);
+        }
+    }
+
+    /**
+     * Sets the rates of the counters since the previous snapshot, or since
+     * boot for the first
+     */
+    private void setRates(LinuxProcStat stat) {
+        LinuxProcStat prev = this.previous;
+        double seconds;
+        if (prev == null || prev.bootTime != stat.bootTime) {
+            prev = new LinuxProcStat();
+            seconds = stat.timestamp / 1000d - stat.bootTime;
+        } else {
+            seconds = (stat.timestamp - prev.timestamp) / 1000d;
+        }
+        if (stat.bootTime == 0L || seconds <= 0d) {
+            return;
+        }
+        stat.contextSwitchRate = rate(prev.contextSwitches, stat.contextSwitches, seconds);
+        stat.interruptRate = rate(prev.interrupts, stat.interrupts, seconds);
+        stat.softInterruptRate = rate(prev.softInterrupts, stat.softInterrupts, seconds);
+        stat.processCreationRate = rate(prev.processesCreated, stat.processesCreated, seconds);
+    }
+
+    private static double rate(long previous, long current, double seconds) {
+        return current >= previous ? (current - previous) / seconds : 0d;
+    }
+
+    /**
+     * Reads the file into the buffer, growing it if needed
+     *
+     * @return true if the file was read
+     */
+    private boolean readFile() {
+        try (InputStream in = new FileInputStream(this.path)) {
+            int len = 0;
+            int read;
+            while ((read = in.read(this.buffer, len, this.buffer.length - len)) >= 0) {
+                len += read;
+                if (len == this.buffer.length) {
+                    byte[] larger = new byte[this.buffer.length * 2];
+                    System.arraycopy(this.buffer, 0, larger, 0, len);
+                    this.buffer = larger;
+                }
+            }
+            this.length = len;
+            return true;
+        } catch (IOException e) {
+            LOG.error("Unable to read {}. {}", this.path, e);
+            this.length = 0;
+            return false;
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private boolean matches(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (this.buffer[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lineEnd(int pos) {
+        int i = pos;
+        while (i < this.length && this.buffer[i] != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private int tokenEnd(int pos) {
+        int i = pos;
+        while (i < this.length && this.buffer[i] != ' ' && this.buffer[i] != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipSpaces(int pos) {
+        int i = pos;
+        while (i < this.length && this.buffer[i] == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses an unsigned decimal number
+     *
+     * @return The number, or 0 if it contains any other characters
+     */
+    private long parseLong(int start, int end) {
+        if (start >= end) {
+            return 0L;
+        }
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            int digit = this.buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return 0L;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.hardware.ProcessorTopology;
+import oshi.hardware.ProcessorTopology.Cache;
+import oshi.hardware.ProcessorTopology.LogicalProcessor;
+import oshi.util.FileUtil;
+import oshi.util.ParseUtil;
+
+/**
+ * Reads the processor topology from sysfs: the package, die and core of each
+ * online logical processor from /sys/devices/system/cpu/cpu[N]/topology, its
+ * caches from /sys/devices/system/cpu/cpu[N]/cache, and its NUMA node from
+ * /sys/devices/system/node/node[N]/cpulist.
+ */
+final class SysfsTopology {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SysfsTopology.class);
+
+    private static final String CPU_DIR = "/sys/devices/system/cpu";
+
+    private static final String NODE_DIR = "/sys/devices/system/node";
+
+    private static final Pattern CPU_NAME = Pattern.compile("cpu\\d+");
+
+    private static final Pattern NODE_NAME = Pattern.compile("node\\d+");
+
+    private static final Pattern CACHE_NAME = Pattern.compile("index\\d+");
+
+    private SysfsTopology() {
+    }
+
+    /**
+     * Reads the topology of this system
+     *
+     * @return The topology, with no processors if sysfs has no topology
+     */
+    static ProcessorTopology read() {
+        return read(CPU_DIR, NODE_DIR);
+    }
+
+    /**
+     * Reads a topology
+     *
+     * @param cpuDir
+     *            The directory of the processors' directories
+     * @param nodeDir
+     *            The directory of the NUMA nodes' directories
+     * @return The topology, with no processors if it has no topology
+     */
+    static ProcessorTopology read(String cpuDir, String nodeDir) {
+        Map<Integer, Integer> nodes = readNodes(nodeDir);
+        List<LogicalProcessor> processors = new ArrayList<>();
+        // Caches by level, type and shared processors, in order found
+        Map<String, Cache> caches = new LinkedHashMap<>();
+        // Threads found so far in each core
+        Map<String, Integer> threads = new HashMap<>();
+        for (int cpu : onlineProcessors(cpuDir)) {
+            String dir = cpuDir + "/cpu" + cpu;
+            String topology = dir + "/topology/";
+            int packageId = readInt(topology + "physical_package_id", -1);
+            int coreId = readInt(topology + "core_id", -1);
+            if (packageId == -1 && coreId == -1 && !new File(topology).isDirectory()) {
+                continue;
+            }
+            // Some boards report -1 for unknown IDs
+            packageId = Math.max(packageId, 0);
+            coreId = Math.max(coreId, 0);
+            int dieId = Math.max(readInt(topology + "die_id", 0), 0);
+            String core = packageId + ":" + dieId + ":" + coreId;
+            Integer thread = threads.get(core);
+            threads.put(core, thread == null ? 1 : thread + 1);
+            Integer node = nodes.get(cpu);
+            processors.add(new LogicalProcessor(cpu, packageId, dieId, coreId, thread == null ? 0 : thread,
+                    node == null ? 0 : node));
+            readCaches(dir + "/cache", caches);
+        }
+        LOG.debug("Read topology of {} processors with {} caches", processors.size(), caches.size());
+        return new ProcessorTopology(processors.toArray(new LogicalProcessor[processors.size()]),
+                caches.values().toArray(new Cache[caches.size()]));
+    }
+
+    /**
+     * @return The online processor numbers, in order
+     */
+    private static Iterable<Integer> onlineProcessors(String cpuDir) {
+        TreeSet<Integer> cpus = new TreeSet<>();
+        String online = FileUtil.getStringFromFile(cpuDir + "/online");
+        for (int cpu : ParseUtil.parseIntRangeList(online)) {
+            cpus.add(cpu);
+        }
+        if (cpus.isEmpty()) {
+            File[] files = new File(cpuDir).listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    if (CPU_NAME.matcher(f.getName()).matches()) {
+                        cpus.add(Integer.parseInt(f.getName().substring(3)));
+                    }
+                }
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * @return The NUMA node of each processor listed by a node
+     */
+    private static Map<Integer, Integer> readNodes(String nodeDir) {
+        Map<Integer, Integer> nodes = new HashMap<>();
+        File[] files = new File(nodeDir).listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (NODE_NAME.matcher(f.getName()).matches()) {
+                    int node = Integer.parseInt(f.getName().substring(4));
+                    for (int cpu : ParseUtil
+                            .parseIntRangeList(FileUtil.getStringFromFile(f.getPath() + "/cpulist"))) {
+                        nodes.put(cpu, node);
+                    }
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Adds the caches of a processor not already found through another
+     * processor sharing them
+     */
+    private static void readCaches(String cacheDir, Map<String, Cache> caches) {
+        File[] files = new File(cacheDir).listFiles();
+        if (files == null) {
+            return;
+        }
+        TreeSet<String> names = new TreeSet<>();
+        for (File f : files) {
+            if (CACHE_NAME.matcher(f.getName()).matches()) {
+                names.add(f.getName());
+            }
+        }
+        for (String name : names) {
+            String dir = cacheDir + "/" + name + "/";
+            int level = readInt(dir + "level", 0);
+            String type = FileUtil.getStringFromFile(dir + "type").trim();
+            String shared = FileUtil.getStringFromFile(dir + "shared_cpu_list").trim();
+            String key = level + ":" + type + ":" + shared;
+            if (!caches.containsKey(key)) {
+                caches.put(key, new Cache(level, type, parseSize(FileUtil.getStringFromFile(dir + "size")),
+                        readInt(dir + "coherency_line_size", 0), readInt(dir + "ways_of_associativity", 0),
+                        ParseUtil.parseIntRangeList(shared)));
+            }
+        }
+    }
+
+    /**
+     * Parses a cache size such as "32K"
+     *
+     * @return The size in bytes, or 0 if invalid
+     */
+    static long parseSize(String size) {
+        String s = size.trim();
+        long multiplier = 1L;
+        if (s.endsWith("K")) {
+            multiplier = 1L << 10;
+        } else if (s.endsWith("M")) {
+            multiplier = 1L << 20;
+        } else if (s.endsWith("G")) {
+            multiplier = 1L << 30;
+        }
+        if (multiplier > 1L) {
+            s = s.substring(0, s.length() - 1);
+        }
+        return ParseUtil.parseLongOrDefault(s, 0L) * multiplier;
+    }
+
+    private static int readInt(String path, int defaultValue) {
+        return ParseUtil.parseIntOrDefault(FileUtil.getStringFromFile(path).trim(), defaultValue);
+    }
+}
@@ -74,4 +74,18 @@ public interface Libc extends CLibrary {
 
     int sysinfo(Sysinfo info);
 
+    /**
+     * Constant for {@link #sysconf(int)}: clock ticks per second
+     */
+    int _SC_CLK_TCK = 2;
+
+    /**
+     * Gets the value of a configurable system limit or option.
+     *
+     * @param name
+     *            The option, e.g., {@link #_SC_CLK_TCK}
+     * @return The value, or -1 if it is indeterminate or on error
+     */
+    NativeLong sysconf(int name);
+
 }
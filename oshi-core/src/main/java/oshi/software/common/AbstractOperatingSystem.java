@@ -19,13 +19,27 @@
 package oshi.software.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
+import oshi.software.os.ControlGroup;
+import oshi.software.os.ControlGroupTree;
 import oshi.software.os.OSProcess;
+import oshi.software.os.OSProcessFileDescriptors;
+import oshi.software.os.OSProcessMemory;
+import oshi.software.os.OSThread;
 import oshi.software.os.OperatingSystem;
 import oshi.software.os.OperatingSystemVersion;
+import oshi.software.os.ProcessFilter;
+import oshi.software.os.ProcessTable;
+import oshi.software.os.ProcessTree;
 
 public abstract class AbstractOperatingSystem implements OperatingSystem {
 
@@ -35,50 +49,51 @@ public abstract class AbstractOperatingSystem implements OperatingSystem {
     protected String family;
     protected OperatingSystemVersion version;
 
+    // Process values needed for getProcessTree()
+    private static final Set<ProcessField> TREE_FIELDS = Collections.unmodifiableSet(EnumSet.of(
+            ProcessField.NAME, ProcessField.PARENT_PROCESS_ID, ProcessField.RESIDENT_SET_SIZE,
+            ProcessField.KERNEL_TIME, ProcessField.USER_TIME, ProcessField.BYTES_READ, ProcessField.BYTES_WRITTEN));
+
+    // Process values needed for getProcessMemory()
+    private static final Set<ProcessField> MEMORY_FIELDS = Collections
+            .unmodifiableSet(EnumSet.of(ProcessField.RESIDENT_SET_SIZE));
+
+    // Previous CPU times for ProcessSort.RECENT_CPU
+    private final ProcessCpuSampler cpuSampler = new ProcessCpuSampler();
+
+    // Previous I/O counters for the I/O rate sorts
+    private final ProcessIoSampler ioSampler = new ProcessIoSampler();
+
     /*
-     * Comparators for use in processSort()
+     * Comparators for use in processSort(). Ties are broken by the original
+     * position so that results match a stable sort.
      */
-    private static final Comparator<OSProcess> CPU_DESC_SORT = new Comparator<OSProcess>() {
-        @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Double.compare((p2.getKernelTime() + p2.getUserTime()) / (double) p2.getUpTime(),
-                    (p1.getKernelTime() + p1.getUserTime()) / (double) p1.getUpTime());
-        }
-    };
-    private static final Comparator<OSProcess> RSS_DESC_SORT = new Comparator<OSProcess>() {
-        @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Long.compare(p2.getResidentSetSize(), p1.getResidentSetSize());
-        }
-    };
-    private static final Comparator<OSProcess> UPTIME_DESC_SORT = new Comparator<OSProcess>() {
+    private static final Comparator<SortEntry> DOUBLE_DESC_SORT = new Comparator<SortEntry>() {
         @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Long.compare(p2.getUpTime(), p1.getUpTime());
+        public int compare(SortEntry e1, SortEntry e2) {
+            int c = Double.compare(e2.doubleKey, e1.doubleKey);
+            return c != 0 ? c : Integer.compare(e1.index, e2.index);
         }
     };
-    private static final Comparator<OSProcess> UPTIME_ASC_SORT = new Comparator<OSProcess>() {
+    private static final Comparator<SortEntry> LONG_DESC_SORT = new Comparator<SortEntry>() {
         @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Long.compare(p1.getUpTime(), p2.getUpTime());
+        public int compare(SortEntry e1, SortEntry e2) {
+            int c = Long.compare(e2.longKey, e1.longKey);
+            return c != 0 ? c : Integer.compare(e1.index, e2.index);
         }
     };
-    private static final Comparator<OSProcess> PID_ASC_SORT = new Comparator<OSProcess>() {
+    private static final Comparator<SortEntry> LONG_ASC_SORT = new Comparator<SortEntry>() {
         @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Integer.compare(p1.getProcessID(), p2.getProcessID());
+        public int compare(SortEntry e1, SortEntry e2) {
+            int c = Long.compare(e1.longKey, e2.longKey);
+            return c != 0 ? c : Integer.compare(e1.index, e2.index);
         }
     };
-    private static final Comparator<OSProcess> PARENTPID_ASC_SORT = new Comparator<OSProcess>() {
+    private static final Comparator<SortEntry> STRING_ASC_SORT = new Comparator<SortEntry>() {
         @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return Integer.compare(p1.getParentProcessID(), p2.getParentProcessID());
-        }
-    };
-    private static final Comparator<OSProcess> NAME_ASC_SORT = new Comparator<OSProcess>() {
-        @Override
-        public int compare(OSProcess p1, OSProcess p2) {
-            return p1.getName().toLowerCase().compareTo(p2.getName().toLowerCase());
+        public int compare(SortEntry e1, SortEntry e2) {
+            int c = e1.stringKey.compareTo(e2.stringKey);
+            return c != 0 ? c : Integer.compare(e1.index, e2.index);
         }
     };
 
@@ -106,9 +121,109 @@ public abstract class AbstractOperatingSystem implements OperatingSystem {
         return this.manufacturer;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation collects all values.
+     */
+    @Override
+    public OSProcess[] getProcesses(int limit, ProcessSort sort, Set<ProcessField> fields) {
+        return getProcesses(limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation reads all processes and then filters them.
+     */
+    @Override
+    public OSProcess[] getProcesses(ProcessFilter filter, int limit, ProcessSort sort) {
+        if (filter == null) {
+            return getProcesses(limit, sort);
+        }
+        List<OSProcess> procs = new ArrayList<>();
+        for (OSProcess proc : getProcesses(0, null)) {
+            if (proc != null && filter.matches(proc)) {
+                procs.add(proc);
+            }
+        }
+        List<OSProcess> sorted = processSort(procs, limit, sort);
+        return sorted.toArray(new OSProcess[sorted.size()]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProcessTable getProcessTable() {
+        return new FullScanProcessTable(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProcessTree getProcessTree() {
+        return new ProcessTree(getProcesses(0, null, TREE_FIELDS));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ControlGroupTree getControlGroupTree() {
+        return new EmptyControlGroupTree();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcessMemory getProcessMemory(int pid) {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcessMemory[] getProcessMemory(int limit, long budgetMillis) {
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        List<OSProcessMemory> memory = new ArrayList<>();
+        for (OSProcess proc : getProcesses(limit, ProcessSort.MEMORY, MEMORY_FIELDS)) {
+            if (budgetMillis > 0 && System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            OSProcessMemory mem = getProcessMemory(proc.getProcessID());
+            if (mem != null) {
+                memory.add(mem);
+            }
+        }
+        return memory.toArray(new OSProcessMemory[memory.size()]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcessFileDescriptors getProcessFileDescriptors(int pid, boolean countOnly) {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSThread[] getThreads(int pid) {
+        return new OSThread[0];
+    }
+
     /**
      * Sorts an array of processes using the specified sorting, returning an
-     * array with the top limit results if positive.
+     * array with the top limit results if positive. Sort keys are computed once
+     * per process, and when limit is positive only the top limit processes are
+     * kept while scanning, so selection takes O(n log limit) time. The input
+     * list is not modified.
      *
      * @param processes
      *            The array to sort
@@ -121,46 +236,214 @@ public abstract class AbstractOperatingSystem implements OperatingSystem {
      *         as specified
      */
     protected List<OSProcess> processSort(List<OSProcess> processes, int limit, ProcessSort sort) {
-        if (sort != null) {
+        // Return max of limit or process size
+        // Nonpositive limit means return all
+        int maxProcs = processes.size();
+        if (limit > 0 && maxProcs > limit) {
+            maxProcs = limit;
+        }
+        if (sort == null) {
+            return new ArrayList<>(processes.subList(0, maxProcs));
+        }
+        Comparator<SortEntry> comparator = getComparator(sort);
+        if (sort == ProcessSort.RECENT_CPU) {
+            this.cpuSampler.sample(processes);
+        } else if (isIoRateSort(sort)) {
+            this.ioSampler.sample(processes);
+        }
+        SortEntry[] entries;
+        if (maxProcs == processes.size()) {
+            entries = new SortEntry[maxProcs];
+            for (int i = 0; i < maxProcs; i++) {
+                entries[i] = new SortEntry(processes.get(i), i, sort);
+            }
+        } else {
+            // Keep the best maxProcs entries in a heap with the worst of them
+            // at the head, so each other process costs one comparison unless
+            // it displaces the head. The displaced entry is reused for the
+            // next candidate.
+            PriorityQueue<SortEntry> heap = new PriorityQueue<>(maxProcs + 1,
+                    Collections.reverseOrder(comparator));
+            SortEntry candidate = null;
+            for (int i = 0; i < processes.size(); i++) {
+                if (candidate == null) {
+                    candidate = new SortEntry(processes.get(i), i, sort);
+                } else {
+                    candidate.set(processes.get(i), i, sort);
+                }
+                if (heap.size() < maxProcs) {
+                    heap.add(candidate);
+                    candidate = null;
+                } else if (comparator.compare(candidate, heap.peek()) < 0) {
+                    SortEntry worst = heap.poll();
+                    heap.add(candidate);
+                    candidate = worst;
+                }
+            }
+            entries = heap.toArray(new SortEntry[heap.size()]);
+        }
+        Arrays.sort(entries, comparator);
+        List<OSProcess> procs = new ArrayList<>(entries.length);
+        for (SortEntry entry : entries) {
+            procs.add(entry.proc);
+        }
+        return procs;
+    }
+
+    /**
+     * Whether a sort is by I/O rate, and so needs the bytes read and written
+     * of every process
+     *
+     * @param sort
+     *            The sorting, or null
+     * @return true if the sort is by an I/O rate
+     */
+    protected static boolean isIoRateSort(ProcessSort sort) {
+        return sort == ProcessSort.READ_RATE || sort == ProcessSort.WRITE_RATE || sort == ProcessSort.IO_RATE;
+    }
+
+    private static Comparator<SortEntry> getComparator(ProcessSort sort) {
+        switch (sort) {
+        case CPU:
+        case RECENT_CPU:
+        case READ_RATE:
+        case WRITE_RATE:
+        case IO_RATE:
+            return DOUBLE_DESC_SORT;
+        case MEMORY:
+        case OLDEST:
+            return LONG_DESC_SORT;
+        case NEWEST:
+        case PID:
+        case PARENTPID:
+            return LONG_ASC_SORT;
+        case NAME:
+            return STRING_ASC_SORT;
+        default:
+            // Should never get here! If you get this exception you've
+            // added something to the enum without adding it here. Tsk.
+            throw new IllegalArgumentException("Unimplemented enum type: " + sort.toString());
+        }
+    }
+
+    /**
+     * A process with its sort key, computed once rather than on every
+     * comparison
+     */
+    private static final class SortEntry {
+        private OSProcess proc;
+        private int index;
+        private long longKey;
+        private double doubleKey;
+        private String stringKey;
+
+        SortEntry(OSProcess proc, int index, ProcessSort sort) {
+            set(proc, index, sort);
+        }
+
+        void set(OSProcess proc, int index, ProcessSort sort) {
+            this.proc = proc;
+            this.index = index;
             switch (sort) {
             case CPU:
-                Collections.sort(processes, CPU_DESC_SORT);
+                this.doubleKey = (proc.getKernelTime() + proc.getUserTime()) / (double) proc.getUpTime();
+                break;
+            case RECENT_CPU:
+                this.doubleKey = proc.getRecentCpuLoad();
+                break;
+            case READ_RATE:
+                this.doubleKey = proc.getBytesReadRate();
+                break;
+            case WRITE_RATE:
+                this.doubleKey = proc.getBytesWrittenRate();
+                break;
+            case IO_RATE:
+                this.doubleKey = proc.getBytesReadRate() + proc.getBytesWrittenRate();
                 break;
             case MEMORY:
-                Collections.sort(processes, RSS_DESC_SORT);
+                this.longKey = proc.getResidentSetSize();
                 break;
             case OLDEST:
-                Collections.sort(processes, UPTIME_DESC_SORT);
-                break;
             case NEWEST:
-                Collections.sort(processes, UPTIME_ASC_SORT);
+                this.longKey = proc.getUpTime();
                 break;
             case PID:
-                Collections.sort(processes, PID_ASC_SORT);
+                this.longKey = proc.getProcessID();
                 break;
             case PARENTPID:
-                Collections.sort(processes, PARENTPID_ASC_SORT);
+                this.longKey = proc.getParentProcessID();
                 break;
             case NAME:
-                Collections.sort(processes, NAME_ASC_SORT);
+                this.stringKey = proc.getName().toLowerCase();
                 break;
             default:
-                // Should never get here! If you get this exception you've
-                // added something to the enum without adding it here. Tsk.
                 throw new IllegalArgumentException("Unimplemented enum type: " + sort.toString());
             }
         }
-        // Return max of limit or process size
-        // Nonpositive limit means return all
-        int maxProcs = processes.size();
-        if (limit > 0 && maxProcs > limit) {
-            maxProcs = limit;
+    }
+
+    /**
+     * A process table for platforms which cannot update individual processes,
+     * which collects all processes on each refresh
+     */
+    private static class FullScanProcessTable extends AbstractProcessTable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OperatingSystem os;
+
+        FullScanProcessTable(OperatingSystem os) {
+            this.os = os;
         }
-        List<OSProcess> procs = new ArrayList<>();
-        for (int i = 0; i < maxProcs; i++) {
-            procs.add(processes.get(i));
+
+        @Override
+        protected Collection<OSProcess> collect(Map<Integer, OSProcess> previous) {
+            List<OSProcess> procs = new ArrayList<>();
+            for (OSProcess proc : this.os.getProcesses(0, null)) {
+                if (proc != null) {
+                    procs.add(proc);
+                }
+            }
+            return procs;
+        }
+    }
+
+    /**
+     * A control group tree for platforms without control groups
+     */
+    private static class EmptyControlGroupTree implements ControlGroupTree {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void refresh() {
+            // No groups to read
+        }
+
+        @Override
+        public int getVersion() {
+            return 0;
+        }
+
+        @Override
+        public ControlGroup[] getGroups() {
+            return new ControlGroup[0];
+        }
+
+        @Override
+        public ControlGroup getGroup(String path) {
+            return null;
+        }
+
+        @Override
+        public ControlGroup[] getChildren(String path) {
+            return new ControlGroup[0];
+        }
+
+        @Override
+        public int[] getProcessIDs(String path) {
+            return new int[0];
         }
-        return procs;
     }
 
     @Override
@@ -0,0 +1,165 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.ProcessTable;
+
+/**
+ * Common code for process tables. Subclasses supply the current processes;
+ * this class tracks them between refreshes and computes the differences.
+ */
+public abstract class AbstractProcessTable implements ProcessTable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<OSProcess> PID_ASC_SORT = new Comparator<OSProcess>() {
+        @Override
+        public int compare(OSProcess p1, OSProcess p2) {
+            return Integer.compare(p1.getProcessID(), p2.getProcessID());
+        }
+    };
+
+    private static final OSProcess[] EMPTY = new OSProcess[0];
+
+    // Processes as of the latest refresh, keyed by pid
+    private Map<Integer, OSProcess> processMap = new HashMap<>();
+
+    private OSProcess[] processes = EMPTY;
+
+    private OSProcess[] started = EMPTY;
+
+    private OSProcess[] exited = EMPTY;
+
+    private OSProcess[] changed = EMPTY;
+
+    /**
+     * Gets the currently running processes. For each process which was running
+     * on the previous refresh (same process ID and start time), implementations
+     * may return a new object combining re-read volatile values with unchanging
+     * values from the previous object. The previous objects must not be
+     * modified, as the caller compares them to the new ones.
+     *
+     * @param previous
+     *            The processes as of the previous refresh, keyed by process ID;
+     *            not to be modified
+     * @return The current processes
+     */
+    protected abstract Collection<OSProcess> collect(Map<Integer, OSProcess> previous);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void refresh() {
+        Map<Integer, OSProcess> previous = this.processMap;
+        Map<Integer, OSProcess> current = new HashMap<>();
+        List<OSProcess> startedList = new ArrayList<>();
+        List<OSProcess> exitedList = new ArrayList<>();
+        List<OSProcess> changedList = new ArrayList<>();
+        for (OSProcess proc : collect(previous)) {
+            current.put(proc.getProcessID(), proc);
+            OSProcess prev = previous.get(proc.getProcessID());
+            if (prev == null) {
+                startedList.add(proc);
+            } else if (prev.getStartTime() != proc.getStartTime()) {
+                // pid was reused
+                exitedList.add(prev);
+                startedList.add(proc);
+            } else if (isChanged(prev, proc)) {
+                changedList.add(proc);
+            }
+        }
+        for (OSProcess prev : previous.values()) {
+            if (!current.containsKey(prev.getProcessID())) {
+                exitedList.add(prev);
+            }
+        }
+        this.processMap = current;
+        this.processes = toSortedArray(current.values());
+        this.started = toSortedArray(startedList);
+        this.exited = toSortedArray(exitedList);
+        this.changed = toSortedArray(changedList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized OSProcess[] getProcesses() {
+        return this.processes.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized OSProcess[] getStartedProcesses() {
+        return this.started.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized OSProcess[] getExitedProcesses() {
+        return this.exited.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized OSProcess[] getChangedProcesses() {
+        return this.changed.clone();
+    }
+
+    /**
+     * Compares the values of a running process which may change over its
+     * lifetime
+     *
+     * @param prev
+     *            The process as of the previous refresh
+     * @param cur
+     *            The same process as of this refresh
+     * @return true if any value differs
+     */
+    protected boolean isChanged(OSProcess prev, OSProcess cur) {
+        return prev.getState() != cur.getState() || prev.getParentProcessID() != cur.getParentProcessID()
+                || prev.getThreadCount() != cur.getThreadCount() || prev.getPriority() != cur.getPriority()
+                || prev.getVirtualSize() != cur.getVirtualSize()
+                || prev.getResidentSetSize() != cur.getResidentSetSize()
+                || prev.getKernelTime() != cur.getKernelTime() || prev.getUserTime() != cur.getUserTime()
+                || prev.getBytesRead() != cur.getBytesRead() || prev.getBytesWritten() != cur.getBytesWritten();
+    }
+
+    private static OSProcess[] toSortedArray(Collection<OSProcess> procs) {
+        List<OSProcess> list = new ArrayList<>(procs);
+        Collections.sort(list, PID_ASC_SORT);
+        return list.toArray(new OSProcess[list.size()]);
+    }
+}
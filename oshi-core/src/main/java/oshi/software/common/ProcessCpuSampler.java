@@ -0,0 +1,152 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.common;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import oshi.software.os.OSProcess;
+
+/**
+ * Tracks the CPU time of processes (or threads) between samples to calculate
+ * their CPU usage over the interval since each was previously sampled.
+ * Processes are identified by process ID and start time, so a reused process
+ * ID starts a new history. The least recently sampled processes are evicted
+ * when the number tracked exceeds the capacity, which bounds memory use as
+ * processes exit.
+ */
+public class ProcessCpuSampler implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default maximum number of processes tracked
+     */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private final ProcessSampleMap<Sample> samples;
+
+    /**
+     * Creates a sampler tracking up to {@link #DEFAULT_CAPACITY} processes
+     */
+    public ProcessCpuSampler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sampler
+     *
+     * @param capacity
+     *            The maximum number of processes to track
+     */
+    public ProcessCpuSampler(int capacity) {
+        this.samples = new ProcessSampleMap<>(capacity);
+    }
+
+    /**
+     * Samples processes, setting {@link OSProcess#getRecentCpuLoad()} on each
+     * to its CPU usage since it was previously sampled, or to its lifetime
+     * average if it was not
+     *
+     * @param processes
+     *            The processes to sample
+     */
+    public synchronized void sample(Collection<OSProcess> processes) {
+        for (OSProcess proc : processes) {
+            proc.setRecentCpuLoad(sample(proc));
+        }
+    }
+
+    /**
+     * Samples a process
+     *
+     * @param proc
+     *            The process to sample
+     * @return The CPU usage of the process since it was previously sampled,
+     *         where 1.0 is one logical processor fully used, or its lifetime
+     *         average if it was not previously sampled
+     */
+    public double sample(OSProcess proc) {
+        return sample(proc.getProcessID(), proc.getStartTime(), proc.getKernelTime() + proc.getUserTime(),
+                proc.getUpTime());
+    }
+
+    /**
+     * Samples a process or thread by its values
+     *
+     * @param id
+     *            The process or thread ID
+     * @param startTime
+     *            The start time, which with the ID identifies the process or
+     *            thread
+     * @param cpuTime
+     *            The milliseconds of kernel and user time used
+     * @param upTime
+     *            The milliseconds since it started
+     * @return The CPU usage since it was previously sampled, where 1.0 is one
+     *         logical processor fully used, or its lifetime average if it was
+     *         not previously sampled
+     */
+    public synchronized double sample(int id, long startTime, long cpuTime, long upTime) {
+        Sample previous = this.samples.get(id, startTime);
+        if (previous == null) {
+            Sample sample = new Sample();
+            sample.load = upTime > 0L ? cpuTime / (double) upTime : 0d;
+            sample.cpuTime = cpuTime;
+            sample.upTime = upTime;
+            this.samples.put(id, startTime, sample);
+            return sample.load;
+        }
+        // If no time has passed keep the previous value
+        if (upTime > previous.upTime) {
+            previous.load = (cpuTime - previous.cpuTime) / (double) (upTime - previous.upTime);
+            previous.cpuTime = cpuTime;
+            previous.upTime = upTime;
+        }
+        return previous.load;
+    }
+
+    /**
+     * Removes all samples, so each process is next sampled as if for the
+     * first time
+     */
+    public synchronized void clear() {
+        this.samples.clear();
+    }
+
+    /**
+     * @return The number of processes currently tracked
+     */
+    public synchronized int size() {
+        return this.samples.size();
+    }
+
+    /**
+     * The CPU time and up time of a process when last sampled, and its load
+     * over the interval ending then
+     */
+    private static final class Sample implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long cpuTime;
+        private long upTime;
+        private double load;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.common;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import oshi.software.os.OSProcess;
+
+/**
+ * Tracks the I/O counters of processes between samples to calculate their
+ * I/O rates over the interval since each was previously sampled. Processes
+ * are identified by process ID and start time, so a reused process ID starts
+ * a new history. The least recently sampled processes are evicted when the
+ * number tracked exceeds the capacity, as for {@link ProcessCpuSampler}.
+ */
+public class ProcessIoSampler implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default maximum number of processes tracked
+     */
+    public static final int DEFAULT_CAPACITY = ProcessCpuSampler.DEFAULT_CAPACITY;
+
+    private final ProcessSampleMap<Sample> samples;
+
+    /**
+     * Creates a sampler tracking up to {@link #DEFAULT_CAPACITY} processes
+     */
+    public ProcessIoSampler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sampler
+     *
+     * @param capacity
+     *            The maximum number of processes to track
+     */
+    public ProcessIoSampler(int capacity) {
+        this.samples = new ProcessSampleMap<>(capacity);
+    }
+
+    /**
+     * Samples processes, setting {@link OSProcess#getBytesReadRate()},
+     * {@link OSProcess#getBytesWrittenRate()} and the other I/O rates on each
+     * to its rates since it was previously sampled, or to its lifetime average
+     * rates if it was not
+     *
+     * @param processes
+     *            The processes to sample
+     */
+    public synchronized void sample(Collection<OSProcess> processes) {
+        for (OSProcess proc : processes) {
+            sample(proc);
+        }
+    }
+
+    /**
+     * Samples a process, setting its I/O rates since it was previously
+     * sampled, or its lifetime average rates if it was not
+     *
+     * @param proc
+     *            The process to sample
+     */
+    public synchronized void sample(OSProcess proc) {
+        Sample sample = this.samples.get(proc.getProcessID(), proc.getStartTime());
+        if (sample == null) {
+            // Counters start at zero, giving the lifetime average
+            sample = new Sample();
+            this.samples.put(proc.getProcessID(), proc.getStartTime(), sample);
+        }
+        sample.update(proc);
+        proc.setBytesReadRate(sample.rates[Sample.BYTES_READ]);
+        proc.setBytesWrittenRate(sample.rates[Sample.BYTES_WRITTEN]);
+        proc.setReadCallsRate(sample.rates[Sample.READ_CALLS]);
+        proc.setWriteCallsRate(sample.rates[Sample.WRITE_CALLS]);
+        proc.setCancelledBytesWrittenRate(sample.rates[Sample.CANCELLED_BYTES_WRITTEN]);
+    }
+
+    /**
+     * Removes all samples, so each process is next sampled as if for the
+     * first time
+     */
+    public synchronized void clear() {
+        this.samples.clear();
+    }
+
+    /**
+     * @return The number of processes currently tracked
+     */
+    public synchronized int size() {
+        return this.samples.size();
+    }
+
+    /**
+     * The I/O counters and up time of a process when last sampled, and its
+     * rates over the interval ending then
+     */
+    private static final class Sample implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final int BYTES_READ = 0;
+        private static final int BYTES_WRITTEN = 1;
+        private static final int READ_CALLS = 2;
+        private static final int WRITE_CALLS = 3;
+        private static final int CANCELLED_BYTES_WRITTEN = 4;
+        private static final int COUNTERS = 5;
+
+        private long[] counters = new long[COUNTERS];
+        private final double[] rates = new double[COUNTERS];
+        private long upTime;
+
+        /**
+         * Sets the per-second rates over the interval since the previous
+         * update, and keeps the current counters for the next one
+         */
+        private void update(OSProcess proc) {
+            long millis = proc.getUpTime() - this.upTime;
+            // If no time has passed keep the previous rates
+            if (millis <= 0L) {
+                return;
+            }
+            long[] now = new long[COUNTERS];
+            now[BYTES_READ] = proc.getBytesRead();
+            now[BYTES_WRITTEN] = proc.getBytesWritten();
+            now[READ_CALLS] = proc.getReadCalls();
+            now[WRITE_CALLS] = proc.getWriteCalls();
+            now[CANCELLED_BYTES_WRITTEN] = proc.getCancelledBytesWritten();
+            for (int i = 0; i < COUNTERS; i++) {
+                // A counter going backwards (e.g., no longer readable) gives
+                // a zero rate rather than a negative one
+                this.rates[i] = Math.max(0L, now[i] - this.counters[i]) * 1000d / millis;
+            }
+            this.counters = now;
+            this.upTime = proc.getUpTime();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.common;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the previous sample of each process (or thread), identified by
+ * process ID and start time so that a reused process ID starts a new history.
+ * The least recently sampled processes are evicted when the number held
+ * exceeds the capacity, which bounds memory use as processes exit. Not thread
+ * safe; samplers synchronize their use.
+ *
+ * @param <V>
+ *            The type of sample
+ */
+class ProcessSampleMap<V extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LruMap<V> samples;
+
+    /**
+     * @param capacity
+     *            The maximum number of processes held
+     */
+    ProcessSampleMap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.samples = new LruMap<>(capacity);
+    }
+
+    /**
+     * @param id
+     *            The process or thread ID
+     * @param startTime
+     *            Its start time
+     * @return The previous sample, or null if there is none
+     */
+    V get(int id, long startTime) {
+        return this.samples.get(new Key(id, startTime));
+    }
+
+    /**
+     * @param id
+     *            The process or thread ID
+     * @param startTime
+     *            Its start time
+     * @param sample
+     *            The sample to hold
+     */
+    void put(int id, long startTime, V sample) {
+        this.samples.put(new Key(id, startTime), sample);
+    }
+
+    void clear() {
+        this.samples.clear();
+    }
+
+    int size() {
+        return this.samples.size();
+    }
+
+    /**
+     * Identifies a process across samples
+     */
+    private static final class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+        private final long startTime;
+
+        Key(int id, long startTime) {
+            this.id = id;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.id + (int) (this.startTime ^ (this.startTime >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.id == other.id && this.startTime == other.startTime;
+        }
+    }
+
+    /**
+     * Samples in order of access so the least recently sampled are evicted
+     * first
+     */
+    private static final class LruMap<V> extends LinkedHashMap<Key, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+            return size() > this.capacity;
+        }
+    }
+}
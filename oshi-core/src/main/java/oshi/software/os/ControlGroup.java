@@ -0,0 +1,539 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * A control group (cgroup): a set of processes, and recursively its child
+ * groups, whose use of CPU, memory and I/O is accounted and may be limited
+ * together. Containers and systemd services, slices and scopes are each a
+ * control group. Values not supported by the cgroup version or controllers
+ * available are zero, or -1 or null where documented.
+ */
+public class ControlGroup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String path = "";
+    private long cpuUsage;
+    private long cpuUser;
+    private long cpuSystem;
+    private long cpuThrottledCount;
+    private long cpuThrottledTime;
+    private double cpuQuota = -1d;
+    private long memoryCurrent;
+    private long memoryLimit = -1L;
+    private long memoryAnon;
+    private long memoryFile;
+    private long ioBytesRead;
+    private long ioBytesWritten;
+    private long ioReads;
+    private long ioWrites;
+    private Pressure cpuPressure;
+    private Pressure memoryPressure;
+    private Pressure ioPressure;
+    private double cpuUsageRate;
+    private double ioBytesReadRate;
+    private double ioBytesWrittenRate;
+    private double ioReadsRate;
+    private double ioWritesRate;
+
+    /**
+     * Pressure stall information: the share of time in which some (or all)
+     * non-idle processes in a group were stalled waiting for a resource.
+     */
+    public static class Pressure implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double someAvg10;
+        private final double someAvg60;
+        private final double someAvg300;
+        private final long someTotal;
+        private final double fullAvg10;
+        private final double fullAvg60;
+        private final double fullAvg300;
+        private final long fullTotal;
+
+        /**
+         * @param someAvg10
+         *            Percent of time some processes stalled, over 10 seconds
+         * @param someAvg60
+         *            Percent of time some processes stalled, over 60 seconds
+         * @param someAvg300
+         *            Percent of time some processes stalled, over 300 seconds
+         * @param someTotal
+         *            Total time some processes stalled, in microseconds
+         * @param fullAvg10
+         *            Percent of time all processes stalled, over 10 seconds
+         * @param fullAvg60
+         *            Percent of time all processes stalled, over 60 seconds
+         * @param fullAvg300
+         *            Percent of time all processes stalled, over 300 seconds
+         * @param fullTotal
+         *            Total time all processes stalled, in microseconds
+         */
+        public Pressure(double someAvg10, double someAvg60, double someAvg300, long someTotal, double fullAvg10,
+                double fullAvg60, double fullAvg300, long fullTotal) {
+            this.someAvg10 = someAvg10;
+            this.someAvg60 = someAvg60;
+            this.someAvg300 = someAvg300;
+            this.someTotal = someTotal;
+            this.fullAvg10 = fullAvg10;
+            this.fullAvg60 = fullAvg60;
+            this.fullAvg300 = fullAvg300;
+            this.fullTotal = fullTotal;
+        }
+
+        /**
+         * @return Percent of the last 10 seconds in which some processes
+         *         stalled
+         */
+        public double getSomeAvg10() {
+            return this.someAvg10;
+        }
+
+        /**
+         * @return Percent of the last 60 seconds in which some processes
+         *         stalled
+         */
+        public double getSomeAvg60() {
+            return this.someAvg60;
+        }
+
+        /**
+         * @return Percent of the last 300 seconds in which some processes
+         *         stalled
+         */
+        public double getSomeAvg300() {
+            return this.someAvg300;
+        }
+
+        /**
+         * @return Total time in which some processes stalled, in microseconds
+         */
+        public long getSomeTotal() {
+            return this.someTotal;
+        }
+
+        /**
+         * @return Percent of the last 10 seconds in which all processes
+         *         stalled; zero for CPU pressure on older kernels
+         */
+        public double getFullAvg10() {
+            return this.fullAvg10;
+        }
+
+        /**
+         * @return Percent of the last 60 seconds in which all processes
+         *         stalled
+         */
+        public double getFullAvg60() {
+            return this.fullAvg60;
+        }
+
+        /**
+         * @return Percent of the last 300 seconds in which all processes
+         *         stalled
+         */
+        public double getFullAvg300() {
+            return this.fullAvg300;
+        }
+
+        /**
+         * @return Total time in which all processes stalled, in microseconds
+         */
+        public long getFullTotal() {
+            return this.fullTotal;
+        }
+    }
+
+    /**
+     * @return Returns the path of the group relative to the root of its
+     *         hierarchy, e.g., /system.slice/sshd.service; / for the root.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return Returns the CPU time used by processes in the group and its
+     *         descendants, in microseconds.
+     */
+    public long getCpuUsage() {
+        return this.cpuUsage;
+    }
+
+    /**
+     * @return Returns the user CPU time used by the group and its descendants,
+     *         in microseconds.
+     */
+    public long getCpuUser() {
+        return this.cpuUser;
+    }
+
+    /**
+     * @return Returns the system CPU time used by the group and its
+     *         descendants, in microseconds.
+     */
+    public long getCpuSystem() {
+        return this.cpuSystem;
+    }
+
+    /**
+     * @return Returns the number of periods in which the group was throttled by
+     *         its CPU quota.
+     */
+    public long getCpuThrottledCount() {
+        return this.cpuThrottledCount;
+    }
+
+    /**
+     * @return Returns the total time the group was throttled by its CPU quota,
+     *         in microseconds.
+     */
+    public long getCpuThrottledTime() {
+        return this.cpuThrottledTime;
+    }
+
+    /**
+     * @return Returns the CPU quota of the group, in logical processors (quota
+     *         divided by period), or -1 if unlimited or unknown.
+     */
+    public double getCpuQuota() {
+        return this.cpuQuota;
+    }
+
+    /**
+     * @return Returns the memory charged to the group and its descendants, in
+     *         bytes, including page cache.
+     */
+    public long getMemoryCurrent() {
+        return this.memoryCurrent;
+    }
+
+    /**
+     * @return Returns the memory limit of the group, in bytes, or -1 if
+     *         unlimited or unknown.
+     */
+    public long getMemoryLimit() {
+        return this.memoryLimit;
+    }
+
+    /**
+     * @return Returns the anonymous memory (heap, stacks, etc.) charged to the
+     *         group, in bytes.
+     */
+    public long getMemoryAnon() {
+        return this.memoryAnon;
+    }
+
+    /**
+     * @return Returns the page cache charged to the group, in bytes.
+     */
+    public long getMemoryFile() {
+        return this.memoryFile;
+    }
+
+    /**
+     * @return Returns the bytes read from block devices by the group, summed
+     *         over devices.
+     */
+    public long getIoBytesRead() {
+        return this.ioBytesRead;
+    }
+
+    /**
+     * @return Returns the bytes written to block devices by the group, summed
+     *         over devices.
+     */
+    public long getIoBytesWritten() {
+        return this.ioBytesWritten;
+    }
+
+    /**
+     * @return Returns the read operations on block devices by the group, summed
+     *         over devices.
+     */
+    public long getIoReads() {
+        return this.ioReads;
+    }
+
+    /**
+     * @return Returns the write operations on block devices by the group,
+     *         summed over devices.
+     */
+    public long getIoWrites() {
+        return this.ioWrites;
+    }
+
+    /**
+     * @return Returns the CPU pressure stall information of the group, or null
+     *         if not available.
+     */
+    public Pressure getCpuPressure() {
+        return this.cpuPressure;
+    }
+
+    /**
+     * @return Returns the memory pressure stall information of the group, or
+     *         null if not available.
+     */
+    public Pressure getMemoryPressure() {
+        return this.memoryPressure;
+    }
+
+    /**
+     * @return Returns the I/O pressure stall information of the group, or null
+     *         if not available.
+     */
+    public Pressure getIoPressure() {
+        return this.ioPressure;
+    }
+
+    /**
+     * @return Returns the CPU usage of the group over the interval between the
+     *         two most recent refreshes of its tree, where 1.0 is one logical
+     *         processor fully used; zero after the first refresh.
+     */
+    public double getCpuUsageRate() {
+        return this.cpuUsageRate;
+    }
+
+    /**
+     * @return Returns the bytes read per second over the interval between the
+     *         two most recent refreshes of its tree; zero after the first
+     *         refresh.
+     */
+    public double getIoBytesReadRate() {
+        return this.ioBytesReadRate;
+    }
+
+    /**
+     * @return Returns the bytes written per second over the interval between
+     *         the two most recent refreshes of its tree; zero after the first
+     *         refresh.
+     */
+    public double getIoBytesWrittenRate() {
+        return this.ioBytesWrittenRate;
+    }
+
+    /**
+     * @return Returns the read operations per second over the interval between
+     *         the two most recent refreshes of its tree; zero after the first
+     *         refresh.
+     */
+    public double getIoReadsRate() {
+        return this.ioReadsRate;
+    }
+
+    /**
+     * @return Returns the write operations per second over the interval between
+     *         the two most recent refreshes of its tree; zero after the first
+     *         refresh.
+     */
+    public double getIoWritesRate() {
+        return this.ioWritesRate;
+    }
+
+    /**
+     * @param path
+     *            The path of the group relative to the root of its hierarchy
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @param cpuUsage
+     *            CPU time used, in microseconds
+     */
+    public void setCpuUsage(long cpuUsage) {
+        this.cpuUsage = cpuUsage;
+    }
+
+    /**
+     * @param cpuUser
+     *            User CPU time, in microseconds
+     */
+    public void setCpuUser(long cpuUser) {
+        this.cpuUser = cpuUser;
+    }
+
+    /**
+     * @param cpuSystem
+     *            System CPU time, in microseconds
+     */
+    public void setCpuSystem(long cpuSystem) {
+        this.cpuSystem = cpuSystem;
+    }
+
+    /**
+     * @param cpuThrottledCount
+     *            Number of throttled periods
+     */
+    public void setCpuThrottledCount(long cpuThrottledCount) {
+        this.cpuThrottledCount = cpuThrottledCount;
+    }
+
+    /**
+     * @param cpuThrottledTime
+     *            Throttled time, in microseconds
+     */
+    public void setCpuThrottledTime(long cpuThrottledTime) {
+        this.cpuThrottledTime = cpuThrottledTime;
+    }
+
+    /**
+     * @param cpuQuota
+     *            CPU quota in logical processors, or -1 if unlimited
+     */
+    public void setCpuQuota(double cpuQuota) {
+        this.cpuQuota = cpuQuota;
+    }
+
+    /**
+     * @param memoryCurrent
+     *            Memory charged, in bytes
+     */
+    public void setMemoryCurrent(long memoryCurrent) {
+        this.memoryCurrent = memoryCurrent;
+    }
+
+    /**
+     * @param memoryLimit
+     *            Memory limit in bytes, or -1 if unlimited
+     */
+    public void setMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * @param memoryAnon
+     *            Anonymous memory, in bytes
+     */
+    public void setMemoryAnon(long memoryAnon) {
+        this.memoryAnon = memoryAnon;
+    }
+
+    /**
+     * @param memoryFile
+     *            Page cache, in bytes
+     */
+    public void setMemoryFile(long memoryFile) {
+        this.memoryFile = memoryFile;
+    }
+
+    /**
+     * @param ioBytesRead
+     *            Bytes read
+     */
+    public void setIoBytesRead(long ioBytesRead) {
+        this.ioBytesRead = ioBytesRead;
+    }
+
+    /**
+     * @param ioBytesWritten
+     *            Bytes written
+     */
+    public void setIoBytesWritten(long ioBytesWritten) {
+        this.ioBytesWritten = ioBytesWritten;
+    }
+
+    /**
+     * @param ioReads
+     *            Read operations
+     */
+    public void setIoReads(long ioReads) {
+        this.ioReads = ioReads;
+    }
+
+    /**
+     * @param ioWrites
+     *            Write operations
+     */
+    public void setIoWrites(long ioWrites) {
+        this.ioWrites = ioWrites;
+    }
+
+    /**
+     * @param cpuPressure
+     *            CPU pressure, or null
+     */
+    public void setCpuPressure(Pressure cpuPressure) {
+        this.cpuPressure = cpuPressure;
+    }
+
+    /**
+     * @param memoryPressure
+     *            Memory pressure, or null
+     */
+    public void setMemoryPressure(Pressure memoryPressure) {
+        this.memoryPressure = memoryPressure;
+    }
+
+    /**
+     * @param ioPressure
+     *            I/O pressure, or null
+     */
+    public void setIoPressure(Pressure ioPressure) {
+        this.ioPressure = ioPressure;
+    }
+
+    /**
+     * @param cpuUsageRate
+     *            CPU usage over the latest interval
+     */
+    public void setCpuUsageRate(double cpuUsageRate) {
+        this.cpuUsageRate = cpuUsageRate;
+    }
+
+    /**
+     * @param ioBytesReadRate
+     *            Bytes read per second over the latest interval
+     */
+    public void setIoBytesReadRate(double ioBytesReadRate) {
+        this.ioBytesReadRate = ioBytesReadRate;
+    }
+
+    /**
+     * @param ioBytesWrittenRate
+     *            Bytes written per second over the latest interval
+     */
+    public void setIoBytesWrittenRate(double ioBytesWrittenRate) {
+        this.ioBytesWrittenRate = ioBytesWrittenRate;
+    }
+
+    /**
+     * @param ioReadsRate
+     *            Read operations per second over the latest interval
+     */
+    public void setIoReadsRate(double ioReadsRate) {
+        this.ioReadsRate = ioReadsRate;
+    }
+
+    /**
+     * @param ioWritesRate
+     *            Write operations per second over the latest interval
+     */
+    public void setIoWritesRate(double ioWritesRate) {
+        this.ioWritesRate = ioWritesRate;
+    }
+}
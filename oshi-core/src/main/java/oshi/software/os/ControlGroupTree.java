@@ -0,0 +1,90 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * A control group tree is a stateful view of the control groups (cgroups) of
+ * the system, intended for repeated polling. Each {@link #refresh()} reads the
+ * accounting files of every group, which give the totals of the group
+ * including its descendants without reading any processes, and computes
+ * rates over the interval since the previous refresh for groups present on
+ * both.
+ *
+ * Both the unified (v2) hierarchy and the per-controller (v1) hierarchies are
+ * supported. With v1, the tree is the union of the groups of the cpu, cpuacct,
+ * memory and blkio hierarchies, and each group has the values of those
+ * hierarchies in which it exists.
+ */
+public interface ControlGroupTree extends Serializable {
+
+    /**
+     * Reads the current groups and their values, replacing those of the
+     * previous refresh
+     */
+    void refresh();
+
+    /**
+     * Gets the cgroup version of the tree
+     *
+     * @return 2 for the unified hierarchy, 1 for per-controller hierarchies,
+     *         or 0 if control groups are not available
+     */
+    int getVersion();
+
+    /**
+     * Gets the groups as of the most recent refresh
+     *
+     * @return An array of {@link ControlGroup} objects in path order, so each
+     *         group follows its parent; empty if the tree has not been
+     *         refreshed or control groups are not available
+     */
+    ControlGroup[] getGroups();
+
+    /**
+     * Gets a group as of the most recent refresh
+     *
+     * @param path
+     *            The path of the group, e.g., /system.slice
+     * @return The group, or null if it did not exist
+     */
+    ControlGroup getGroup(String path);
+
+    /**
+     * Gets the children of a group as of the most recent refresh
+     *
+     * @param path
+     *            The path of the group, / for the root
+     * @return An array of {@link ControlGroup} objects in path order; empty if
+     *         the group has no children or did not exist
+     */
+    ControlGroup[] getChildren(String path);
+
+    /**
+     * Gets the processes currently in a group, not including its descendants.
+     * This reads the group's process list, not the processes.
+     *
+     * @param path
+     *            The path of the group
+     * @return The process IDs, in ascending order; empty if the group does not
+     *         exist
+     */
+    int[] getProcessIDs(String path);
+}
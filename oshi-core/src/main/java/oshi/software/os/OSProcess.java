@@ -19,6 +19,9 @@
 package oshi.software.os;
 
 import java.io.Serializable;
+import java.util.Set;
+
+import oshi.software.os.OperatingSystem.ProcessField;
 
 /**
  * A process is an instance of a computer program that is being executed. It
@@ -40,6 +43,7 @@ public class OSProcess implements Serializable {
     private String userID = "";
     private String group = "";
     private String groupID = "";
+    private String controlGroup = "";
     private State state = State.OTHER;
     private int processID;
     private int parentProcessID;
@@ -53,6 +57,17 @@ public class OSProcess implements Serializable {
     private long upTime;
     private long bytesRead;
     private long bytesWritten;
+    private long readCalls;
+    private long writeCalls;
+    private long cancelledBytesWritten;
+    private double recentCpuLoad;
+    private double bytesReadRate;
+    private double bytesWrittenRate;
+    private double readCallsRate;
+    private double writeCallsRate;
+    private double cancelledBytesWrittenRate;
+    // null if all fields are collected
+    private Set<ProcessField> collectedFields;
 
     /**
      * Process Execution States
@@ -293,6 +308,138 @@ public class OSProcess implements Serializable {
         return this.bytesWritten;
     }
 
+    /**
+     * @return Returns the path of the control group (cgroup) of the process,
+     *         as in {@link ControlGroup#getPath()}; empty if unknown or not
+     *         supported by the platform. Currently only available on Linux,
+     *         where it is only collected if requested, and otherwise read the
+     *         first time this is called.
+     */
+    public String getControlGroup() {
+        return this.controlGroup;
+    }
+
+    /**
+     * @return Returns the number of read system calls the process has made.
+     *         Collected with {@link ProcessField#BYTES_READ}; currently only
+     *         available on Linux.
+     */
+    public long getReadCalls() {
+        return this.readCalls;
+    }
+
+    /**
+     * @return Returns the number of write system calls the process has made.
+     *         Collected with {@link ProcessField#BYTES_WRITTEN}; currently
+     *         only available on Linux.
+     */
+    public long getWriteCalls() {
+        return this.writeCalls;
+    }
+
+    /**
+     * @return Returns the number of bytes the process caused not to be written
+     *         to disk, by truncating or deleting files it had written to the
+     *         page cache. Collected with {@link ProcessField#BYTES_WRITTEN};
+     *         currently only available on Linux.
+     */
+    public long getCancelledBytesWritten() {
+        return this.cancelledBytesWritten;
+    }
+
+    /**
+     * Gets the CPU usage of the process over the interval since it was
+     * previously sampled by a {@link oshi.software.common.ProcessCpuSampler},
+     * such as when sorting with {@link OperatingSystem.ProcessSort#RECENT_CPU}.
+     * This is the value shown by top, as a fraction rather than a percentage.
+     *
+     * @return The kernel and user time used during the interval divided by
+     *         the length of the interval, where 1.0 is one logical processor
+     *         fully used. On the first sample of a process, its average over
+     *         its lifetime. Zero if the process was not sampled.
+     */
+    public double getRecentCpuLoad() {
+        return this.recentCpuLoad;
+    }
+
+    /**
+     * Gets the rate at which the process read from disk over the interval
+     * since it was previously sampled by a
+     * {@link oshi.software.common.ProcessIoSampler}, such as when sorting with
+     * {@link OperatingSystem.ProcessSort#READ_RATE}.
+     *
+     * @return Bytes read per second during the interval. On the first sample
+     *         of a process, its average over its lifetime. Zero if the process
+     *         was not sampled.
+     */
+    public double getBytesReadRate() {
+        return this.bytesReadRate;
+    }
+
+    /**
+     * Gets the rate at which the process wrote to disk over the interval
+     * since it was previously sampled by a
+     * {@link oshi.software.common.ProcessIoSampler}.
+     *
+     * @return Bytes written per second during the interval, as for
+     *         {@link #getBytesReadRate()}
+     */
+    public double getBytesWrittenRate() {
+        return this.bytesWrittenRate;
+    }
+
+    /**
+     * @return Read system calls per second over the interval since the
+     *         process was previously sampled, as for
+     *         {@link #getBytesReadRate()}
+     */
+    public double getReadCallsRate() {
+        return this.readCallsRate;
+    }
+
+    /**
+     * @return Write system calls per second over the interval since the
+     *         process was previously sampled, as for
+     *         {@link #getBytesReadRate()}
+     */
+    public double getWriteCallsRate() {
+        return this.writeCallsRate;
+    }
+
+    /**
+     * @return Cancelled bytes written per second over the interval since the
+     *         process was previously sampled, as for
+     *         {@link #getBytesReadRate()}
+     */
+    public double getCancelledBytesWrittenRate() {
+        return this.cancelledBytesWrittenRate;
+    }
+
+    /**
+     * Whether a value of this process was collected. Values which were not
+     * collected have their default (empty or zero) value.
+     *
+     * @param field
+     *            The value to check
+     * @return true if the value was collected; false if it was not requested
+     *         from {@link OperatingSystem#getProcesses(int,
+     *         OperatingSystem.ProcessSort, Set)}
+     */
+    public boolean isCollected(ProcessField field) {
+        return this.collectedFields == null || this.collectedFields.contains(field);
+    }
+
+    /**
+     * Set the values of this process which were collected.
+     *
+     * @param collectedFields
+     *            The values which were collected, or null if all values were
+     *            collected. The set is not copied and should not be modified.
+     */
+    public void setCollectedFields(Set<ProcessField> collectedFields) {
+        this.collectedFields = collectedFields;
+    }
+
     /**
      * Set the name of the process.
      *
@@ -523,4 +670,108 @@ public class OSProcess implements Serializable {
     public void setBytesWritten(long bytesWritten) {
         this.bytesWritten = bytesWritten;
     }
+
+    /**
+     * Set the path of the control group of the process.
+     *
+     * @param controlGroup
+     *            control group path
+     */
+    public void setControlGroup(String controlGroup) {
+        this.controlGroup = controlGroup;
+    }
+
+    /**
+     * Set the number of read system calls the process has made.
+     *
+     * @param readCalls
+     *            number of read calls
+     */
+    public void setReadCalls(long readCalls) {
+        this.readCalls = readCalls;
+    }
+
+    /**
+     * Set the number of write system calls the process has made.
+     *
+     * @param writeCalls
+     *            number of write calls
+     */
+    public void setWriteCalls(long writeCalls) {
+        this.writeCalls = writeCalls;
+    }
+
+    /**
+     * Set the number of bytes the process caused not to be written to disk.
+     *
+     * @param cancelledBytesWritten
+     *            number of cancelled bytes written
+     */
+    public void setCancelledBytesWritten(long cancelledBytesWritten) {
+        this.cancelledBytesWritten = cancelledBytesWritten;
+    }
+
+    /**
+     * Set the CPU usage of the process over the most recent sampling interval.
+     *
+     * @param recentCpuLoad
+     *            CPU usage, where 1.0 is one logical processor fully used
+     */
+    public void setRecentCpuLoad(double recentCpuLoad) {
+        this.recentCpuLoad = recentCpuLoad;
+    }
+
+    /**
+     * Set the bytes read per second over the most recent sampling interval.
+     *
+     * @param bytesReadRate
+     *            bytes read per second
+     */
+    public void setBytesReadRate(double bytesReadRate) {
+        this.bytesReadRate = bytesReadRate;
+    }
+
+    /**
+     * Set the bytes written per second over the most recent sampling
+     * interval.
+     *
+     * @param bytesWrittenRate
+     *            bytes written per second
+     */
+    public void setBytesWrittenRate(double bytesWrittenRate) {
+        this.bytesWrittenRate = bytesWrittenRate;
+    }
+
+    /**
+     * Set the read system calls per second over the most recent sampling
+     * interval.
+     *
+     * @param readCallsRate
+     *            read calls per second
+     */
+    public void setReadCallsRate(double readCallsRate) {
+        this.readCallsRate = readCallsRate;
+    }
+
+    /**
+     * Set the write system calls per second over the most recent sampling
+     * interval.
+     *
+     * @param writeCallsRate
+     *            write calls per second
+     */
+    public void setWriteCallsRate(double writeCallsRate) {
+        this.writeCallsRate = writeCallsRate;
+    }
+
+    /**
+     * Set the cancelled bytes written per second over the most recent
+     * sampling interval.
+     *
+     * @param cancelledBytesWrittenRate
+     *            cancelled bytes written per second
+     */
+    public void setCancelledBytesWrittenRate(double cancelledBytesWrittenRate) {
+        this.cancelledBytesWrittenRate = cancelledBytesWrittenRate;
+    }
 }
@@ -0,0 +1,208 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * The open file descriptors of a process, counted by what they refer to, and
+ * the limit on the number the process may open. Type counts are only
+ * available if the descriptors were inspected individually; otherwise only
+ * the total is counted.
+ */
+public class OSProcessFileDescriptors implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int processID;
+    private boolean typesCounted;
+    private long openCount;
+    private long fileCount;
+    private long socketCount;
+    private long pipeCount;
+    private long anonInodeCount;
+    private long otherCount;
+    private long softLimit = -1L;
+    private long hardLimit = -1L;
+
+    /**
+     * @return Returns the process ID.
+     */
+    public int getProcessID() {
+        return this.processID;
+    }
+
+    /**
+     * @return Returns true if the descriptors were counted by type; if false
+     *         only {@link #getOpenCount()} is populated.
+     */
+    public boolean isTypesCounted() {
+        return this.typesCounted;
+    }
+
+    /**
+     * @return Returns the number of open file descriptors.
+     */
+    public long getOpenCount() {
+        return this.openCount;
+    }
+
+    /**
+     * @return Returns the number of descriptors referring to files, including
+     *         directories and devices.
+     */
+    public long getFileCount() {
+        return this.fileCount;
+    }
+
+    /**
+     * @return Returns the number of descriptors referring to sockets.
+     */
+    public long getSocketCount() {
+        return this.socketCount;
+    }
+
+    /**
+     * @return Returns the number of descriptors referring to pipes.
+     */
+    public long getPipeCount() {
+        return this.pipeCount;
+    }
+
+    /**
+     * @return Returns the number of descriptors referring to anonymous inodes,
+     *         such as eventfd, epoll, inotify, signalfd and timerfd.
+     */
+    public long getAnonInodeCount() {
+        return this.anonInodeCount;
+    }
+
+    /**
+     * @return Returns the number of descriptors of other types, or which
+     *         closed while being inspected.
+     */
+    public long getOtherCount() {
+        return this.otherCount;
+    }
+
+    /**
+     * @return Returns the soft limit on open file descriptors, or -1 if
+     *         unlimited or unknown.
+     */
+    public long getSoftLimit() {
+        return this.softLimit;
+    }
+
+    /**
+     * @return Returns the hard limit on open file descriptors, or -1 if
+     *         unlimited or unknown.
+     */
+    public long getHardLimit() {
+        return this.hardLimit;
+    }
+
+    /**
+     * @return Returns the number of further descriptors the process may open
+     *         before reaching its soft limit, or -1 if the limit is unlimited
+     *         or unknown.
+     */
+    public long getHeadroom() {
+        return this.softLimit < 0 ? -1L : Math.max(0L, this.softLimit - this.openCount);
+    }
+
+    /**
+     * @param processID
+     *            The process ID
+     */
+    public void setProcessID(int processID) {
+        this.processID = processID;
+    }
+
+    /**
+     * @param typesCounted
+     *            Whether the descriptors were counted by type
+     */
+    public void setTypesCounted(boolean typesCounted) {
+        this.typesCounted = typesCounted;
+    }
+
+    /**
+     * @param openCount
+     *            The number of open file descriptors
+     */
+    public void setOpenCount(long openCount) {
+        this.openCount = openCount;
+    }
+
+    /**
+     * @param fileCount
+     *            The number of descriptors referring to files
+     */
+    public void setFileCount(long fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    /**
+     * @param socketCount
+     *            The number of descriptors referring to sockets
+     */
+    public void setSocketCount(long socketCount) {
+        this.socketCount = socketCount;
+    }
+
+    /**
+     * @param pipeCount
+     *            The number of descriptors referring to pipes
+     */
+    public void setPipeCount(long pipeCount) {
+        this.pipeCount = pipeCount;
+    }
+
+    /**
+     * @param anonInodeCount
+     *            The number of descriptors referring to anonymous inodes
+     */
+    public void setAnonInodeCount(long anonInodeCount) {
+        this.anonInodeCount = anonInodeCount;
+    }
+
+    /**
+     * @param otherCount
+     *            The number of descriptors of other types
+     */
+    public void setOtherCount(long otherCount) {
+        this.otherCount = otherCount;
+    }
+
+    /**
+     * @param softLimit
+     *            The soft limit on open file descriptors, or -1 if unlimited
+     */
+    public void setSoftLimit(long softLimit) {
+        this.softLimit = softLimit;
+    }
+
+    /**
+     * @param hardLimit
+     *            The hard limit on open file descriptors, or -1 if unlimited
+     */
+    public void setHardLimit(long hardLimit) {
+        this.hardLimit = hardLimit;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * A breakdown of the memory used by a process, accounting for pages shared
+ * with other processes. The resident set size counts every shared page in
+ * full for each process sharing it; the proportional set size divides each
+ * shared page among the processes sharing it, so summing it over processes
+ * gives their combined memory use.
+ */
+public class OSProcessMemory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int processID;
+    private long residentSetSize;
+    private long proportionalSetSize;
+    private long sharedClean;
+    private long sharedDirty;
+    private long privateClean;
+    private long privateDirty;
+    private long swap;
+
+    /**
+     * @return Returns the process ID.
+     */
+    public int getProcessID() {
+        return this.processID;
+    }
+
+    /**
+     * @return Returns the resident set size, in bytes.
+     */
+    public long getResidentSetSize() {
+        return this.residentSetSize;
+    }
+
+    /**
+     * @return Returns the proportional set size (PSS), in bytes: private
+     *         resident pages plus each shared resident page divided by the
+     *         number of processes sharing it.
+     */
+    public long getProportionalSetSize() {
+        return this.proportionalSetSize;
+    }
+
+    /**
+     * @return Returns the unique set size (USS), in bytes: resident pages
+     *         used only by this process, which would be freed if it exited.
+     */
+    public long getUniqueSetSize() {
+        return this.privateClean + this.privateDirty;
+    }
+
+    /**
+     * @return Returns the bytes of resident shared pages which are unmodified.
+     */
+    public long getSharedClean() {
+        return this.sharedClean;
+    }
+
+    /**
+     * @return Returns the bytes of resident shared pages which are modified.
+     */
+    public long getSharedDirty() {
+        return this.sharedDirty;
+    }
+
+    /**
+     * @return Returns the bytes of resident private pages which are
+     *         unmodified.
+     */
+    public long getPrivateClean() {
+        return this.privateClean;
+    }
+
+    /**
+     * @return Returns the bytes of resident private pages which are modified.
+     */
+    public long getPrivateDirty() {
+        return this.privateDirty;
+    }
+
+    /**
+     * @return Returns the bytes of the process's memory which are swapped out.
+     */
+    public long getSwap() {
+        return this.swap;
+    }
+
+    /**
+     * @param processID
+     *            The process ID
+     */
+    public void setProcessID(int processID) {
+        this.processID = processID;
+    }
+
+    /**
+     * @param residentSetSize
+     *            The resident set size, in bytes
+     */
+    public void setResidentSetSize(long residentSetSize) {
+        this.residentSetSize = residentSetSize;
+    }
+
+    /**
+     * @param proportionalSetSize
+     *            The proportional set size, in bytes
+     */
+    public void setProportionalSetSize(long proportionalSetSize) {
+        this.proportionalSetSize = proportionalSetSize;
+    }
+
+    /**
+     * @param sharedClean
+     *            Bytes of unmodified resident shared pages
+     */
+    public void setSharedClean(long sharedClean) {
+        this.sharedClean = sharedClean;
+    }
+
+    /**
+     * @param sharedDirty
+     *            Bytes of modified resident shared pages
+     */
+    public void setSharedDirty(long sharedDirty) {
+        this.sharedDirty = sharedDirty;
+    }
+
+    /**
+     * @param privateClean
+     *            Bytes of unmodified resident private pages
+     */
+    public void setPrivateClean(long privateClean) {
+        this.privateClean = privateClean;
+    }
+
+    /**
+     * @param privateDirty
+     *            Bytes of modified resident private pages
+     */
+    public void setPrivateDirty(long privateDirty) {
+        this.privateDirty = privateDirty;
+    }
+
+    /**
+     * @param swap
+     *            Bytes swapped out
+     */
+    public void setSwap(long swap) {
+        this.swap = swap;
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * A thread of execution within a process.
+ */
+public class OSThread implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int threadID;
+    private int processID;
+    private String name = "";
+    private OSProcess.State state = OSProcess.State.OTHER;
+    private int priority;
+    private long kernelTime;
+    private long userTime;
+    private long startTime;
+    private long upTime;
+    private long voluntaryContextSwitches;
+    private long involuntaryContextSwitches;
+    private double recentCpuLoad;
+
+    /**
+     * @return Returns the ID of the thread.
+     */
+    public int getThreadID() {
+        return this.threadID;
+    }
+
+    /**
+     * @return Returns the ID of the process the thread belongs to.
+     */
+    public int getProcessID() {
+        return this.processID;
+    }
+
+    /**
+     * @return Returns the name of the thread.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return Returns the execution state of the thread.
+     */
+    public OSProcess.State getState() {
+        return this.state;
+    }
+
+    /**
+     * @return Returns the kernel/system (priority) value for the thread.
+     */
+    public int getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * @return Returns the number of milliseconds the thread has executed in
+     *         kernel/system mode.
+     */
+    public long getKernelTime() {
+        return this.kernelTime;
+    }
+
+    /**
+     * @return Returns the number of milliseconds the thread has executed in
+     *         user mode.
+     */
+    public long getUserTime() {
+        return this.userTime;
+    }
+
+    /**
+     * @return Returns the start time of the thread in number of milliseconds
+     *         since January 1, 1970.
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * @return Returns the number of milliseconds since the thread started.
+     */
+    public long getUpTime() {
+        if (this.upTime < this.kernelTime + this.userTime) {
+            return this.kernelTime + this.userTime;
+        }
+        return this.upTime;
+    }
+
+    /**
+     * @return Returns the number of times the thread gave up the processor
+     *         voluntarily, such as to wait for a resource.
+     */
+    public long getVoluntaryContextSwitches() {
+        return this.voluntaryContextSwitches;
+    }
+
+    /**
+     * @return Returns the number of times the thread was preempted.
+     */
+    public long getInvoluntaryContextSwitches() {
+        return this.involuntaryContextSwitches;
+    }
+
+    /**
+     * Gets the CPU usage of the thread over the interval since its threads
+     * were previously listed on the same {@link OperatingSystem} object.
+     *
+     * @return The kernel and user time used during the interval divided by
+     *         the length of the interval, where 1.0 is one logical processor
+     *         fully used. The first time a thread is listed, its average over
+     *         its lifetime.
+     */
+    public double getRecentCpuLoad() {
+        return this.recentCpuLoad;
+    }
+
+    /**
+     * Set the ID of the thread.
+     *
+     * @param threadID
+     *            thread ID
+     */
+    public void setThreadID(int threadID) {
+        this.threadID = threadID;
+    }
+
+    /**
+     * Set the ID of the process the thread belongs to.
+     *
+     * @param processID
+     *            process ID
+     */
+    public void setProcessID(int processID) {
+        this.processID = processID;
+    }
+
+    /**
+     * Set the name of the thread.
+     *
+     * @param name
+     *            thread name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Set the execution state of the thread.
+     *
+     * @param state
+     *            execution state
+     */
+    public void setState(OSProcess.State state) {
+        this.state = state;
+    }
+
+    /**
+     * Set the priority of the thread.
+     *
+     * @param priority
+     *            priority
+     */
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Set the number of milliseconds the thread has executed in kernel mode.
+     *
+     * @param kernelTime
+     *            kernel time
+     */
+    public void setKernelTime(long kernelTime) {
+        this.kernelTime = kernelTime;
+    }
+
+    /**
+     * Set the number of milliseconds the thread has executed in user mode.
+     *
+     * @param userTime
+     *            user time
+     */
+    public void setUserTime(long userTime) {
+        this.userTime = userTime;
+    }
+
+    /**
+     * Set the start time of the thread.
+     *
+     * @param startTime
+     *            start time
+     */
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Set the number of milliseconds since the thread started.
+     *
+     * @param upTime
+     *            up time
+     */
+    public void setUpTime(long upTime) {
+        this.upTime = upTime;
+    }
+
+    /**
+     * Set the number of voluntary context switches.
+     *
+     * @param voluntaryContextSwitches
+     *            voluntary context switches
+     */
+    public void setVoluntaryContextSwitches(long voluntaryContextSwitches) {
+        this.voluntaryContextSwitches = voluntaryContextSwitches;
+    }
+
+    /**
+     * Set the number of involuntary context switches.
+     *
+     * @param involuntaryContextSwitches
+     *            involuntary context switches
+     */
+    public void setInvoluntaryContextSwitches(long involuntaryContextSwitches) {
+        this.involuntaryContextSwitches = involuntaryContextSwitches;
+    }
+
+    /**
+     * Set the CPU usage of the thread over the most recent interval.
+     *
+     * @param recentCpuLoad
+     *            CPU usage, where 1.0 is one logical processor fully used
+     */
+    public void setRecentCpuLoad(double recentCpuLoad) {
+        this.recentCpuLoad = recentCpuLoad;
+    }
+}
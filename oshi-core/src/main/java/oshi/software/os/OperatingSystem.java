@@ -19,6 +19,7 @@
 package oshi.software.os;
 
 import java.io.Serializable;
+import java.util.Set;
 
 /**
  * An operating system (OS) is the software on a computer that manages the way
@@ -30,10 +31,27 @@ import java.io.Serializable;
 public interface OperatingSystem extends Serializable {
 
     /**
-     * Controls sorting of Process output
+     * Controls sorting of Process output. {@link #CPU} sorts by average CPU
+     * usage over each process's lifetime; {@link #RECENT_CPU} sorts by CPU usage
+     * since the previous {@link #RECENT_CPU} sort on the same
+     * {@link OperatingSystem} object, as top does. Similarly
+     * {@link #READ_RATE}, {@link #WRITE_RATE} and {@link #IO_RATE} sort by bytes
+     * read, written, or both per second since the previous sort by any of
+     * them, as iotop does.
      */
     enum ProcessSort {
-        CPU, MEMORY, OLDEST, NEWEST, PID, PARENTPID, NAME
+        CPU, MEMORY, OLDEST, NEWEST, PID, PARENTPID, NAME, RECENT_CPU, READ_RATE, WRITE_RATE, IO_RATE
+    }
+
+    /**
+     * Identifies the values of an {@link OSProcess} which may be requested from
+     * {@link OperatingSystem#getProcesses(int, ProcessSort, Set)}. The process
+     * ID is always collected.
+     */
+    enum ProcessField {
+        NAME, PATH, COMMAND_LINE, CURRENT_WORKING_DIRECTORY, USER, USER_ID, GROUP, GROUP_ID, STATE,
+        PARENT_PROCESS_ID, THREAD_COUNT, PRIORITY, VIRTUAL_SIZE, RESIDENT_SET_SIZE, KERNEL_TIME, USER_TIME,
+        START_TIME, UP_TIME, BYTES_READ, BYTES_WRITTEN, CONTROL_GROUP
     }
 
     /**
@@ -82,6 +100,49 @@ public interface OperatingSystem extends Serializable {
      */
     OSProcess[] getProcesses(int limit, ProcessSort sort);
 
+    /**
+     * Gets currently running processes, collecting only the requested values
+     * where the platform can avoid the cost of collecting the others. Values
+     * which were not collected are identified by
+     * {@link OSProcess#isCollected(ProcessField)}; the values needed for the
+     * requested sort are always collected.
+     *
+     * On Linux, the values read from /proc/[pid]/stat (name, state, parent
+     * process ID, thread count, priority, sizes, times) are always collected,
+     * and requesting only those reads a single file per process. The control
+     * group is only collected if requested, even when collecting all values,
+     * and is otherwise read the first time it is needed. Other
+     * platforms may collect all values.
+     *
+     * @param limit
+     *            Max number of results to return, or 0 to return all results
+     * @param sort
+     *            If not null, determines sorting of results
+     * @param fields
+     *            The values to collect, or null to collect all values
+     * @return An array of {@link oshi.software.os.OSProcess} objects for the
+     *         specified number (or all) of currently running processes, sorted
+     *         as specified.
+     */
+    OSProcess[] getProcesses(int limit, ProcessSort sort, Set<ProcessField> fields);
+
+    /**
+     * Gets currently running processes which match a filter. Where the
+     * platform supports it, each criterion is checked as soon as the values it
+     * needs are read, so processes which do not match are not fully read.
+     *
+     * @param filter
+     *            The processes to include, or null to include all processes
+     * @param limit
+     *            Max number of results to return, or 0 to return all results
+     * @param sort
+     *            If not null, determines sorting of results
+     * @return An array of {@link oshi.software.os.OSProcess} objects for the
+     *         specified number (or all) of currently running processes which
+     *         match the filter, sorted as specified.
+     */
+    OSProcess[] getProcesses(ProcessFilter filter, int limit, ProcessSort sort);
+
     /**
      * Gets information on a currently running process
      *
@@ -92,6 +153,100 @@ public interface OperatingSystem extends Serializable {
      */
     OSProcess getProcess(int pid);
 
+    /**
+     * Instantiates a {@link ProcessTable} object, which tracks the running
+     * processes across repeated refreshes.
+     *
+     * @return A {@link ProcessTable} object, which has not yet been refreshed.
+     */
+    ProcessTable getProcessTable();
+
+    /**
+     * Scans the running processes once and indexes them by parent process
+     * ID. The processes include at least their name, parent process ID,
+     * resident set size, kernel and user time, and bytes read and written.
+     *
+     * @return A {@link ProcessTree} of the currently running processes
+     */
+    ProcessTree getProcessTree();
+
+    /**
+     * Instantiates a {@link ControlGroupTree} object, which reads the control
+     * groups (cgroups) of the system and their resource use across repeated
+     * refreshes.
+     *
+     * Currently only implemented on Linux; other platforms return a tree with
+     * no groups.
+     *
+     * @return A {@link ControlGroupTree} object, which has not yet been
+     *         refreshed.
+     */
+    ControlGroupTree getControlGroupTree();
+
+    /**
+     * Gets a breakdown of the memory used by a process, including its
+     * proportional and unique set sizes. This may be expensive for processes
+     * with many memory mappings.
+     *
+     * Currently only implemented on Linux, where the values are read from
+     * /proc/[pid]/smaps_rollup or /proc/[pid]/smaps, which are only readable
+     * for processes of the same user unless running as root.
+     *
+     * @param pid
+     *            A process ID
+     * @return The memory breakdown, or null if it is not available
+     */
+    OSProcessMemory getProcessMemory(int pid);
+
+    /**
+     * Gets a breakdown of the memory used by the processes with the largest
+     * resident set sizes, in descending order of resident set size. As the
+     * breakdown may be expensive to read, both the number of processes and the
+     * time spent may be limited.
+     *
+     * @param limit
+     *            Max number of processes to read, or 0 to read all
+     * @param budgetMillis
+     *            If positive, no further processes are read once this many
+     *            milliseconds have elapsed
+     * @return An array of memory breakdowns for those processes for which it is
+     *         available
+     */
+    OSProcessMemory[] getProcessMemory(int limit, long budgetMillis);
+
+    /**
+     * Gets the open file descriptors of a process, counted by type, and its
+     * limit on open file descriptors. Counting by type inspects each
+     * descriptor, which for processes with very many descriptors may be
+     * expensive; counting only the total avoids this.
+     *
+     * Currently only implemented on Linux, where the descriptors are listed
+     * from /proc/[pid]/fd, which is only readable for processes of the same
+     * user unless running as root.
+     *
+     * @param pid
+     *            A process ID
+     * @param countOnly
+     *            If true, only count the total number of descriptors
+     * @return The file descriptors, or null if they are not available
+     */
+    OSProcessFileDescriptors getProcessFileDescriptors(int pid, boolean countOnly);
+
+    /**
+     * Gets the threads of a process. Each thread's
+     * {@link OSThread#getRecentCpuLoad()} is its CPU usage since the threads
+     * of its process were previously listed by this object.
+     *
+     * Currently only implemented on Linux; other platforms return an empty
+     * array.
+     *
+     * @param pid
+     *            A process ID
+     * @return An array of {@link OSThread} objects in thread ID order; empty
+     *         if the process is not running or threads are not supported
+     */
+    OSThread[] getThreads(int pid);
+
     /**
      * Gets the current process ID
      *
@@ -0,0 +1,187 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Criteria for selecting processes in
+ * {@link OperatingSystem#getProcesses(ProcessFilter, int, OperatingSystem.ProcessSort)}.
+ * A process matches if it satisfies every criterion which is set; a criterion
+ * with several values is satisfied by any of them.
+ *
+ * Criteria are grouped by the data they need so that platforms can check them
+ * in stages as a process is read, and skip reading the rest of a process which
+ * does not match. On Linux, the name, state and parent process ID criteria are
+ * checked after reading /proc/[pid]/stat, and the user criteria after reading
+ * the process owner, before any other files are read.
+ */
+public class ProcessFilter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Set<String> names;
+    private Set<OSProcess.State> states;
+    private Set<Integer> parentProcessIDs;
+    private Set<String> users;
+    private Set<String> userIDs;
+
+    /**
+     * Set the process names to match
+     *
+     * @param names
+     *            Process names, matched exactly as returned by
+     *            {@link OSProcess#getName()}
+     */
+    public void setNames(String... names) {
+        this.names = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+    }
+
+    /**
+     * Set the process states to match
+     *
+     * @param states
+     *            Process states
+     */
+    public void setStates(OSProcess.State... states) {
+        Set<OSProcess.State> set = EnumSet.noneOf(OSProcess.State.class);
+        set.addAll(Arrays.asList(states));
+        this.states = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Set the parent process IDs to match
+     *
+     * @param parentProcessIDs
+     *            Parent process IDs
+     */
+    public void setParentProcessIDs(int... parentProcessIDs) {
+        Set<Integer> set = new HashSet<>();
+        for (int ppid : parentProcessIDs) {
+            set.add(ppid);
+        }
+        this.parentProcessIDs = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Set the user names to match
+     *
+     * @param users
+     *            User names, matched exactly as returned by
+     *            {@link OSProcess#getUser()}
+     */
+    public void setUsers(String... users) {
+        this.users = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(users)));
+    }
+
+    /**
+     * Set the user IDs to match
+     *
+     * @param userIDs
+     *            User IDs, matched exactly as returned by
+     *            {@link OSProcess#getUserID()}
+     */
+    public void setUserIDs(String... userIDs) {
+        this.userIDs = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(userIDs)));
+    }
+
+    /**
+     * @return The process names to match, or null to match any
+     */
+    public Set<String> getNames() {
+        return this.names;
+    }
+
+    /**
+     * @return The process states to match, or null to match any
+     */
+    public Set<OSProcess.State> getStates() {
+        return this.states;
+    }
+
+    /**
+     * @return The parent process IDs to match, or null to match any
+     */
+    public Set<Integer> getParentProcessIDs() {
+        return this.parentProcessIDs;
+    }
+
+    /**
+     * @return The user names to match, or null to match any
+     */
+    public Set<String> getUsers() {
+        return this.users;
+    }
+
+    /**
+     * @return The user IDs to match, or null to match any
+     */
+    public Set<String> getUserIDs() {
+        return this.userIDs;
+    }
+
+    /**
+     * Checks the criteria which need only the name, state and parent process
+     * ID of a process
+     *
+     * @param proc
+     *            A process with at least those values populated
+     * @return false if the process does not match
+     */
+    public boolean matchesBasic(OSProcess proc) {
+        return (this.names == null || this.names.contains(proc.getName()))
+                && (this.states == null || this.states.contains(proc.getState()))
+                && (this.parentProcessIDs == null || this.parentProcessIDs.contains(proc.getParentProcessID()));
+    }
+
+    /**
+     * @return true if any criteria need the user or user ID of a process
+     */
+    public boolean hasOwnerCriteria() {
+        return this.users != null || this.userIDs != null;
+    }
+
+    /**
+     * Checks the criteria which need the user or user ID of a process
+     *
+     * @param proc
+     *            A process with at least those values populated
+     * @return false if the process does not match
+     */
+    public boolean matchesOwner(OSProcess proc) {
+        return (this.users == null || this.users.contains(proc.getUser()))
+                && (this.userIDs == null || this.userIDs.contains(proc.getUserID()));
+    }
+
+    /**
+     * Checks all criteria
+     *
+     * @param proc
+     *            A process
+     * @return true if the process matches
+     */
+    public boolean matches(OSProcess proc) {
+        return matchesBasic(proc) && matchesOwner(proc);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+
+/**
+ * A process table is a stateful view of the running processes, intended for
+ * repeated polling. Each {@link #refresh()} compares the current processes
+ * with those seen on the previous refresh, identifying each process by its
+ * process ID and start time so that a reused process ID is reported as one
+ * process exiting and another starting.
+ *
+ * Where the platform supports it, processes which were already present are
+ * updated by re-reading only the values which change while a process runs
+ * (state, CPU time, memory, I/O, etc.) and keeping the values which do not
+ * (path, command line, user, etc.), so that the cost of a refresh depends
+ * mostly on how many processes started since the previous refresh.
+ */
+public interface ProcessTable extends Serializable {
+
+    /**
+     * Updates the table with the currently running processes, and updates the
+     * lists of started, exited, and changed processes relative to the
+     * previous refresh. On the first refresh all processes are reported as
+     * started.
+     */
+    void refresh();
+
+    /**
+     * Gets the processes running as of the most recent refresh
+     *
+     * @return An array of {@link OSProcess} objects in process ID order; empty
+     *         if the table has not been refreshed
+     */
+    OSProcess[] getProcesses();
+
+    /**
+     * Gets the processes which started between the two most recent refreshes
+     *
+     * @return An array of {@link OSProcess} objects in process ID order
+     */
+    OSProcess[] getStartedProcesses();
+
+    /**
+     * Gets the processes which exited between the two most recent refreshes
+     *
+     * @return An array of {@link OSProcess} objects, as of the last refresh on
+     *         which they were running, in process ID order
+     */
+    OSProcess[] getExitedProcesses();
+
+    /**
+     * Gets the processes which were running on both of the two most recent
+     * refreshes and for which any of the state, parent process ID, thread
+     * count, priority, virtual or resident size, kernel or user time, or bytes
+     * read or written changed
+     *
+     * @return An array of {@link OSProcess} objects, as of the most recent
+     *         refresh, in process ID order
+     */
+    OSProcess[] getChangedProcesses();
+}
@@ -0,0 +1,271 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of processes by their parent process ID, built once from a list of
+ * processes, answering descendant and ancestor queries and subtree totals in
+ * time proportional to the size of the result rather than the number of
+ * processes.
+ *
+ * Processes whose parent is not in the list (such as the init process, or a
+ * process whose parent exited) are roots. As the processes are not all read at
+ * the same instant, a process ID reused during the scan could appear to create
+ * a cycle; each query visits each process at most once.
+ */
+public class ProcessTree implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final OSProcess[] EMPTY = new OSProcess[0];
+
+    private final Map<Integer, OSProcess> processes = new HashMap<>();
+
+    private final Map<Integer, List<OSProcess>> children = new HashMap<>();
+
+    private final List<OSProcess> roots = new ArrayList<>();
+
+    /**
+     * Builds the index
+     *
+     * @param procs
+     *            The processes to index
+     */
+    public ProcessTree(OSProcess[] procs) {
+        for (OSProcess proc : procs) {
+            this.processes.put(proc.getProcessID(), proc);
+        }
+        for (OSProcess proc : procs) {
+            int ppid = proc.getParentProcessID();
+            if (ppid == proc.getProcessID() || !this.processes.containsKey(ppid)) {
+                this.roots.add(proc);
+            } else {
+                List<OSProcess> siblings = this.children.get(ppid);
+                if (siblings == null) {
+                    siblings = new ArrayList<>();
+                    this.children.put(ppid, siblings);
+                }
+                siblings.add(proc);
+            }
+        }
+    }
+
+    /**
+     * Gets a process from the index
+     *
+     * @param pid
+     *            A process ID
+     * @return The process, or null if it is not in the index
+     */
+    public OSProcess getProcess(int pid) {
+        return this.processes.get(pid);
+    }
+
+    /**
+     * Gets the number of processes in the index
+     *
+     * @return The number of processes
+     */
+    public int size() {
+        return this.processes.size();
+    }
+
+    /**
+     * Gets the processes whose parent is not in the index
+     *
+     * @return An array of {@link OSProcess} objects
+     */
+    public OSProcess[] getRoots() {
+        return this.roots.toArray(EMPTY);
+    }
+
+    /**
+     * Gets the direct children of a process
+     *
+     * @param pid
+     *            A process ID
+     * @return An array of {@link OSProcess} objects; empty if the process has
+     *         no children or is not in the index
+     */
+    public OSProcess[] getChildren(int pid) {
+        List<OSProcess> list = this.children.get(pid);
+        return list == null ? EMPTY : list.toArray(EMPTY);
+    }
+
+    /**
+     * Gets all descendants of a process: its children, their children, and
+     * so on
+     *
+     * @param pid
+     *            A process ID
+     * @return An array of {@link OSProcess} objects in breadth-first order,
+     *         not including the process itself; empty if the process has no
+     *         children or is not in the index
+     */
+    public OSProcess[] getDescendants(int pid) {
+        List<OSProcess> descendants = getSubtree(pid);
+        if (descendants.isEmpty()) {
+            return EMPTY;
+        }
+        return descendants.subList(1, descendants.size()).toArray(EMPTY);
+    }
+
+    /**
+     * Gets the ancestors of a process: its parent, its parent's parent, and so
+     * on
+     *
+     * @param pid
+     *            A process ID
+     * @return An array of {@link OSProcess} objects starting with the parent
+     *         and ending with a root; empty if the process is a root or is not
+     *         in the index
+     */
+    public OSProcess[] getAncestors(int pid) {
+        OSProcess proc = this.processes.get(pid);
+        if (proc == null) {
+            return EMPTY;
+        }
+        List<OSProcess> ancestors = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        visited.add(pid);
+        OSProcess parent = this.processes.get(proc.getParentProcessID());
+        while (parent != null && visited.add(parent.getProcessID())) {
+            ancestors.add(parent);
+            parent = this.processes.get(parent.getParentProcessID());
+        }
+        return ancestors.toArray(EMPTY);
+    }
+
+    /**
+     * Gets the total resource use of a process and all its descendants
+     *
+     * @param pid
+     *            A process ID
+     * @return The totals; zero if the process is not in the index
+     */
+    public Totals getSubtreeTotals(int pid) {
+        Totals totals = new Totals();
+        for (OSProcess proc : getSubtree(pid)) {
+            totals.processCount++;
+            totals.residentSetSize += proc.getResidentSetSize();
+            totals.kernelTime += proc.getKernelTime();
+            totals.userTime += proc.getUserTime();
+            totals.bytesRead += proc.getBytesRead();
+            totals.bytesWritten += proc.getBytesWritten();
+        }
+        return totals;
+    }
+
+    /**
+     * Lists a process and its descendants in breadth-first order
+     */
+    private List<OSProcess> getSubtree(int pid) {
+        OSProcess proc = this.processes.get(pid);
+        if (proc == null) {
+            return Collections.emptyList();
+        }
+        List<OSProcess> subtree = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        Deque<OSProcess> queue = new ArrayDeque<>();
+        queue.add(proc);
+        visited.add(pid);
+        while (!queue.isEmpty()) {
+            OSProcess next = queue.poll();
+            subtree.add(next);
+            List<OSProcess> list = this.children.get(next.getProcessID());
+            if (list != null) {
+                for (OSProcess child : list) {
+                    if (visited.add(child.getProcessID())) {
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * Resource use summed over a process and its descendants
+     */
+    public static class Totals implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int processCount;
+        private long residentSetSize;
+        private long kernelTime;
+        private long userTime;
+        private long bytesRead;
+        private long bytesWritten;
+
+        /**
+         * @return Returns the number of processes in the subtree.
+         */
+        public int getProcessCount() {
+            return this.processCount;
+        }
+
+        /**
+         * @return Returns the total resident set size, in bytes. Memory
+         *         shared between processes is counted once per process.
+         */
+        public long getResidentSetSize() {
+            return this.residentSetSize;
+        }
+
+        /**
+         * @return Returns the total milliseconds executed in kernel mode.
+         */
+        public long getKernelTime() {
+            return this.kernelTime;
+        }
+
+        /**
+         * @return Returns the total milliseconds executed in user mode.
+         */
+        public long getUserTime() {
+            return this.userTime;
+        }
+
+        /**
+         * @return Returns the total bytes read from disk.
+         */
+        public long getBytesRead() {
+            return this.bytesRead;
+        }
+
+        /**
+         * @return Returns the total bytes written to disk.
+         */
+        public long getBytesWritten() {
+            return this.bytesWritten;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Platform;
+import com.sun.jna.Pointer;
+
+import oshi.software.os.OSProcessFileDescriptors;
+import oshi.util.FileUtil;
+import oshi.util.ParseUtil;
+
+/**
+ * Counts the open file descriptors of a process from /proc/[pid]/fd, and
+ * reads its limit from /proc/[pid]/limits. The directory is iterated as a
+ * stream, so processes with hundreds of thousands of descriptors are never
+ * listed into an array. To classify a descriptor only the start of its link
+ * target (e.g., "socket:[1234]") is needed, so each link is read with
+ * readlink() into a small native buffer reused for every descriptor, rather
+ * than resolving each target into a String. If the C library cannot be
+ * registered, links are read with {@link Files#readSymbolicLink(Path)}.
+ *
+ * A reader is not thread safe; use {@link #get()} for a reader confined to the
+ * current thread.
+ */
+final class FdReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FdReader.class);
+
+    private static final String MAX_OPEN_FILES = "Max open files";
+
+    /*
+     * Descriptor types, and the link target prefixes identifying them
+     */
+    static final int FILE = 0;
+    static final int SOCKET = 1;
+    static final int PIPE = 2;
+    static final int ANON_INODE = 3;
+    static final int OTHER = 4;
+
+    private static final byte[] SOCKET_PREFIX = "socket:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PIPE_PREFIX = "pipe:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ANON_INODE_PREFIX = "anon_inode:".getBytes(StandardCharsets.US_ASCII);
+
+    // Longest link path, "/proc/[pid]/fd/[fd]" plus null, with room to spare
+    private static final int PATH_SIZE = 64;
+
+    // Bytes of each link target read; enough for the longest prefix
+    private static final int TARGET_SIZE = 16;
+
+    private static final NativeLong TARGET_SIZE_NL = new NativeLong(TARGET_SIZE);
+
+    private static final ThreadLocal<FdReader> READERS = new ThreadLocal<FdReader>() {
+        @Override
+        protected FdReader initialValue() {
+            return new FdReader();
+        }
+    };
+
+    // Link path followed by link target; null without the direct mapping
+    private final Memory buffer = Direct.AVAILABLE ? new Memory(PATH_SIZE + TARGET_SIZE) : null;
+
+    private final Pointer targetPointer = Direct.AVAILABLE ? this.buffer.share(PATH_SIZE) : null;
+
+    private final byte[] target = new byte[TARGET_SIZE];
+
+    // Bytes of the descriptor file name being written to the buffer
+    private final byte[] name = new byte[PATH_SIZE];
+
+    /**
+     * Direct mapping of readlink(), which is called once per descriptor, as
+     * the proxy of an interface mapping costs more per call than reading a
+     * /proc link
+     */
+    private static final class Direct {
+        // Whether the native method was registered
+        static final boolean AVAILABLE = register();
+
+        private Direct() {
+        }
+
+        private static boolean register() {
+            try {
+                Native.register(Direct.class, Platform.C_LIBRARY_NAME);
+                return true;
+            } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+                LOG.debug("Unable to register readlink, reading links as Paths. {}", e);
+                return false;
+            }
+        }
+
+        static native int readlink(Pointer path, Pointer buf, NativeLong bufsiz);
+    }
+
+    private FdReader() {
+    }
+
+    /**
+     * Gets the reader for the current thread
+     *
+     * @return A reader which is only used by the current thread
+     */
+    static FdReader get() {
+        return READERS.get();
+    }
+
+    /**
+     * Counts the open file descriptors of a process and reads its limits
+     *
+     * @param pid
+     *            A process ID
+     * @param countOnly
+     *            If true, only the total is counted, without reading each
+     *            descriptor's link
+     * @return The descriptors, or null if they could not be listed (e.g., the
+     *         process exited or belongs to another user)
+     */
+    OSProcessFileDescriptors read(int pid, boolean countOnly) {
+        String dir = "/proc/" + pid + "/fd";
+        long[] counts = new long[OTHER + 1];
+        long open = 0L;
+        boolean direct = !countOnly && Direct.AVAILABLE;
+        int prefix = direct ? putAscii(0, dir + '/') : 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(dir))) {
+            for (Path entry : stream) {
+                open++;
+                if (direct) {
+                    counts[readType(prefix, entry.getFileName().toString())]++;
+                } else if (!countOnly) {
+                    counts[readType(entry)]++;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOG.trace("Unable to list {}. {}", dir, e);
+            return null;
+        }
+        OSProcessFileDescriptors fds = new OSProcessFileDescriptors();
+        fds.setProcessID(pid);
+        fds.setOpenCount(open);
+        if (!countOnly) {
+            fds.setTypesCounted(true);
+            fds.setFileCount(counts[FILE]);
+            fds.setSocketCount(counts[SOCKET]);
+            fds.setPipeCount(counts[PIPE]);
+            fds.setAnonInodeCount(counts[ANON_INODE]);
+            fds.setOtherCount(counts[OTHER]);
+        }
+        readLimits("/proc/" + pid + "/limits", fds);
+        return fds;
+    }
+
+    /**
+     * Reads the link of a descriptor and classifies its target
+     *
+     * @param prefix
+     *            Length of the directory path already in the buffer
+     * @param fd
+     *            The descriptor's file name
+     * @return The descriptor type
+     */
+    private int readType(int prefix, String fd) {
+        int end = putAscii(prefix, fd);
+        if (end >= PATH_SIZE) {
+            return OTHER;
+        }
+        this.buffer.setByte(end, (byte) 0);
+        int length = Direct.readlink(this.buffer, this.targetPointer, TARGET_SIZE_NL);
+        if (length <= 0) {
+            // Closed since the directory was read
+            return OTHER;
+        }
+        this.buffer.read(PATH_SIZE, this.target, 0, length);
+        return classify(this.target, length);
+    }
+
+    /**
+     * Reads the link of a descriptor without the direct mapping and classifies
+     * its target
+     *
+     * @param link
+     *            The descriptor's link
+     * @return The descriptor type
+     */
+    static int readType(Path link) {
+        byte[] bytes;
+        try {
+            bytes = Files.readSymbolicLink(link).toString().getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Closed since the directory was read
+            return OTHER;
+        }
+        return classify(bytes, bytes.length);
+    }
+
+    /**
+     * Classifies a descriptor by the start of its link target
+     *
+     * @param target
+     *            The link target, possibly truncated
+     * @param length
+     *            Number of bytes of the target
+     * @return The descriptor type
+     */
+    static int classify(byte[] target, int length) {
+        if (length > 0 && target[0] == '/') {
+            return FILE;
+        }
+        if (startsWith(target, length, SOCKET_PREFIX)) {
+            return SOCKET;
+        }
+        if (startsWith(target, length, PIPE_PREFIX)) {
+            return PIPE;
+        }
+        if (startsWith(target, length, ANON_INODE_PREFIX)) {
+            return ANON_INODE;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Reads the soft and hard limits on open files from a file in
+     * /proc/[pid]/limits format
+     *
+     * @param path
+     *            The file to read
+     * @param fds
+     *            Object to store the limits in, unchanged if not found
+     */
+    static void readLimits(String path, OSProcessFileDescriptors fds) {
+        List<String> lines = FileUtil.readFile(path, false);
+        for (String line : lines) {
+            if (line.startsWith(MAX_OPEN_FILES)) {
+                // Soft limit, hard limit, units
+                String[] split = line.substring(MAX_OPEN_FILES.length()).trim().split("\\s+");
+                if (split.length >= 2) {
+                    fds.setSoftLimit(parseLimit(split[0]));
+                    fds.setHardLimit(parseLimit(split[1]));
+                }
+                return;
+            }
+        }
+    }
+
+    private static long parseLimit(String limit) {
+        return "unlimited".equals(limit) ? -1L : ParseUtil.parseLongOrDefault(limit, -1L);
+    }
+
+    /**
+     * Writes an ASCII string to the buffer
+     *
+     * @return The offset after the string, which may exceed the path area if
+     *         the string did not fit
+     */
+    private int putAscii(int offset, String s) {
+        int length = s.length();
+        if (offset + length >= PATH_SIZE) {
+            return offset + length;
+        }
+        for (int i = 0; i < length; i++) {
+            this.name[i] = (byte) s.charAt(i);
+        }
+        this.buffer.write(offset, this.name, 0, length);
+        return offset + length;
+    }
+
+    private static boolean startsWith(byte[] target, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (target[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
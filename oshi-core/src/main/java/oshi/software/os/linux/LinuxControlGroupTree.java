@@ -0,0 +1,432 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.software.os.ControlGroup;
+import oshi.software.os.ControlGroupTree;
+import oshi.util.platform.linux.CgroupFileParser;
+import oshi.util.platform.linux.CgroupUtil;
+import oshi.util.platform.linux.ProcUtil;
+
+/**
+ * Reads the control groups under /sys/fs/cgroup. With cgroup v2 the unified
+ * hierarchy is read; with v1, the cpu, cpuacct, memory and blkio hierarchies
+ * at their conventional mount points, plus pressure from the unified
+ * hierarchy if it is also mounted (hybrid mode).
+ */
+public class LinuxControlGroupTree implements ControlGroupTree {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxControlGroupTree.class);
+
+    /*
+     * Hierarchies of cgroup v1, as bits of a mask of the hierarchies a group
+     * exists in. UNIFIED is the v2 hierarchy, alone or in hybrid mode.
+     */
+    private static final int UNIFIED = 1;
+    private static final int CPU = 1 << 1;
+    private static final int CPUACCT = 1 << 2;
+    private static final int MEMORY = 1 << 3;
+    private static final int BLKIO = 1 << 4;
+
+    private static final int VERSION = CgroupUtil.getVersion(CgroupUtil.ROOT);
+
+    // Mount point of each hierarchy read, by bit
+    private static final Map<Integer, String> HIERARCHIES = queryHierarchies();
+
+    // Hierarchies mounted at each distinct mount point, as cpu and cpuacct
+    // are usually mounted together
+    private static final Map<String, Integer> MOUNTS = queryMounts();
+
+    /*
+     * Keys of the files read
+     */
+    private static final byte[][] CPU_STAT_V2_KEYS = { CgroupFileParser.bytes("usage_usec"),
+            CgroupFileParser.bytes("user_usec"), CgroupFileParser.bytes("system_usec"),
+            CgroupFileParser.bytes("nr_throttled"), CgroupFileParser.bytes("throttled_usec") };
+    private static final byte[][] CPU_STAT_V1_KEYS = { CgroupFileParser.bytes("nr_throttled"),
+            CgroupFileParser.bytes("throttled_time") };
+    private static final byte[][] CPUACCT_STAT_KEYS = { CgroupFileParser.bytes("user"),
+            CgroupFileParser.bytes("system") };
+    private static final byte[][] MEMORY_STAT_V2_KEYS = { CgroupFileParser.bytes("anon"),
+            CgroupFileParser.bytes("file") };
+    private static final byte[][] MEMORY_STAT_V1_KEYS = { CgroupFileParser.bytes("total_rss"),
+            CgroupFileParser.bytes("total_cache") };
+    private static final byte[][] IO_STAT_KEYS = { CgroupFileParser.bytes("rbytes"),
+            CgroupFileParser.bytes("wbytes"), CgroupFileParser.bytes("rios"), CgroupFileParser.bytes("wios") };
+    private static final byte[][] BLKIO_KEYS = { CgroupFileParser.bytes("Read"), CgroupFileParser.bytes("Write") };
+
+    private static final ControlGroup[] EMPTY = new ControlGroup[0];
+
+    /*
+     * Prefixes of the control files, which are named <controller>.<name>.
+     * Group names may also contain '.', e.g., systemd's user.slice.
+     */
+    private static final String[] CONTROL_FILE_PREFIXES = { "cgroup.", "cpu.", "cpuacct.", "cpuset.", "memory.",
+            "io.", "blkio.", "pids.", "hugetlb.", "rdma.", "misc.", "irq.", "devices.", "freezer.", "net_cls.",
+            "net_prio.", "perf_event." };
+
+    /*
+     * Skips the control files by name, so that only the other entries are
+     * checked for being directories
+     */
+    private static final DirectoryStream.Filter<Path> NOT_CONTROL_FILE = new DirectoryStream.Filter<Path>() {
+        @Override
+        public boolean accept(Path entry) {
+            String name = entry.getFileName().toString();
+            for (String prefix : CONTROL_FILE_PREFIXES) {
+                if (name.startsWith(prefix)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    private transient CgroupFileParser parser;
+
+    // Groups as of the latest refresh, by path, in path order
+    private Map<String, ControlGroup> groups = Collections.emptyMap();
+
+    // Children of each group with children, in path order
+    private Map<String, List<ControlGroup>> children = Collections.emptyMap();
+
+    private long refreshNanos;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void refresh() {
+        long now = System.nanoTime();
+        // Hierarchies each group exists in
+        Map<String, Integer> paths = new TreeMap<>();
+        for (Map.Entry<String, Integer> mount : MOUNTS.entrySet()) {
+            walk(mount.getKey(), "/", mount.getValue(), paths);
+        }
+        Map<String, ControlGroup> current = new TreeMap<>();
+        Map<String, List<ControlGroup>> currentChildren = new HashMap<>();
+        double seconds = (now - this.refreshNanos) / 1e9;
+        for (Map.Entry<String, Integer> entry : paths.entrySet()) {
+            String path = entry.getKey();
+            ControlGroup group = new ControlGroup();
+            group.setPath(path);
+            if (VERSION == 2) {
+                readV2(CgroupUtil.getGroupDir(CgroupUtil.ROOT, path), group);
+            } else {
+                readV1(path, entry.getValue(), group);
+            }
+            ControlGroup previous = this.groups.get(path);
+            if (previous != null && seconds > 0d) {
+                setRates(previous, group, seconds);
+            }
+            current.put(path, group);
+            if (!"/".equals(path)) {
+                String parent = path.substring(0, Math.max(1, path.lastIndexOf('/')));
+                List<ControlGroup> siblings = currentChildren.get(parent);
+                if (siblings == null) {
+                    siblings = new ArrayList<>();
+                    currentChildren.put(parent, siblings);
+                }
+                siblings.add(group);
+            }
+        }
+        this.groups = current;
+        this.children = currentChildren;
+        this.refreshNanos = now;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ControlGroup[] getGroups() {
+        return this.groups.values().toArray(new ControlGroup[this.groups.size()]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ControlGroup getGroup(String path) {
+        return this.groups.get(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ControlGroup[] getChildren(String path) {
+        List<ControlGroup> list = this.children.get(path);
+        return list == null ? EMPTY : list.toArray(new ControlGroup[list.size()]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int[] getProcessIDs(String path) {
+        for (int hierarchy : new int[] { UNIFIED, CPUACCT, MEMORY }) {
+            String root = HIERARCHIES.get(hierarchy);
+            if (root != null && (VERSION == 2 || hierarchy != UNIFIED)) {
+                String dir = CgroupUtil.getGroupDir(root, path);
+                if (new File(dir).isDirectory()) {
+                    return getParser().readIds(dir + "/cgroup.procs");
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Gets the path of the control group of a process from /proc/[pid]/cgroup:
+     * its group in the unified hierarchy with cgroup v2, or otherwise in the
+     * cpuacct hierarchy, or the memory hierarchy if cpuacct is not mounted
+     *
+     * @param pid
+     *            A process ID
+     * @return The path of the group, or an empty string if unknown
+     */
+    static String readProcessControlGroup(int pid) {
+        Map<String, String> paths = CgroupUtil.getProcessGroups(pid);
+        String[] controllers = VERSION == 2 ? new String[] { CgroupUtil.UNIFIED }
+                : new String[] { "cpuacct", "memory", CgroupUtil.UNIFIED };
+        for (String controller : controllers) {
+            String path = paths.get(controller);
+            if (path != null) {
+                return path;
+            }
+        }
+        return "";
+    }
+
+    private CgroupFileParser getParser() {
+        if (this.parser == null) {
+            this.parser = new CgroupFileParser();
+        }
+        return this.parser;
+    }
+
+    /**
+     * Reads the values of a group from the cgroup v2 files in a directory
+     */
+    private void readV2(String dir, ControlGroup group) {
+        CgroupFileParser p = getParser();
+        long[] cpu = new long[CPU_STAT_V2_KEYS.length];
+        p.readKeyed(dir + "/cpu.stat", CPU_STAT_V2_KEYS, cpu);
+        group.setCpuUsage(cpu[0]);
+        group.setCpuUser(cpu[1]);
+        group.setCpuSystem(cpu[2]);
+        group.setCpuThrottledCount(cpu[3]);
+        group.setCpuThrottledTime(cpu[4]);
+        group.setCpuQuota(p.readCpuMax(dir + "/cpu.max"));
+        group.setMemoryCurrent(p.readLong(dir + "/memory.current", 0L));
+        group.setMemoryLimit(p.readLong(dir + "/memory.max", -1L));
+        long[] memory = new long[MEMORY_STAT_V2_KEYS.length];
+        p.readKeyed(dir + "/memory.stat", MEMORY_STAT_V2_KEYS, memory);
+        group.setMemoryAnon(memory[0]);
+        group.setMemoryFile(memory[1]);
+        long[] io = new long[IO_STAT_KEYS.length];
+        p.readKeyed(dir + "/io.stat", IO_STAT_KEYS, io);
+        group.setIoBytesRead(io[0]);
+        group.setIoBytesWritten(io[1]);
+        group.setIoReads(io[2]);
+        group.setIoWrites(io[3]);
+        readPressure(dir, group);
+    }
+
+    /**
+     * Reads the values of a group from the cgroup v1 hierarchies it exists in
+     */
+    private void readV1(String path, int mask, ControlGroup group) {
+        CgroupFileParser p = getParser();
+        if ((mask & CPUACCT) != 0) {
+            String dir = CgroupUtil.getGroupDir(HIERARCHIES.get(CPUACCT), path);
+            group.setCpuUsage(p.readLong(dir + "/cpuacct.usage", 0L) / 1000L);
+            long[] ticks = new long[CPUACCT_STAT_KEYS.length];
+            p.readKeyed(dir + "/cpuacct.stat", CPUACCT_STAT_KEYS, ticks);
+            long hz = ProcUtil.getClockTicks();
+            group.setCpuUser(ticks[0] * 1_000_000L / hz);
+            group.setCpuSystem(ticks[1] * 1_000_000L / hz);
+        }
+        if ((mask & CPU) != 0) {
+            String dir = CgroupUtil.getGroupDir(HIERARCHIES.get(CPU), path);
+            long[] throttled = new long[CPU_STAT_V1_KEYS.length];
+            p.readKeyed(dir + "/cpu.stat", CPU_STAT_V1_KEYS, throttled);
+            group.setCpuThrottledCount(throttled[0]);
+            group.setCpuThrottledTime(throttled[1] / 1000L);
+            long quota = p.readLong(dir + "/cpu.cfs_quota_us", -1L);
+            long period = p.readLong(dir + "/cpu.cfs_period_us", -1L);
+            group.setCpuQuota(quota > 0L && period > 0L ? quota / (double) period : -1d);
+        }
+        if ((mask & MEMORY) != 0) {
+            String dir = CgroupUtil.getGroupDir(HIERARCHIES.get(MEMORY), path);
+            group.setMemoryCurrent(p.readLong(dir + "/memory.usage_in_bytes", 0L));
+            long limit = p.readLong(dir + "/memory.limit_in_bytes", -1L);
+            group.setMemoryLimit(limit >= CgroupUtil.UNLIMITED_MEMORY ? -1L : limit);
+            long[] memory = new long[MEMORY_STAT_V1_KEYS.length];
+            p.readKeyed(dir + "/memory.stat", MEMORY_STAT_V1_KEYS, memory);
+            group.setMemoryAnon(memory[0]);
+            group.setMemoryFile(memory[1]);
+        }
+        if ((mask & BLKIO) != 0) {
+            String dir = CgroupUtil.getGroupDir(HIERARCHIES.get(BLKIO), path);
+            long[] bytes = new long[BLKIO_KEYS.length];
+            // Recursive files (Linux 4.2+) include descendants, as v2 does
+            if (!p.readKeyed(dir + "/blkio.throttle.io_service_bytes_recursive", BLKIO_KEYS, bytes)) {
+                p.readKeyed(dir + "/blkio.throttle.io_service_bytes", BLKIO_KEYS, bytes);
+            }
+            long[] ios = new long[BLKIO_KEYS.length];
+            if (!p.readKeyed(dir + "/blkio.throttle.io_serviced_recursive", BLKIO_KEYS, ios)) {
+                p.readKeyed(dir + "/blkio.throttle.io_serviced", BLKIO_KEYS, ios);
+            }
+            group.setIoBytesRead(bytes[0]);
+            group.setIoBytesWritten(bytes[1]);
+            group.setIoReads(ios[0]);
+            group.setIoWrites(ios[1]);
+        }
+        if ((mask & UNIFIED) != 0) {
+            readPressure(CgroupUtil.getGroupDir(HIERARCHIES.get(UNIFIED), path), group);
+        }
+    }
+
+    private void readPressure(String dir, ControlGroup group) {
+        CgroupFileParser p = getParser();
+        group.setCpuPressure(toPressure(p.readPressure(dir + "/cpu.pressure")));
+        group.setMemoryPressure(toPressure(p.readPressure(dir + "/memory.pressure")));
+        group.setIoPressure(toPressure(p.readPressure(dir + "/io.pressure")));
+    }
+
+    private static ControlGroup.Pressure toPressure(double[] v) {
+        return v == null ? null
+                : new ControlGroup.Pressure(v[0], v[1], v[2], (long) v[3], v[4], v[5], v[6], (long) v[7]);
+    }
+
+    /**
+     * Sets the rates of a group from the values of the previous refresh
+     */
+    private static void setRates(ControlGroup previous, ControlGroup group, double seconds) {
+        group.setCpuUsageRate(delta(previous.getCpuUsage(), group.getCpuUsage()) / 1e6 / seconds);
+        group.setIoBytesReadRate(delta(previous.getIoBytesRead(), group.getIoBytesRead()) / seconds);
+        group.setIoBytesWrittenRate(delta(previous.getIoBytesWritten(), group.getIoBytesWritten()) / seconds);
+        group.setIoReadsRate(delta(previous.getIoReads(), group.getIoReads()) / seconds);
+        group.setIoWritesRate(delta(previous.getIoWrites(), group.getIoWrites()) / seconds);
+    }
+
+    /**
+     * Counters may go backwards if a group is removed and recreated with the
+     * same path between refreshes; this gives a zero rather than negative rate
+     */
+    private static long delta(long previous, long current) {
+        return Math.max(0L, current - previous);
+    }
+
+    /**
+     * Recursively finds the groups of a hierarchy, which are its
+     * subdirectories
+     *
+     * @param root
+     *            The mount point of the hierarchy
+     * @param path
+     *            The path of the group to start from
+     * @param hierarchy
+     *            The bits of the hierarchies mounted at the root
+     * @param paths
+     *            The hierarchies each group exists in, to add to
+     */
+    private static void walk(String root, String path, int hierarchy, Map<String, Integer> paths) {
+        Integer mask = paths.get(path);
+        paths.put(path, mask == null ? hierarchy : mask | hierarchy);
+        String prefix = "/".equals(path) ? "/" : path + '/';
+        List<String> subdirs = new ArrayList<>();
+        Path dir = Paths.get(CgroupUtil.getGroupDir(root, path));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, NOT_CONTROL_FILE)) {
+            for (Path entry : stream) {
+                if (Files.isDirectory(entry)) {
+                    subdirs.add(prefix + entry.getFileName().toString());
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            // The group was removed while walking
+            LOG.trace("Unable to list {}. {}", CgroupUtil.getGroupDir(root, path), e);
+        }
+        for (String subdir : subdirs) {
+            walk(root, subdir, hierarchy, paths);
+        }
+    }
+
+    private static Map<Integer, String> queryHierarchies() {
+        Map<Integer, String> hierarchies = new TreeMap<>();
+        if (VERSION == 2) {
+            hierarchies.put(UNIFIED, CgroupUtil.ROOT);
+        } else if (VERSION == 1) {
+            String[] names = { "unified", "cpu", "cpuacct", "memory", "blkio" };
+            int[] bits = { UNIFIED, CPU, CPUACCT, MEMORY, BLKIO };
+            for (int i = 0; i < names.length; i++) {
+                File dir = new File(CgroupUtil.ROOT, names[i]);
+                if (dir.isDirectory()) {
+                    hierarchies.put(bits[i], dir.getPath());
+                }
+            }
+        }
+        LOG.debug("cgroup version {} hierarchies: {}", VERSION, hierarchies.values());
+        return Collections.unmodifiableMap(hierarchies);
+    }
+
+    private static Map<String, Integer> queryMounts() {
+        Map<String, Integer> mounts = new TreeMap<>();
+        for (Map.Entry<Integer, String> hierarchy : HIERARCHIES.entrySet()) {
+            String mount = hierarchy.getValue();
+            try {
+                mount = new File(mount).getCanonicalPath();
+            } catch (IOException e) {
+                LOG.debug("Unable to resolve {}. {}", mount, e);
+            }
+            Integer mask = mounts.get(mount);
+            mounts.put(mount, mask == null ? hierarchy.getKey() : mask | hierarchy.getKey());
+        }
+        return Collections.unmodifiableMap(mounts);
+    }
+}
@@ -0,0 +1,305 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem.ProcessField;
+
+/**
+ * A Linux process which reads its path, command line, working directory, I/O
+ * counters, control group, user and group from /proc the first time they are
+ * requested, if they were not collected when the process was listed. Before
+ * each load the start time in /proc/[pid]/stat is compared with the start
+ * time when the process was listed, so that values are never loaded from a
+ * different process which reused the process ID.
+ */
+public class LinuxOSProcess extends OSProcess {
+
+    private static final long serialVersionUID = 1L;
+
+    // Start time when listed, identifying this process along with its pid
+    private final long handleStartTime;
+
+    // Values loaded since the process was listed
+    private final Set<ProcessField> loaded = EnumSet.noneOf(ProcessField.class);
+
+    // Values which could not be loaded because the process exited
+    private final Set<ProcessField> unavailable = EnumSet.noneOf(ProcessField.class);
+
+    // Values which may be loaded, or null for all
+    private final Set<ProcessField> loadable;
+
+    // Deserialized objects are detached from the process and never load
+    private transient boolean live = true;
+
+    LinuxOSProcess(long handleStartTime) {
+        this(handleStartTime, null);
+    }
+
+    /**
+     * @param handleStartTime
+     *            The start time of the process when listed
+     * @param loadable
+     *            The values which may be loaded if not collected, or null for
+     *            all; others which were not collected remain empty
+     */
+    LinuxOSProcess(long handleStartTime, Set<ProcessField> loadable) {
+        super();
+        this.handleStartTime = handleStartTime;
+        this.loadable = loadable;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isCollected(ProcessField field) {
+        return super.isCollected(field) || this.loaded.contains(field);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPath() {
+        load(ProcessField.PATH);
+        return super.getPath();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getCommandLine() {
+        load(ProcessField.COMMAND_LINE);
+        return super.getCommandLine();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getCurrentWorkingDirectory() {
+        load(ProcessField.CURRENT_WORKING_DIRECTORY);
+        return super.getCurrentWorkingDirectory();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getUser() {
+        load(ProcessField.USER);
+        return super.getUser();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getUserID() {
+        load(ProcessField.USER_ID);
+        return super.getUserID();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGroup() {
+        load(ProcessField.GROUP);
+        return super.getGroup();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGroupID() {
+        load(ProcessField.GROUP_ID);
+        return super.getGroupID();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBytesRead() {
+        load(ProcessField.BYTES_READ);
+        return super.getBytesRead();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBytesWritten() {
+        load(ProcessField.BYTES_WRITTEN);
+        return super.getBytesWritten();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getControlGroup() {
+        load(ProcessField.CONTROL_GROUP);
+        return super.getControlGroup();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReadCalls() {
+        load(ProcessField.BYTES_READ);
+        return super.getReadCalls();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteCalls() {
+        load(ProcessField.BYTES_WRITTEN);
+        return super.getWriteCalls();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCancelledBytesWritten() {
+        load(ProcessField.BYTES_WRITTEN);
+        return super.getCancelledBytesWritten();
+    }
+
+    /**
+     * Loads a value and any others read from the same source, if not already
+     * collected and the process is still running
+     *
+     * @param field
+     *            The value to load
+     */
+    private synchronized void load(ProcessField field) {
+        if (!this.live || isCollected(field) || this.unavailable.contains(field)
+                || this.loadable != null && !this.loadable.contains(field)) {
+            return;
+        }
+        Set<ProcessField> fields;
+        switch (field) {
+        case USER:
+        case USER_ID:
+        case GROUP:
+        case GROUP_ID:
+            fields = EnumSet.of(ProcessField.USER, ProcessField.USER_ID, ProcessField.GROUP,
+                    ProcessField.GROUP_ID);
+            break;
+        case BYTES_READ:
+        case BYTES_WRITTEN:
+            fields = EnumSet.of(ProcessField.BYTES_READ, ProcessField.BYTES_WRITTEN);
+            break;
+        default:
+            fields = EnumSet.of(field);
+            break;
+        }
+        int pid = getProcessID();
+        if (LinuxOperatingSystem.readStartTime(pid) != this.handleStartTime) {
+            this.unavailable.addAll(fields);
+            return;
+        }
+        // Read into a temporary object so nothing is kept unless the process
+        // is confirmed to be the same one afterwards
+        OSProcess read = new OSProcess();
+        switch (field) {
+        case PATH:
+            LinuxOperatingSystem.readPath(pid, read);
+            break;
+        case COMMAND_LINE:
+            LinuxOperatingSystem.readCommandLine(pid, read);
+            break;
+        case CURRENT_WORKING_DIRECTORY:
+            LinuxOperatingSystem.readCurrentWorkingDirectory(pid, read);
+            break;
+        case USER:
+        case USER_ID:
+        case GROUP:
+        case GROUP_ID:
+            LinuxOperatingSystem.readUserGroup(pid, read);
+            break;
+        case BYTES_READ:
+        case BYTES_WRITTEN:
+            LinuxOperatingSystem.readIo(pid, read);
+            break;
+        case CONTROL_GROUP:
+            LinuxOperatingSystem.readControlGroup(pid, read);
+            break;
+        default:
+            // Values from /proc/[pid]/stat are always collected
+            return;
+        }
+        if (LinuxOperatingSystem.readStartTime(pid) != this.handleStartTime) {
+            this.unavailable.addAll(fields);
+            return;
+        }
+        for (ProcessField f : fields) {
+            switch (f) {
+            case PATH:
+                setPath(read.getPath());
+                break;
+            case COMMAND_LINE:
+                setCommandLine(read.getCommandLine());
+                break;
+            case CURRENT_WORKING_DIRECTORY:
+                setCurrentWorkingDirectory(read.getCurrentWorkingDirectory());
+                break;
+            case CONTROL_GROUP:
+                setControlGroup(read.getControlGroup());
+                break;
+            case USER:
+                setUser(read.getUser());
+                break;
+            case USER_ID:
+                setUserID(read.getUserID());
+                break;
+            case GROUP:
+                setGroup(read.getGroup());
+                break;
+            case GROUP_ID:
+                setGroupID(read.getGroupID());
+                break;
+            case BYTES_READ:
+                setBytesRead(read.getBytesRead());
+                setReadCalls(read.getReadCalls());
+                break;
+            case BYTES_WRITTEN:
+                setBytesWritten(read.getBytesWritten());
+                setWriteCalls(read.getWriteCalls());
+                setCancelledBytesWritten(read.getCancelledBytesWritten());
+                break;
+            default:
+                break;
+            }
+        }
+        this.loaded.addAll(fields);
+    }
+}
@@ -21,11 +21,16 @@ package oshi.software.os.linux;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,9 +42,16 @@ import com.sun.jna.Pointer;
 import oshi.jna.platform.linux.Libc;
 import oshi.jna.platform.linux.Libc.Sysinfo;
 import oshi.software.common.AbstractOperatingSystem;
+import oshi.software.common.ProcessCpuSampler;
+import oshi.software.os.ControlGroupTree;
 import oshi.software.os.FileSystem;
 import oshi.software.os.NetworkParams;
 import oshi.software.os.OSProcess;
+import oshi.software.os.OSProcessFileDescriptors;
+import oshi.software.os.OSProcessMemory;
+import oshi.software.os.OSThread;
+import oshi.software.os.ProcessFilter;
+import oshi.software.os.ProcessTable;
 import oshi.util.ExecutingCommand;
 import oshi.util.FileUtil;
 import oshi.util.MapUtil;
@@ -68,13 +80,41 @@ public class LinuxOperatingSystem extends AbstractOperatingSystem {
     // To get the actual size in bytes we need to multiply that with page size.
     private final int memoryPageSize;
 
+    // Whether to load expensive process values on demand
+    private volatile boolean lazyProcessLoading = false;
+
+    // Reads processes, possibly in parallel
+    private final LinuxProcessScanner processScanner = new LinuxProcessScanner();
+
+    // Process values read from /proc/[pid]/stat, which is always read
+    private static final Set<ProcessField> STAT_FIELDS = EnumSet.of(ProcessField.NAME, ProcessField.STATE,
+            ProcessField.PARENT_PROCESS_ID, ProcessField.THREAD_COUNT, ProcessField.PRIORITY,
+            ProcessField.VIRTUAL_SIZE, ProcessField.RESIDENT_SET_SIZE, ProcessField.KERNEL_TIME,
+            ProcessField.USER_TIME, ProcessField.START_TIME, ProcessField.UP_TIME);
+
+    // Process values read from the owner of /proc/[pid]
+    private static final Set<ProcessField> OWNER_FIELDS = EnumSet.of(ProcessField.USER, ProcessField.USER_ID,
+            ProcessField.GROUP, ProcessField.GROUP_ID);
+
+    // Process values read from /proc/[pid]/io
+    private static final Set<ProcessField> IO_FIELDS = EnumSet.of(ProcessField.BYTES_READ,
+            ProcessField.BYTES_WRITTEN);
+
+    // Process values collected unless only some are requested: all except the
+    // control group, which is loaded on demand as few callers need it
+    static final Set<ProcessField> DEFAULT_FIELDS = Collections
+            .unmodifiableSet(EnumSet.complementOf(EnumSet.of(ProcessField.CONTROL_GROUP)));
+
+    // Previous CPU times of threads listed by getThreads()
+    private final ProcessCpuSampler threadCpuSampler = new ProcessCpuSampler();
+
+    // Resolves user and group IDs to names, shared by all instances
+    private static final LinuxUserGroupInfo USER_GROUP_INFO = new LinuxUserGroupInfo();
+
     // Jiffies per second, used for process time counters.
-    private static long hz = 1000L;
+    private static final long hz = ProcUtil.getClockTicks();
     // Boot time in MS
-    private static long bootTime = 0L;
-    static {
-        init();
-    }
+    private static final long bootTime = queryBootTime();
 
     public LinuxOperatingSystem() {
         this.manufacturer = "GNU/Linux";
@@ -83,85 +123,24 @@ public class LinuxOperatingSystem extends AbstractOperatingSystem {
         // to pass to version constructor
         this.version = new LinuxOSVersionInfoEx(this.versionId, this.codeName);
         this.memoryPageSize = getMemoryPageSize();
-        init();
     }
 
     /**
-     * Correlate the youngest process start time in seconds with start time in
-     * jiffies
+     * Gets the boot time from the btime line of /proc/stat, falling back to
+     * the current time less the system uptime
+     *
+     * @return Boot time in milliseconds since January 1, 1970
      */
-    private static void init() {
-        // To correlate a process start time in seconds with the same process
-        // start time in jiffies. We prefer the youngest (or close to it) which
-        // minimizes its up time (etime)
-        // Timeline:
-        // BOOT|<----jiffies---->|<----etime---->|NOW
-        // BOOT|<------------uptime------------->|NOW
-
-        // To avoid having to check all processes we can just pick the highest
-        // PID. This will either be the youngest one or at least big enough.
-
-        // Get all the pid files (guaranteed to be digit-only filenames)
-        File[] pids = ProcUtil.getPidFiles();
-        // Sort descending "numerically"
-        Arrays.sort(pids, new Comparator<File>() {
-            @Override
-            public int compare(File f1, File f2) {
-                return Integer.valueOf(f2.getName()).compareTo(Integer.valueOf(f1.getName()));
-            }
-        });
-
-        // Iterate /proc/[pid]/stat checking the creation time (field 22,
-        // jiffies since boot). Since we're working on descending PIDs, we
-        // expect the first (higher PIDs) to be younger, but may have processes
-        // that ended since we collected the files. The first time we get a
-        // value we'll save it as the youngest and quit.
-        long youngestJiffies = 0L;
-        String youngestPid = "";
-        for (File pid : pids) {
-            List<String> stat = FileUtil.readFile(String.format("/proc/%s/stat", pid.getName()), false);
-            if (!stat.isEmpty()) {
-                String[] split = ParseUtil.whitespaces.split(stat.get(0));
-                if (split.length >= 22) {
-                    youngestJiffies = ParseUtil.parseLongOrDefault(split[21], 0L);
-                    youngestPid = pid.getName();
-                    break;
+    private static long queryBootTime() {
+        for (String line : FileUtil.readFile("/proc/stat", false)) {
+            if (line.startsWith("btime ")) {
+                long btime = ParseUtil.parseLongOrDefault(line.substring(6).trim(), 0L);
+                if (btime > 0) {
+                    return btime * 1000L;
                 }
             }
         }
-        LOG.debug("Youngest PID is {} with {} jiffies", youngestPid, youngestJiffies);
-        // Shouldn't happen but avoiding Division by zero
-        if (youngestJiffies == 0) {
-            LOG.error("Couldn't find any running processes, which is odd since we are in a running process. "
-                    + "Process time values are in jiffies, not milliseconds.");
-            return;
-        }
-
-        float startTimeSecsSinceBoot = ProcUtil.getSystemUptimeFromProc();
-        bootTime = System.currentTimeMillis() - (long) (1000 * startTimeSecsSinceBoot);
-
-        // This takes advantage of the fact that ps does all the heavy lifting
-        // of sorting out HZ internally.
-        String etime = ExecutingCommand.getFirstAnswer(String.format("ps -p %s -o etimes=", youngestPid));
-        // Since we picked the youngest process, it's safe to assume an
-        // etime close to 0 in case this command fails; the longer the system
-        // has been up, the less impact this assumption will have
-        if (!etime.isEmpty()) {
-            LOG.debug("Etime is {} seconds", etime.trim());
-            startTimeSecsSinceBoot -= Float.parseFloat(etime.trim());
-        }
-        // By subtracting etime (secs) from uptime (secs) we get uptime (in
-        // secs) when the process was started. This correlates with startTime in
-        // jiffies for this process
-        LOG.debug("Start time in secs: {}", startTimeSecsSinceBoot);
-        if (startTimeSecsSinceBoot <= 0) {
-            LOG.warn("Couldn't calculate jiffies per second. "
-                    + "Process time values are in jiffies, not milliseconds.");
-            return;
-        }
-
-        // divide jiffies (since boot) by seconds (since boot)
-        hz = (long) (youngestJiffies / startTimeSecsSinceBoot + 0.5f);
+        return System.currentTimeMillis() - (long) (1000 * ProcUtil.getSystemUptimeFromProc());
     }
 
     private static int getMemoryPageSize() {
@@ -187,87 +166,598 @@ public class LinuxOperatingSystem extends AbstractOperatingSystem {
      */
     @Override
     public OSProcess[] getProcesses(int limit, ProcessSort sort) {
-        List<OSProcess> procs = new ArrayList<>();
-        File[] pids = ProcUtil.getPidFiles();
-        // now for each file (with digit name) get process info
-        for (File pid : pids) {
-            OSProcess proc = getProcess(ParseUtil.parseIntOrDefault(pid.getName(), 0));
-            if (proc != null) {
-                procs.add(proc);
-            }
+        return getProcesses(null, limit, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcess[] getProcesses(ProcessFilter filter, int limit, ProcessSort sort) {
+        return getProcesses(limit, sort, this.lazyProcessLoading ? getCollectedFields(STAT_FIELDS) : DEFAULT_FIELDS,
+                filter);
+    }
+
+    /**
+     * Gets processes, reading each in stages so that processes which do not
+     * match the filter are discarded before reading more than they need
+     *
+     * @param limit
+     *            Max number of results to return, or 0 to return all results
+     * @param sort
+     *            If not null, determines sorting of results
+     * @param fields
+     *            The values to collect, as returned by
+     *            {@link #getCollectedFields(Set)}, or null for all values
+     * @param filter
+     *            If not null, the processes to include
+     * @return The processes
+     */
+    private OSProcess[] getProcesses(int limit, ProcessSort sort, Set<ProcessField> fields,
+            final ProcessFilter filter) {
+        if (limit > 0 && sort != null) {
+            return getTopProcesses(limit, sort, fields, filter);
         }
+        Set<ProcessField> filterFields = getFilterCollectedFields(fields, filter);
+        // The I/O counters are needed for an I/O rate sort
+        final Set<ProcessField> collected = isIoRateSort(sort) ? withIoFields(filterFields) : filterFields;
+        // now for each pid get process info
+        List<OSProcess> procs = scanProcesses(new LinuxProcessScanner.PidReader() {
+            @Override
+            public OSProcess read(int pid) {
+                return getProcess(pid, null, collected, filter);
+            }
+        });
         List<OSProcess> sorted = processSort(procs, limit, sort);
         return sorted.toArray(new OSProcess[sorted.size()]);
     }
 
+    /**
+     * Reads all processes in /proc with the configured parallelism
+     *
+     * @param reader
+     *            Reads a single process
+     * @return The processes read, in /proc order
+     */
+    List<OSProcess> scanProcesses(LinuxProcessScanner.PidReader reader) {
+        return this.processScanner.scan(getPids(), reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProcessTable getProcessTable() {
+        return new LinuxProcessTable(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ControlGroupTree getControlGroupTree() {
+        return new LinuxControlGroupTree();
+    }
+
+    /**
+     * Sets the number of threads used to read processes in
+     * {@link #getProcesses(int, ProcessSort)}. Each process requires several
+     * blocking reads of /proc, so on hosts with many processes and cores a
+     * full scan completes faster when the pids are split across threads. The
+     * results, including their order, are the same for any parallelism.
+     *
+     * @param parallelism
+     *            The number of concurrent readers; 1 (the default) reads all
+     *            processes on the calling thread
+     */
+    public void setProcessScanParallelism(int parallelism) {
+        this.processScanner.setParallelism(parallelism);
+    }
+
+    /**
+     * @return The number of threads used to read processes
+     */
+    public int getProcessScanParallelism() {
+        return this.processScanner.getParallelism();
+    }
+
+    /**
+     * Sets the executor on which processes are read when the process scan
+     * parallelism is greater than one.
+     *
+     * @param executor
+     *            The executor to use, or null (the default) to use an internal
+     *            {@link java.util.concurrent.ForkJoinPool} sized to the
+     *            parallelism
+     */
+    public void setProcessScanExecutor(Executor executor) {
+        this.processScanner.setExecutor(executor);
+    }
+
+    /**
+     * Gets the ids of all processes in /proc
+     *
+     * @return An array of process IDs
+     */
+    private static int[] getPids() {
+        File[] pidFiles = ProcUtil.getPidFiles();
+        int[] pids = new int[pidFiles.length];
+        for (int i = 0; i < pidFiles.length; i++) {
+            pids[i] = ParseUtil.parseIntOrDefault(pidFiles[i].getName(), 0);
+        }
+        return pids;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public OSProcess getProcess(int pid) {
-        String[] split = FileUtil.getSplitFromFile(String.format("/proc/%d/stat", pid));
-        if (split.length < 24) {
-            return null;
+        return getProcess(pid, null, this.lazyProcessLoading ? getCollectedFields(STAT_FIELDS) : DEFAULT_FIELDS);
+    }
+
+    /**
+     * Sets whether processes are loaded lazily. When enabled, processes
+     * returned by {@link #getProcess(int)}, {@link #getProcesses(int,
+     * ProcessSort)}, and {@link #getProcesses(int, ProcessSort, Set)} are
+     * initially populated only with the values from /proc/[pid]/stat (and any
+     * requested fields). The path, command line, working directory, I/O
+     * counters, user and group are each read the first time their getter is
+     * called, and cached. If the process has exited, or its process ID now
+     * refers to a different process, these values are not loaded and remain
+     * empty.
+     *
+     * Lazily loaded I/O counters reflect the time they are loaded rather than
+     * the time the process was listed.
+     *
+     * @param lazy
+     *            Whether to load expensive process values on demand
+     */
+    public void setLazyProcessLoading(boolean lazy) {
+        this.lazyProcessLoading = lazy;
+    }
+
+    /**
+     * @return Whether expensive process values are loaded on demand
+     */
+    public boolean isLazyProcessLoading() {
+        return this.lazyProcessLoading;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcess[] getProcesses(int limit, ProcessSort sort, Set<ProcessField> fields) {
+        if (fields == null) {
+            return getProcesses(limit, sort);
         }
-        String path = "";
-        Pointer buf = new Memory(1024);
-        int size = Libc.INSTANCE.readlink(String.format("/proc/%d/exe", pid), buf, 1023);
-        if (size > 0) {
-            path = buf.getString(0).substring(0, size);
+        return getProcesses(limit, sort, getCollectedFields(fields), null);
+    }
+
+    /**
+     * Gets the top processes for a sort, reading only /proc/[pid]/stat (which
+     * contains every sort key other than the I/O rates, which also need
+     * /proc/[pid]/io) for all processes, and the remaining values only for
+     * the processes selected. Processes which exit or whose process ID is
+     * reused before their remaining values are read are omitted.
+     *
+     * @param limit
+     *            The positive number of processes to return
+     * @param sort
+     *            The sorting to use
+     * @param fields
+     *            The values to collect, as returned by
+     *            {@link #getCollectedFields(Set)}, or null for all values
+     * @param filter
+     *            If not null, the processes to include
+     * @return The selected processes, sorted
+     */
+    private OSProcess[] getTopProcesses(int limit, ProcessSort sort, Set<ProcessField> fields,
+            final ProcessFilter filter) {
+        final boolean ioRead = isIoRateSort(sort);
+        final Set<ProcessField> statFields = getFilterCollectedFields(
+                getCollectedFields(ioRead ? IO_FIELDS : Collections.<ProcessField> emptySet()), filter);
+        List<OSProcess> procs = scanProcesses(new LinuxProcessScanner.PidReader() {
+            @Override
+            public OSProcess read(int pid) {
+                return getProcess(pid, null, statFields, filter);
+            }
+        });
+        List<OSProcess> top = processSort(procs, limit, sort);
+        boolean ownerRead = filter != null && filter.hasOwnerCriteria();
+        Set<ProcessField> collected = getFilterCollectedFields(fields, filter);
+        if (ioRead) {
+            // Already read for the sort
+            collected = withIoFields(collected);
+        }
+        List<OSProcess> result = new ArrayList<>(top.size());
+        for (OSProcess proc : top) {
+            int pid = proc.getProcessID();
+            if (!ioRead && (fields == null || fields.contains(ProcessField.BYTES_READ))) {
+                readIo(pid, proc);
+            }
+            if (fields == null || fields.contains(ProcessField.CONTROL_GROUP)) {
+                readControlGroup(pid, proc);
+            }
+            readFields(pid, proc, fields, !ownerRead);
+            proc.setCollectedFields(collected);
+            if (readStartTime(pid) == proc.getStartTime()) {
+                result.add(proc);
+            }
+        }
+        return result.toArray(new OSProcess[result.size()]);
+    }
+
+    /**
+     * Adds the fields read to check a filter to the fields to collect
+     *
+     * @param fields
+     *            The values to collect, as returned by
+     *            {@link #getCollectedFields(Set)}, or null for all values
+     * @param filter
+     *            The filter, or null
+     * @return The values which will be collected
+     */
+    private static Set<ProcessField> getFilterCollectedFields(Set<ProcessField> fields, ProcessFilter filter) {
+        if (fields == null || filter == null || !filter.hasOwnerCriteria() || fields.containsAll(OWNER_FIELDS)) {
+            return fields;
+        }
+        EnumSet<ProcessField> collected = EnumSet.copyOf(fields);
+        collected.addAll(OWNER_FIELDS);
+        return Collections.unmodifiableSet(collected);
+    }
+
+    /**
+     * Adds the I/O counters to the fields to collect
+     *
+     * @param fields
+     *            The values to collect, or null for all values
+     * @return The values which will be collected
+     */
+    private static Set<ProcessField> withIoFields(Set<ProcessField> fields) {
+        if (fields == null || fields.containsAll(IO_FIELDS)) {
+            return fields;
+        }
+        EnumSet<ProcessField> collected = EnumSet.copyOf(fields);
+        collected.addAll(IO_FIELDS);
+        return Collections.unmodifiableSet(collected);
+    }
+
+    /**
+     * Expands requested fields to those which will be collected: everything
+     * in /proc/[pid]/stat, which must be read anyway, plus all fields backed
+     * by the same file or lookup as any requested field
+     *
+     * @param fields
+     *            The requested fields
+     * @return An unmodifiable set of the fields which will be collected
+     */
+    private static Set<ProcessField> getCollectedFields(Set<ProcessField> fields) {
+        EnumSet<ProcessField> collected = EnumSet.copyOf(STAT_FIELDS);
+        collected.addAll(fields);
+        if (!Collections.disjoint(fields, OWNER_FIELDS)) {
+            collected.addAll(OWNER_FIELDS);
+        }
+        if (!Collections.disjoint(fields, IO_FIELDS)) {
+            collected.addAll(IO_FIELDS);
+        }
+        return Collections.unmodifiableSet(collected);
+    }
+
+    /**
+     * Gets information on a currently running process. If the process is the
+     * same one (same start time) as a previously read object, only the values
+     * which change while a process runs are read from /proc; the path, command
+     * line, working directory, user and group are copied from the previous
+     * object.
+     *
+     * @param pid
+     *            A process ID
+     * @param previous
+     *            A previously read object for this process ID, or null
+     * @param fields
+     *            The values to collect, as returned by
+     *            {@link #getCollectedFields(Set)}, or null for all values
+     * @return An {@link OSProcess} object for the specified process id if it is
+     *         running; null otherwise
+     */
+    OSProcess getProcess(int pid, OSProcess previous, Set<ProcessField> fields) {
+        return getProcess(pid, previous, fields, null);
+    }
+
+    /**
+     * Gets information on a currently running process if it matches a filter.
+     * The filter's criteria are checked as soon as the values they need are
+     * read, so for processes which do not match, the files read after that
+     * point (io, exe, cmdline, cwd) are not read.
+     *
+     * @param pid
+     *            A process ID
+     * @param previous
+     *            A previously read object for this process ID, or null
+     * @param fields
+     *            The values to collect, including the owner fields if the
+     *            filter has owner criteria, or null for all values
+     * @param filter
+     *            The processes to include, or null for all processes
+     * @return An {@link OSProcess} object for the specified process id if it is
+     *         running and matches the filter; null otherwise
+     */
+    private OSProcess getProcess(int pid, OSProcess previous, Set<ProcessField> fields, ProcessFilter filter) {
+        ProcStatParser stat = ProcStatParser.get();
+        if (!stat.read("/proc/" + pid + "/stat")) {
+            return null;
         }
-        Map<String, String> io = FileUtil.getKeyValueMapFromFile(String.format("/proc/%d/io", pid), ":");
         long now = System.currentTimeMillis();
-        OSProcess proc = new OSProcess();
+        long startTime = getStartTime(stat);
+        OSProcess proc;
+        if (fields == null) {
+            proc = new OSProcess();
+        } else if (this.lazyProcessLoading) {
+            proc = new LinuxOSProcess(startTime);
+        } else if (!fields.contains(ProcessField.CONTROL_GROUP)) {
+            proc = new LinuxOSProcess(startTime, EnumSet.of(ProcessField.CONTROL_GROUP));
+        } else {
+            proc = new OSProcess();
+        }
         // See man proc for how to parse /proc/[pid]/stat
-        proc.setName(split[1].replaceFirst("\\(", "").replace(")", ""));
-        proc.setPath(path);
-        switch (split[2].charAt(0)) {
+        proc.setName(stat.getName());
+        proc.setState(getState(stat.getState()));
+        proc.setProcessID(pid);
+        proc.setParentProcessID((int) stat.get(ProcStatParser.PPID));
+        proc.setThreadCount((int) stat.get(ProcStatParser.NUM_THREADS));
+        proc.setPriority((int) stat.get(ProcStatParser.PRIORITY));
+        proc.setVirtualSize(stat.get(ProcStatParser.VSIZE));
+        proc.setResidentSetSize(stat.get(ProcStatParser.RSS) * this.memoryPageSize);
+        proc.setKernelTime(stat.get(ProcStatParser.STIME) * 1000L / hz);
+        proc.setUserTime(stat.get(ProcStatParser.UTIME) * 1000L / hz);
+        proc.setStartTime(startTime);
+        proc.setUpTime(now - proc.getStartTime());
+        proc.setCollectedFields(fields);
+        if (filter != null && !filter.matchesBasic(proc)) {
+            return null;
+        }
+        boolean ownerRead = false;
+        if (filter != null && filter.hasOwnerCriteria()) {
+            readUserGroup(pid, proc);
+            if (!filter.matchesOwner(proc)) {
+                return null;
+            }
+            ownerRead = true;
+        }
+        if (fields == null || fields.contains(ProcessField.BYTES_READ)) {
+            readIo(pid, proc);
+        }
+        // May change while a process runs, so never copied from previous
+        if (fields == null || fields.contains(ProcessField.CONTROL_GROUP)) {
+            readControlGroup(pid, proc);
+        }
+        if (previous != null && previous.getStartTime() == proc.getStartTime()) {
+            proc.setPath(previous.getPath());
+            proc.setUserID(previous.getUserID());
+            proc.setUser(previous.getUser());
+            proc.setGroupID(previous.getGroupID());
+            proc.setGroup(previous.getGroup());
+            proc.setCommandLine(previous.getCommandLine());
+            proc.setCurrentWorkingDirectory(previous.getCurrentWorkingDirectory());
+            return proc;
+        }
+        readFields(pid, proc, fields, !ownerRead);
+        return proc;
+    }
+
+    /**
+     * Reads the path, user and group, command line, and working directory of
+     * a process, if included in the fields to collect
+     *
+     * @param pid
+     *            A process ID
+     * @param proc
+     *            The process to populate
+     * @param fields
+     *            The values to collect, or null for all values
+     * @param owner
+     *            Whether to read the user and group; false if already read
+     */
+    private static void readFields(int pid, OSProcess proc, Set<ProcessField> fields, boolean owner) {
+        if (fields == null || fields.contains(ProcessField.PATH)) {
+            readPath(pid, proc);
+        }
+        if (owner && (fields == null || fields.contains(ProcessField.USER_ID))) {
+            readUserGroup(pid, proc);
+        }
+        if (fields == null || fields.contains(ProcessField.COMMAND_LINE)) {
+            readCommandLine(pid, proc);
+        }
+        if (fields == null || fields.contains(ProcessField.CURRENT_WORKING_DIRECTORY)) {
+            readCurrentWorkingDirectory(pid, proc);
+        }
+    }
+
+    /**
+     * Converts the state character of /proc/[pid]/stat to a state
+     *
+     * @param state
+     *            The state character
+     * @return The corresponding state
+     */
+    private static OSProcess.State getState(char state) {
+        switch (state) {
         case 'R':
-            proc.setState(OSProcess.State.RUNNING);
-            break;
+            return OSProcess.State.RUNNING;
         case 'S':
-            proc.setState(OSProcess.State.SLEEPING);
-            break;
+            return OSProcess.State.SLEEPING;
         case 'D':
-            proc.setState(OSProcess.State.WAITING);
-            break;
+            return OSProcess.State.WAITING;
         case 'Z':
-            proc.setState(OSProcess.State.ZOMBIE);
-            break;
+            return OSProcess.State.ZOMBIE;
         case 'T':
-            proc.setState(OSProcess.State.STOPPED);
-            break;
+            return OSProcess.State.STOPPED;
         default:
-            proc.setState(OSProcess.State.OTHER);
-            break;
+            return OSProcess.State.OTHER;
         }
-        proc.setProcessID(pid);
-        proc.setParentProcessID(ParseUtil.parseIntOrDefault(split[3], 0));
-        proc.setThreadCount(ParseUtil.parseIntOrDefault(split[19], 0));
-        proc.setPriority(ParseUtil.parseIntOrDefault(split[17], 0));
-        proc.setVirtualSize(ParseUtil.parseLongOrDefault(split[22], 0L));
-        proc.setResidentSetSize(ParseUtil.parseLongOrDefault(split[23], 0L) * this.memoryPageSize);
-        proc.setKernelTime(ParseUtil.parseLongOrDefault(split[14], 0L) * 1000L / hz);
-        proc.setUserTime(ParseUtil.parseLongOrDefault(split[13], 0L) * 1000L / hz);
-        proc.setStartTime(bootTime + ParseUtil.parseLongOrDefault(split[21], 0L) * 1000L / hz);
-        proc.setUpTime(now - proc.getStartTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcessMemory getProcessMemory(int pid) {
+        return SmapsReader.read(pid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSProcessFileDescriptors getProcessFileDescriptors(int pid, boolean countOnly) {
+        return FdReader.get().read(pid, countOnly);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OSThread[] getThreads(int pid) {
+        File[] tidFiles = ProcUtil.getTidFiles(pid);
+        List<OSThread> threads = new ArrayList<>(tidFiles.length);
+        long now = System.currentTimeMillis();
+        for (File tidFile : tidFiles) {
+            OSThread thread = getThread(pid, ParseUtil.parseIntOrDefault(tidFile.getName(), 0), now);
+            if (thread != null) {
+                threads.add(thread);
+            }
+        }
+        Collections.sort(threads, new Comparator<OSThread>() {
+            @Override
+            public int compare(OSThread t1, OSThread t2) {
+                return Integer.compare(t1.getThreadID(), t2.getThreadID());
+            }
+        });
+        return threads.toArray(new OSThread[threads.size()]);
+    }
+
+    /**
+     * Reads a thread from /proc/[pid]/task/[tid]
+     *
+     * @param pid
+     *            The process ID
+     * @param tid
+     *            The thread ID
+     * @param now
+     *            The current time, for calculating up time
+     * @return The thread, or null if it has exited
+     */
+    private OSThread getThread(int pid, int tid, long now) {
+        String task = "/proc/" + pid + "/task/" + tid + "/";
+        ProcStatParser stat = ProcStatParser.get();
+        if (!stat.read(task + "stat")) {
+            return null;
+        }
+        OSThread thread = new OSThread();
+        thread.setThreadID(tid);
+        thread.setProcessID(pid);
+        thread.setName(stat.getName());
+        thread.setState(getState(stat.getState()));
+        thread.setPriority((int) stat.get(ProcStatParser.PRIORITY));
+        thread.setKernelTime(stat.get(ProcStatParser.STIME) * 1000L / hz);
+        thread.setUserTime(stat.get(ProcStatParser.UTIME) * 1000L / hz);
+        thread.setStartTime(getStartTime(stat));
+        thread.setUpTime(now - thread.getStartTime());
+        Map<String, String> status = FileUtil.getKeyValueMapFromFile(task + "status", ":");
+        thread.setVoluntaryContextSwitches(
+                ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(status, "voluntary_ctxt_switches", ""), 0L));
+        thread.setInvoluntaryContextSwitches(
+                ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(status, "nonvoluntary_ctxt_switches", ""), 0L));
+        thread.setRecentCpuLoad(this.threadCpuSampler.sample(tid, thread.getStartTime(),
+                thread.getKernelTime() + thread.getUserTime(), thread.getUpTime()));
+        return thread;
+    }
+
+    /**
+     * Calculates the start time of a process from its /proc/[pid]/stat fields
+     *
+     * @param stat
+     *            The parsed contents of /proc/[pid]/stat
+     * @return The start time in milliseconds since January 1, 1970
+     */
+    private static long getStartTime(ProcStatParser stat) {
+        return bootTime + stat.get(ProcStatParser.STARTTIME) * 1000L / hz;
+    }
+
+    /**
+     * Reads the start time of a process, used to tell whether a process ID
+     * still refers to the same process
+     *
+     * @param pid
+     *            A process ID
+     * @return The start time in milliseconds since January 1, 1970, or -1 if
+     *         the process is not running
+     */
+    static long readStartTime(int pid) {
+        ProcStatParser stat = ProcStatParser.get();
+        return stat.read("/proc/" + pid + "/stat") ? getStartTime(stat) : -1L;
+    }
+
+    /**
+     * Sets the bytes read and written, read and write calls, and cancelled
+     * bytes written from /proc/[pid]/io
+     */
+    static void readIo(int pid, OSProcess proc) {
         // See man proc for how to parse /proc/[pid]/io
+        Map<String, String> io = FileUtil.getKeyValueMapFromFile(String.format("/proc/%d/io", pid), ":");
         proc.setBytesRead(ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(io, "read_bytes", ""), 0L));
         proc.setBytesWritten(ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(io, "write_bytes", ""), 0L));
-        // The stat structure on Linux does not have consistent ordering or byte
-        // size accross architectures so we are forced to use the stat command
-        List<String> stat = ExecutingCommand.runNative("stat -c %u,%U,%g,%G /proc/" + pid);
-        if (!stat.isEmpty()) {
-            split = stat.get(0).split(",");
-            if (split.length == 4) {
-                proc.setUserID(split[0]);
-                proc.setUser(split[1]);
-                proc.setGroupID(split[2]);
-                proc.setGroup(split[3]);
-            }
+        proc.setReadCalls(ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(io, "syscr", ""), 0L));
+        proc.setWriteCalls(ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(io, "syscw", ""), 0L));
+        proc.setCancelledBytesWritten(
+                ParseUtil.parseLongOrDefault(MapUtil.getOrDefault(io, "cancelled_write_bytes", ""), 0L));
+    }
+
+    /**
+     * Sets the control group from /proc/[pid]/cgroup
+     */
+    static void readControlGroup(int pid, OSProcess proc) {
+        proc.setControlGroup(LinuxControlGroupTree.readProcessControlGroup(pid));
+    }
+
+    /**
+     * Sets the path from the /proc/[pid]/exe link
+     */
+    static void readPath(int pid, OSProcess proc) {
+        Pointer buf = new Memory(1024);
+        int size = Libc.INSTANCE.readlink(String.format("/proc/%d/exe", pid), buf, 1023);
+        if (size > 0) {
+            proc.setPath(buf.getString(0).substring(0, size));
         }
+    }
+
+    /**
+     * Sets the user and group IDs and names from the owner of /proc/[pid]
+     */
+    static void readUserGroup(int pid, OSProcess proc) {
+        String[] ids = getUserGroupIds(pid);
+        if (ids.length == 2) {
+            proc.setUserID(ids[0]);
+            proc.setUser(USER_GROUP_INFO.getUser(ids[0]));
+            proc.setGroupID(ids[1]);
+            proc.setGroup(USER_GROUP_INFO.getGroupName(ids[1]));
+        }
+    }
+
+    /**
+     * Sets the command line from /proc/[pid]/cmdline
+     */
+    static void readCommandLine(int pid, OSProcess proc) {
         // THe /proc/pid/cmdline value is null-delimited
         proc.setCommandLine(FileUtil.getStringFromFile(String.format("/proc/%d/cmdline", pid)));
+    }
+
+    /**
+     * Sets the current working directory from the /proc/[pid]/cwd link
+     */
+    static void readCurrentWorkingDirectory(int pid, OSProcess proc) {
         try {
             String cwdLink = String.format("/proc/%d/cwd", pid);
             String cwd = new File(cwdLink).getCanonicalPath();
@@ -277,7 +767,40 @@ public class LinuxOperatingSystem extends AbstractOperatingSystem {
         } catch (IOException e) {
             LOG.trace("Couldn't find cwd for pid {}: {}", pid, e);
         }
-        return proc;
+    }
+
+    /**
+     * Gets the user and group ID of a process from the owner of its /proc/[pid]
+     * directory, which is the effective user and group of the process. Falls
+     * back to the effective IDs on the Uid and Gid lines of /proc/[pid]/status
+     * if file ownership is not available.
+     *
+     * @param pid
+     *            The process ID
+     * @return A two-element array of the user ID and group ID, or an empty
+     *         array if the process no longer exists
+     */
+    private static String[] getUserGroupIds(int pid) {
+        try {
+            Map<String, Object> attrs = Files.readAttributes(Paths.get(String.format("/proc/%d", pid)),
+                    "unix:uid,gid");
+            Object uid = attrs.get("uid");
+            Object gid = attrs.get("gid");
+            if (uid != null && gid != null) {
+                return new String[] { uid.toString(), gid.toString() };
+            }
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            LOG.trace("Couldn't read owner of /proc/{}: {}", pid, e);
+        }
+        // See man proc for how to parse /proc/[pid]/status. The Uid and Gid
+        // lines list real, effective, saved set, and filesystem IDs
+        Map<String, String> status = FileUtil.getKeyValueMapFromFile(String.format("/proc/%d/status", pid), ":");
+        String[] uid = ParseUtil.whitespaces.split(MapUtil.getOrDefault(status, "Uid", ""));
+        String[] gid = ParseUtil.whitespaces.split(MapUtil.getOrDefault(status, "Gid", ""));
+        if (uid.length > 1 && gid.length > 1) {
+            return new String[] { uid[1], gid[1] };
+        }
+        return new String[0];
     }
 
     /**
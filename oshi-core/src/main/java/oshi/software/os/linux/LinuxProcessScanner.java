@@ -0,0 +1,188 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.software.os.OSProcess;
+
+/**
+ * Reads a set of processes from /proc, optionally splitting the pids into
+ * chunks that are read concurrently on a caller-supplied {@link Executor} or
+ * an internal {@link ForkJoinPool}. Results are returned in the same order as
+ * the pids regardless of parallelism, with processes that terminated during
+ * the scan omitted.
+ */
+class LinuxProcessScanner implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxProcessScanner.class);
+
+    // Chunks per thread, so threads finishing early can pick up more work
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Reads a single process
+     */
+    interface PidReader {
+        /**
+         * @param pid
+         *            A process ID
+         * @return The process, or null if it should be omitted from the
+         *         results (e.g., it has terminated)
+         */
+        OSProcess read(int pid);
+    }
+
+    private volatile int parallelism = 1;
+
+    private transient volatile Executor executor;
+
+    private transient ForkJoinPool pool;
+
+    /**
+     * Sets the number of threads to read processes with. A value of 1 (the
+     * default) reads all processes on the calling thread.
+     *
+     * @param parallelism
+     *            The number of concurrent readers
+     */
+    synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (this.pool != null && parallelism != this.parallelism) {
+            this.pool.shutdown();
+            this.pool = null;
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return The number of concurrent readers
+     */
+    int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Sets the executor to read processes on when parallelism is greater than
+     * one. If null (the default), an internal {@link ForkJoinPool} with daemon
+     * threads is used.
+     *
+     * @param executor
+     *            The executor, or null
+     */
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Reads the given processes
+     *
+     * @param pids
+     *            The process IDs to read
+     * @param reader
+     *            Reads a single process
+     * @return The processes read, in pid order, omitting null results
+     */
+    List<OSProcess> scan(final int[] pids, final PidReader reader) {
+        int threads = this.parallelism;
+        if (threads <= 1 || pids.length <= 1) {
+            return read(pids, 0, pids.length, reader);
+        }
+        int chunks = Math.min(pids.length, threads * CHUNKS_PER_THREAD);
+        Executor exec = getExecutor();
+        List<FutureTask<List<OSProcess>>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            final int from = (int) ((long) pids.length * i / chunks);
+            final int to = (int) ((long) pids.length * (i + 1) / chunks);
+            FutureTask<List<OSProcess>> task = new FutureTask<>(new Callable<List<OSProcess>>() {
+                @Override
+                public List<OSProcess> call() {
+                    return read(pids, from, to, reader);
+                }
+            });
+            try {
+                exec.execute(task);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Process scan chunk rejected by executor, reading on calling thread. {}", e);
+                task.run();
+            }
+            tasks.add(task);
+        }
+        List<OSProcess> procs = new ArrayList<>(pids.length);
+        for (FutureTask<List<OSProcess>> task : tasks) {
+            try {
+                procs.addAll(task.get());
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted during process scan, returning partial results.");
+                for (FutureTask<List<OSProcess>> t : tasks) {
+                    t.cancel(false);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+        return procs;
+    }
+
+    private synchronized Executor getExecutor() {
+        Executor exec = this.executor;
+        if (exec != null) {
+            return exec;
+        }
+        if (this.pool == null) {
+            this.pool = new ForkJoinPool(this.parallelism);
+        }
+        return this.pool;
+    }
+
+    private static List<OSProcess> read(int[] pids, int from, int to, PidReader reader) {
+        List<OSProcess> procs = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            OSProcess proc = reader.read(pids[i]);
+            if (proc != null) {
+                procs.add(proc);
+            }
+        }
+        return procs;
+    }
+}
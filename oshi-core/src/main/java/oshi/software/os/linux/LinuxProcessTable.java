@@ -0,0 +1,54 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.util.Collection;
+import java.util.Map;
+
+import oshi.software.common.AbstractProcessTable;
+import oshi.software.os.OSProcess;
+
+/**
+ * A process table which re-reads only /proc/[pid]/stat and /proc/[pid]/io for
+ * processes already present on the previous refresh.
+ */
+public class LinuxProcessTable extends AbstractProcessTable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LinuxOperatingSystem os;
+
+    LinuxProcessTable(LinuxOperatingSystem os) {
+        this.os = os;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<OSProcess> collect(final Map<Integer, OSProcess> previous) {
+        return this.os.scanProcesses(new LinuxProcessScanner.PidReader() {
+            @Override
+            public OSProcess read(int pid) {
+                return LinuxProcessTable.this.os.getProcess(pid, previous.get(pid),
+                        LinuxOperatingSystem.DEFAULT_FIELDS);
+            }
+        });
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.util.ExecutingCommand;
+import oshi.util.FileUtil;
+
+/**
+ * Resolves Linux user and group IDs to names using in-memory copies of
+ * /etc/passwd and /etc/group. Each map is reloaded when the modification time
+ * of its backing file changes. IDs not present in the files (e.g., from LDAP
+ * or NIS) are looked up once with getent and cached.
+ */
+public class LinuxUserGroupInfo {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinuxUserGroupInfo.class);
+
+    private static final String PASSWD_FILE = "/etc/passwd";
+
+    private static final String GROUP_FILE = "/etc/group";
+
+    // Maps are replaced, never cleared, when their file changes so concurrent
+    // readers always see a complete map
+    private volatile Map<String, String> usersIdMap = new ConcurrentHashMap<>();
+
+    private volatile Map<String, String> groupsIdMap = new ConcurrentHashMap<>();
+
+    private volatile long passwdModified = -1L;
+
+    private volatile long groupModified = -1L;
+
+    /**
+     * Gets the user name for a user ID
+     *
+     * @param userId
+     *            a user ID
+     * @return the user name if known, otherwise the user ID
+     */
+    public String getUser(String userId) {
+        long modified = new File(PASSWD_FILE).lastModified();
+        if (modified != this.passwdModified) {
+            synchronized (this) {
+                if (modified != this.passwdModified) {
+                    this.usersIdMap = readIdMap(PASSWD_FILE);
+                    this.passwdModified = modified;
+                }
+            }
+        }
+        return getName(this.usersIdMap, userId, "passwd");
+    }
+
+    /**
+     * Gets the group name for a group ID
+     *
+     * @param groupId
+     *            a group ID
+     * @return the group name if known, otherwise the group ID
+     */
+    public String getGroupName(String groupId) {
+        long modified = new File(GROUP_FILE).lastModified();
+        if (modified != this.groupModified) {
+            synchronized (this) {
+                if (modified != this.groupModified) {
+                    this.groupsIdMap = readIdMap(GROUP_FILE);
+                    this.groupModified = modified;
+                }
+            }
+        }
+        return getName(this.groupsIdMap, groupId, "group");
+    }
+
+    /**
+     * Looks up an id in the map, falling back to a single getent call for ids
+     * not listed in the local file. The result of the fallback (or the id
+     * itself if getent fails) is cached until the file changes.
+     */
+    private static String getName(Map<String, String> idMap, String id, String database) {
+        String name = idMap.get(id);
+        if (name == null) {
+            name = id;
+            for (String entry : ExecutingCommand.runNative(String.format("getent %s %s", database, id))) {
+                String[] split = entry.split(":");
+                if (split.length > 2 && id.equals(split[2])) {
+                    name = split[0];
+                    break;
+                }
+            }
+            LOG.debug("Resolved {} id {} with getent: {}", database, id, name);
+            idMap.put(id, name);
+        }
+        return name;
+    }
+
+    /**
+     * Reads a map of id to name entries from a file in /etc/passwd or
+     * /etc/group format (name:password:id:...)
+     */
+    private static Map<String, String> readIdMap(String filename) {
+        Map<String, String> idMap = new ConcurrentHashMap<>();
+        List<String> lines = FileUtil.readFile(filename, false);
+        for (String line : lines) {
+            String[] split = line.split(":");
+            if (split.length > 2) {
+                // First entry wins, matching getpwuid/getgrgid
+                if (!idMap.containsKey(split[2])) {
+                    idMap.put(split[2], split[0]);
+                }
+            }
+        }
+        LOG.debug("Loaded {} entries from {}", idMap.size(), filename);
+        return idMap;
+    }
+}
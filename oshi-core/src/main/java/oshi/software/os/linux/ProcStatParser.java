@@ -0,0 +1,273 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses /proc/[pid]/stat and /proc/[pid]/task/[tid]/stat files into a
+ * reusable byte buffer and array of values, without creating a String for
+ * each field. The command name may contain spaces and parentheses, so it is
+ * bounded by the first '(' and the last ')' of the file.
+ *
+ * Values are stored at the indices given in man proc, less one, so that
+ * {@link #get(int)} with {@link #PPID} returns field (4). The state, field
+ * (3), is returned by {@link #getState()} and the command name, field (2), by
+ * {@link #getName()}.
+ *
+ * A parser is not thread safe; use {@link #get()} for a parser confined to the
+ * current thread.
+ */
+final class ProcStatParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcStatParser.class);
+
+    /*
+     * Indices of values used by OSHI
+     */
+    static final int PID = 0;
+    static final int PPID = 3;
+    static final int UTIME = 13;
+    static final int STIME = 14;
+    static final int PRIORITY = 17;
+    static final int NUM_THREADS = 19;
+    static final int STARTTIME = 21;
+    static final int VSIZE = 22;
+    static final int RSS = 23;
+
+    // Fields present in all supported kernels
+    private static final int MIN_FIELDS = RSS + 1;
+
+    // Fields stored; later fields are ignored
+    private static final int MAX_FIELDS = 64;
+
+    private static final ThreadLocal<ProcStatParser> PARSERS = new ThreadLocal<ProcStatParser>() {
+        @Override
+        protected ProcStatParser initialValue() {
+            return new ProcStatParser();
+        }
+    };
+
+    private byte[] buffer = new byte[1024];
+
+    private final long[] values = new long[MAX_FIELDS];
+
+    private int fieldCount;
+
+    private char state;
+
+    private int nameStart;
+
+    private int nameEnd;
+
+    private String name;
+
+    /**
+     * Gets the parser for the current thread
+     *
+     * @return A parser which is only used by the current thread
+     */
+    static ProcStatParser get() {
+        return PARSERS.get();
+    }
+
+    /**
+     * Reads and parses a stat file, replacing any previously parsed values
+     *
+     * @param path
+     *            The file to read
+     * @return true if the file was read and has at least the fields used by
+     *         OSHI; false if it could not be read (e.g., the process exited)
+     *         or is malformed
+     */
+    boolean read(String path) {
+        this.fieldCount = 0;
+        this.name = null;
+        int length = readFile(path);
+        if (length < 0) {
+            return false;
+        }
+        return parse(length);
+    }
+
+    /**
+     * Parses stat file contents already in the buffer
+     *
+     * @param length
+     *            The number of bytes in the buffer
+     * @return true if the contents have at least the fields used by OSHI
+     */
+    private boolean parse(int length) {
+        byte[] buf = this.buffer;
+        int open = -1;
+        for (int i = 0; i < length; i++) {
+            if (buf[i] == '(') {
+                open = i;
+                break;
+            }
+        }
+        int close = -1;
+        for (int i = length - 1; i > open; i--) {
+            if (buf[i] == ')') {
+                close = i;
+                break;
+            }
+        }
+        if (open < 0 || close < 0) {
+            return false;
+        }
+        this.values[PID] = parseLong(buf, 0, open);
+        this.nameStart = open + 1;
+        this.nameEnd = close;
+        this.values[1] = 0L;
+        int pos = skipSpaces(buf, close + 1, length);
+        if (pos >= length) {
+            return false;
+        }
+        this.state = (char) buf[pos];
+        this.values[2] = 0L;
+        pos++;
+        int count = 3;
+        while (count < MAX_FIELDS) {
+            pos = skipSpaces(buf, pos, length);
+            if (pos >= length) {
+                break;
+            }
+            int end = pos;
+            while (end < length && !isSpace(buf[end])) {
+                end++;
+            }
+            this.values[count++] = parseLong(buf, pos, end);
+            pos = end;
+        }
+        this.fieldCount = count;
+        return count >= MIN_FIELDS;
+    }
+
+    /**
+     * @return The number of fields parsed, including the pid, name and state
+     */
+    int getFieldCount() {
+        return this.fieldCount;
+    }
+
+    /**
+     * @param index
+     *            The man proc field number, less one
+     * @return The value of the field, or 0 if it was not present or not a
+     *         number. Unsigned values above {@link Long#MAX_VALUE} wrap to
+     *         negative values, as with
+     *         {@link oshi.util.ParseUtil#parseUnsignedLongOrDefault(String, long)}.
+     */
+    long get(int index) {
+        return index < this.fieldCount ? this.values[index] : 0L;
+    }
+
+    /**
+     * @return The state character
+     */
+    char getState() {
+        return this.state;
+    }
+
+    /**
+     * @return The command name, without the enclosing parentheses
+     */
+    String getName() {
+        if (this.name == null) {
+            this.name = new String(this.buffer, this.nameStart, this.nameEnd - this.nameStart,
+                    StandardCharsets.UTF_8);
+        }
+        return this.name;
+    }
+
+    /**
+     * Reads a file into the buffer, growing it if needed
+     *
+     * @return The number of bytes read, or -1 on failure
+     */
+    private int readFile(String path) {
+        try (InputStream in = new FileInputStream(path)) {
+            int length = 0;
+            int read;
+            while ((read = in.read(this.buffer, length, this.buffer.length - length)) >= 0) {
+                length += read;
+                if (length == this.buffer.length) {
+                    byte[] larger = new byte[this.buffer.length * 2];
+                    System.arraycopy(this.buffer, 0, larger, 0, length);
+                    this.buffer = larger;
+                }
+            }
+            return length;
+        } catch (IOException e) {
+            LOG.trace("Unable to read {}. {}", path, e);
+            return -1;
+        }
+    }
+
+    private static int skipSpaces(byte[] buf, int pos, int length) {
+        int i = pos;
+        while (i < length && isSpace(buf[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\n' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Parses a signed decimal number
+     *
+     * @return The number, or 0 if it contains any other characters
+     */
+    private static long parseLong(byte[] buf, int start, int end) {
+        int i = start;
+        while (i < end && isSpace(buf[i])) {
+            i++;
+        }
+        int last = end;
+        while (last > i && isSpace(buf[last - 1])) {
+            last--;
+        }
+        boolean negative = i < last && buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i >= last) {
+            return 0L;
+        }
+        long value = 0L;
+        for (; i < last; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return 0L;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
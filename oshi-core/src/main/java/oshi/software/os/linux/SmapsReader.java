@@ -0,0 +1,182 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import oshi.software.os.OSProcessMemory;
+
+/**
+ * Reads the memory breakdown of a process from /proc/[pid]/smaps_rollup
+ * (Linux 4.14 and later), which the kernel sums over all mappings, or
+ * otherwise by summing the per-mapping values of /proc/[pid]/smaps. The file
+ * is read in fixed-size chunks and parsed a line at a time without creating
+ * Strings, as smaps may have thousands of lines for processes with many
+ * mappings.
+ */
+final class SmapsReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SmapsReader.class);
+
+    private static final boolean HAS_ROLLUP = new File("/proc/self/smaps_rollup").exists();
+
+    /*
+     * Keys of the values summed, and their indices
+     */
+    private static final byte[][] KEYS = { bytes("Rss"), bytes("Pss"), bytes("Shared_Clean"),
+            bytes("Shared_Dirty"), bytes("Private_Clean"), bytes("Private_Dirty"), bytes("Swap") };
+    private static final int RSS = 0;
+    private static final int PSS = 1;
+    private static final int SHARED_CLEAN = 2;
+    private static final int SHARED_DIRTY = 3;
+    private static final int PRIVATE_CLEAN = 4;
+    private static final int PRIVATE_DIRTY = 5;
+    private static final int SWAP = 6;
+
+    // Longest line parsed; longer lines (e.g., mapping headers with long
+    // paths, VmFlags) are skipped
+    private static final int MAX_LINE = 256;
+
+    private SmapsReader() {
+    }
+
+    /**
+     * Reads the memory breakdown of a process
+     *
+     * @param pid
+     *            A process ID
+     * @return The breakdown, or null if it could not be read (e.g., the
+     *         process exited or belongs to another user)
+     */
+    static OSProcessMemory read(int pid) {
+        return read(pid, "/proc/" + pid + (HAS_ROLLUP ? "/smaps_rollup" : "/smaps"));
+    }
+
+    /**
+     * Reads the memory breakdown of a process from a file in smaps or
+     * smaps_rollup format
+     *
+     * @param pid
+     *            The process ID
+     * @param path
+     *            The file to read
+     * @return The breakdown, or null if it could not be read
+     */
+    static OSProcessMemory read(int pid, String path) {
+        long[] kb = new long[KEYS.length];
+        byte[] buf = new byte[8192];
+        byte[] line = new byte[MAX_LINE];
+        int lineLength = 0;
+        boolean overflow = false;
+        try (InputStream in = new FileInputStream(path)) {
+            int read;
+            while ((read = in.read(buf)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buf[i];
+                    if (b == '\n') {
+                        if (!overflow) {
+                            parseLine(line, lineLength, kb);
+                        }
+                        lineLength = 0;
+                        overflow = false;
+                    } else if (lineLength < MAX_LINE) {
+                        line[lineLength++] = b;
+                    } else {
+                        overflow = true;
+                    }
+                }
+            }
+            if (!overflow) {
+                parseLine(line, lineLength, kb);
+            }
+        } catch (IOException e) {
+            LOG.trace("Unable to read {}. {}", path, e);
+            return null;
+        }
+        OSProcessMemory memory = new OSProcessMemory();
+        memory.setProcessID(pid);
+        memory.setResidentSetSize(kb[RSS] * 1024L);
+        memory.setProportionalSetSize(kb[PSS] * 1024L);
+        memory.setSharedClean(kb[SHARED_CLEAN] * 1024L);
+        memory.setSharedDirty(kb[SHARED_DIRTY] * 1024L);
+        memory.setPrivateClean(kb[PRIVATE_CLEAN] * 1024L);
+        memory.setPrivateDirty(kb[PRIVATE_DIRTY] * 1024L);
+        memory.setSwap(kb[SWAP] * 1024L);
+        return memory;
+    }
+
+    /**
+     * Adds the value of a "Key:   123 kB" line to the sum for its key, if it
+     * is one of the keys summed
+     */
+    private static void parseLine(byte[] line, int length, long[] kb) {
+        int colon = -1;
+        for (int i = 0; i < length; i++) {
+            if (line[i] == ':') {
+                colon = i;
+                break;
+            }
+            if (line[i] == ' ') {
+                // Mapping header line
+                return;
+            }
+        }
+        if (colon < 0) {
+            return;
+        }
+        for (int k = 0; k < KEYS.length; k++) {
+            if (matches(line, colon, KEYS[k])) {
+                long value = 0L;
+                for (int i = colon + 1; i < length; i++) {
+                    byte b = line[i];
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                    } else if (b != ' ' && b != '\t') {
+                        break;
+                    }
+                }
+                kb[k] += value;
+                return;
+            }
+        }
+    }
+
+    private static boolean matches(byte[] line, int length, byte[] key) {
+        if (length != key.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (line[i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -407,6 +407,44 @@ public class ParseUtil {
         }
     }
 
+    /**
+     * Parses a list of integers and ranges, such as "0-3,8,10-11" as used by
+     * Linux for sets of processors and NUMA nodes
+     *
+     * @param s
+     *            The string to parse
+     * @return The integers listed, in the order listed; empty if the string
+     *         is empty or invalid
+     */
+    public static int[] parseIntRangeList(String s) {
+        String[] ranges = s.trim().split(",");
+        int[][] bounds = new int[ranges.length][];
+        int count = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            if (ranges[i].isEmpty()) {
+                continue;
+            }
+            int dash = ranges[i].indexOf('-');
+            int from = parseIntOrDefault(dash < 0 ? ranges[i] : ranges[i].substring(0, dash), -1);
+            int to = dash < 0 ? from : parseIntOrDefault(ranges[i].substring(dash + 1), -1);
+            if (from < 0 || to < from) {
+                return new int[0];
+            }
+            bounds[i] = new int[] { from, to };
+            count += to - from + 1;
+        }
+        int[] values = new int[count];
+        int n = 0;
+        for (int[] range : bounds) {
+            if (range != null) {
+                for (int v = range[0]; v <= range[1]; v++) {
+                    values[n++] = v;
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * Attempts to parse a string of the form [DD-[hh:]]mm:ss[.ddd] to a number
      * of milliseconds. If it fails, returns the default.
@@ -0,0 +1,335 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.util.platform.linux;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the small accounting files of control groups into a reusable byte
+ * buffer, without creating a String for each line or value, as a refresh of
+ * a tree of thousands of groups reads several files per group.
+ *
+ * Keyed values are found in the formats used by the files read: "key value"
+ * lines (cpu.stat, memory.stat, cpuacct.stat), "key=value" fields (io.stat)
+ * and "device key value" lines (blkio.*). Values of the same key on several
+ * lines (e.g., one per device) are summed.
+ *
+ * A parser is not thread safe.
+ */
+public final class CgroupFileParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CgroupFileParser.class);
+
+    private static final byte[] MAX = bytes("max");
+    private static final byte[] SOME = bytes("some");
+    private static final byte[] FULL = bytes("full");
+
+    /*
+     * Keys of pressure files, and their indices
+     */
+    private static final byte[][] PRESSURE_KEYS = { bytes("avg10"), bytes("avg60"), bytes("avg300"),
+            bytes("total") };
+
+    private byte[] buffer = new byte[4096];
+
+    private int length;
+
+    /**
+     * Converts a key to the form expected by
+     * {@link #readKeyed(String, byte[][], long[])}
+     *
+     * @param s
+     *            An ASCII string
+     * @return Its bytes
+     */
+    public static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads a file containing a single value
+     *
+     * @param path
+     *            The file to read
+     * @param defaultValue
+     *            The value if the file cannot be read or is not a number
+     * @return The value, or -1 if it is "max"
+     */
+    public long readLong(String path, long defaultValue) {
+        if (!read(path)) {
+            return defaultValue;
+        }
+        int end = tokenEnd(0);
+        if (matches(0, end, MAX)) {
+            return -1L;
+        }
+        return isNumber(0, end) ? parseLong(0, end) : defaultValue;
+    }
+
+    /**
+     * Reads the CPU quota from a cgroup v2 cpu.max file, "$MAX $PERIOD"
+     *
+     * @param path
+     *            The file to read
+     * @return The quota in logical processors, or -1 if unlimited or unknown
+     */
+    public double readCpuMax(String path) {
+        if (!read(path)) {
+            return -1d;
+        }
+        int end = tokenEnd(0);
+        int next = skipSpaces(end);
+        int nextEnd = tokenEnd(next);
+        if (!isNumber(0, end) || !isNumber(next, nextEnd)) {
+            return -1d;
+        }
+        long period = parseLong(next, nextEnd);
+        return period > 0L ? parseLong(0, end) / (double) period : -1d;
+    }
+
+    /**
+     * Reads keyed values from a file, adding each to the value of its key
+     *
+     * @param path
+     *            The file to read
+     * @param keys
+     *            The keys to find
+     * @param values
+     *            The sums, indexed as the keys, to add to
+     * @return true if the file was read; false if it could not be, in which
+     *         case the values are unchanged
+     */
+    public boolean readKeyed(String path, byte[][] keys, long[] values) {
+        if (!read(path)) {
+            return false;
+        }
+        int pos = 0;
+        while (pos < this.length) {
+            int lineEnd = lineEnd(pos);
+            int t = skipSpaces(pos);
+            while (t < lineEnd) {
+                int end = tokenEnd(t);
+                int eq = indexOf('=', t, end);
+                if (eq >= 0) {
+                    add(t, eq, eq + 1, end, keys, values);
+                } else {
+                    int next = skipSpaces(end);
+                    int nextEnd = tokenEnd(next);
+                    if (next < lineEnd && isNumber(next, nextEnd)) {
+                        add(t, end, next, nextEnd, keys, values);
+                        end = nextEnd;
+                    }
+                }
+                t = skipSpaces(end);
+            }
+            pos = lineEnd + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a pressure stall information file, with lines of the form "some
+     * avg10=0.00 avg60=0.00 avg300=0.00 total=0"
+     *
+     * @param path
+     *            The file to read
+     * @return The avg10, avg60 and avg300 percentages and total microseconds
+     *         of the "some" line, followed by those of the "full" line; null
+     *         if the file could not be read
+     */
+    public double[] readPressure(String path) {
+        if (!read(path)) {
+            return null;
+        }
+        // avg10, avg60, avg300, total for some, then for full
+        double[] values = new double[2 * PRESSURE_KEYS.length];
+        int pos = 0;
+        while (pos < this.length) {
+            int lineEnd = lineEnd(pos);
+            int end = tokenEnd(pos);
+            int offset = matches(pos, end, SOME) ? 0 : matches(pos, end, FULL) ? PRESSURE_KEYS.length : -1;
+            int t = skipSpaces(end);
+            while (offset >= 0 && t < lineEnd) {
+                end = tokenEnd(t);
+                int eq = indexOf('=', t, end);
+                if (eq >= 0) {
+                    for (int k = 0; k < PRESSURE_KEYS.length; k++) {
+                        if (matches(t, eq, PRESSURE_KEYS[k])) {
+                            values[offset + k] = parseDecimal(eq + 1, end);
+                            break;
+                        }
+                    }
+                }
+                t = skipSpaces(end);
+            }
+            pos = lineEnd + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Reads a file with one integer per line, such as cgroup.procs
+     *
+     * @param path
+     *            The file to read
+     * @return The values in ascending order; empty if the file could not be
+     *         read
+     */
+    public int[] readIds(String path) {
+        if (!read(path)) {
+            return new int[0];
+        }
+        int[] ids = new int[16];
+        int count = 0;
+        int pos = 0;
+        while (pos < this.length) {
+            int lineEnd = lineEnd(pos);
+            int end = tokenEnd(pos);
+            if (isNumber(pos, end)) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = (int) parseLong(pos, end);
+            }
+            pos = lineEnd + 1;
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Reads a whole file into the buffer, growing it if needed
+     */
+    private boolean read(String path) {
+        this.length = 0;
+        try (InputStream in = new FileInputStream(path)) {
+            int read;
+            while ((read = in.read(this.buffer, this.length, this.buffer.length - this.length)) > 0) {
+                this.length += read;
+                if (this.length == this.buffer.length) {
+                    this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.trace("Unable to read {}. {}", path, e);
+            this.length = 0;
+            return false;
+        }
+    }
+
+    private void add(int keyStart, int keyEnd, int valueStart, int valueEnd, byte[][] keys, long[] values) {
+        if (!isNumber(valueStart, valueEnd)) {
+            return;
+        }
+        for (int k = 0; k < keys.length; k++) {
+            if (matches(keyStart, keyEnd, keys[k])) {
+                values[k] += parseLong(valueStart, valueEnd);
+                return;
+            }
+        }
+    }
+
+    private int lineEnd(int pos) {
+        int i = indexOf('\n', pos, this.length);
+        return i < 0 ? this.length : i;
+    }
+
+    private int tokenEnd(int pos) {
+        int i = pos;
+        while (i < this.length && this.buffer[i] != ' ' && this.buffer[i] != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipSpaces(int pos) {
+        int i = pos;
+        while (i < this.length && this.buffer[i] == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private int indexOf(char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (this.buffer[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (this.buffer[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isNumber(int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (this.buffer[i] < '0' || this.buffer[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseLong(int start, int end) {
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (this.buffer[i] - '0');
+        }
+        return value;
+    }
+
+    private double parseDecimal(int start, int end) {
+        long value = 0L;
+        long scale = 0L;
+        for (int i = start; i < end; i++) {
+            byte b = this.buffer[i];
+            if (b == '.') {
+                scale = 1L;
+            } else if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                scale *= 10;
+            } else {
+                break;
+            }
+        }
+        return scale > 0L ? value / (double) scale : value;
+    }
+}
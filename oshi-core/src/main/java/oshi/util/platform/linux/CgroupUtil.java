@@ -0,0 +1,132 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.util.platform.linux;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import oshi.util.FileUtil;
+
+/**
+ * Provides access to the control group (cgroup) hierarchies on Linux: which
+ * version is mounted, and which group a process is in
+ */
+public class CgroupUtil {
+
+    /**
+     * The directory control group hierarchies are mounted under
+     */
+    public static final String ROOT = "/sys/fs/cgroup";
+
+    /**
+     * cgroup v1 memory limits at or above this are unlimited (the maximum
+     * page count in bytes, which depends on the page size)
+     */
+    public static final long UNLIMITED_MEMORY = Long.MAX_VALUE / 2;
+
+    /**
+     * The key of the unified (v2) hierarchy in
+     * {@link #parseProcessGroups(List)}
+     */
+    public static final String UNIFIED = "";
+
+    private CgroupUtil() {
+    }
+
+    /**
+     * Gets the version of the control group hierarchies mounted under a
+     * directory
+     *
+     * @param root
+     *            The directory hierarchies are mounted under, normally
+     *            {@link #ROOT}
+     * @return 2 if the unified hierarchy is mounted on it, 1 if v1 cpuacct or
+     *         memory hierarchies are mounted below it, otherwise 0
+     */
+    public static int getVersion(String root) {
+        if (new File(root, "cgroup.controllers").exists()) {
+            return 2;
+        }
+        if (new File(root, "cpuacct").isDirectory() || new File(root, "memory").isDirectory()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the control groups of a process from /proc/[pid]/cgroup
+     *
+     * @param pid
+     *            A process ID
+     * @return The path of the process's group by controller, as
+     *         {@link #parseProcessGroups(List)}
+     */
+    public static Map<String, String> getProcessGroups(int pid) {
+        return parseProcessGroups(FileUtil.readFile(String.format("/proc/%d/cgroup", pid), false));
+    }
+
+    /**
+     * Parses the lines of a /proc/[pid]/cgroup file, each of the form
+     * hierarchy-ID:controller-list:cgroup-path
+     *
+     * @param lines
+     *            The lines of the file
+     * @return The path of the process's group by controller (e.g., "cpu",
+     *         "memory"), and by {@link #UNIFIED} for the unified hierarchy,
+     *         which has no controllers listed
+     */
+    public static Map<String, String> parseProcessGroups(List<String> lines) {
+        Map<String, String> paths = new HashMap<>();
+        for (String line : lines) {
+            int first = line.indexOf(':');
+            int second = line.indexOf(':', first + 1);
+            if (first < 0 || second < 0) {
+                continue;
+            }
+            String path = line.substring(second + 1);
+            if (second == first + 1) {
+                paths.put(UNIFIED, path);
+                continue;
+            }
+            int start = first + 1;
+            while (start <= second) {
+                int comma = line.indexOf(',', start);
+                int end = comma < 0 || comma > second ? second : comma;
+                paths.put(line.substring(start, end), path);
+                start = end + 1;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Gets the directory of a group in a hierarchy
+     *
+     * @param mount
+     *            The directory the hierarchy is mounted on
+     * @param path
+     *            The path of the group in the hierarchy
+     * @return The directory
+     */
+    public static String getGroupDir(String mount, String path) {
+        return "/".equals(path) ? mount : mount + path;
+    }
+}
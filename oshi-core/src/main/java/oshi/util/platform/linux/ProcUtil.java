@@ -20,8 +20,19 @@ package oshi.util.platform.linux;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Platform;
+
+import oshi.jna.platform.linux.Libc;
 import oshi.util.FileUtil;
 
 /**
@@ -30,11 +41,95 @@ import oshi.util.FileUtil;
  * @author widdis[at]gmail[dot]com
  */
 public class ProcUtil {
+    private static final Logger LOG = LoggerFactory.getLogger(ProcUtil.class);
+
     private static final Pattern DIGITS = Pattern.compile("\\d+"); // NOSONAR-squid:S1068
 
+    /**
+     * Type of the /proc/self/auxv entry for clock ticks per second
+     */
+    public static final int AT_CLKTCK = 17;
+
     private ProcUtil() {
     }
 
+    /**
+     * Holds the clock ticks per second, so that the native library is only
+     * loaded when they are first needed
+     */
+    private static final class ClockTicks {
+        private static final long HZ = queryClockTicks();
+    }
+
+    /**
+     * Gets the number of clock ticks (jiffies) per second, the unit of the
+     * time counters in /proc, cgroup v1 and cpufreq statistics
+     *
+     * @return Clock ticks per second
+     */
+    public static long getClockTicks() {
+        return ClockTicks.HZ;
+    }
+
+    /**
+     * Queries the clock ticks per second from sysconf, falling back to the
+     * AT_CLKTCK entry of /proc/self/auxv
+     *
+     * @return Clock ticks per second
+     */
+    private static long queryClockTicks() {
+        try {
+            long ticks = Libc.INSTANCE.sysconf(Libc._SC_CLK_TCK).longValue();
+            if (ticks > 0) {
+                LOG.debug("Clock ticks per second from sysconf: {}", ticks);
+                return ticks;
+            }
+        } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+            LOG.debug("Failed to get clock ticks from sysconf. {}", e);
+        }
+        long ticks = getAuxvValue(AT_CLKTCK);
+        if (ticks > 0) {
+            LOG.debug("Clock ticks per second from auxv: {}", ticks);
+            return ticks;
+        }
+        // USER_HZ is 100 on all mainstream architectures
+        LOG.warn("Couldn't get clock ticks per second, assuming 100.");
+        return 100L;
+    }
+
+    /**
+     * Gets a value from the auxiliary vector the kernel passed to this
+     * process, read from /proc/self/auxv, which holds pairs of native-sized
+     * type and value words ending with a zero type
+     *
+     * @param type
+     *            The entry type, e.g., {@link #AT_CLKTCK}
+     * @return The value of the entry, or -1 if not found
+     */
+    public static long getAuxvValue(int type) {
+        byte[] auxv;
+        try {
+            auxv = Files.readAllBytes(Paths.get("/proc/self/auxv"));
+        } catch (IOException e) {
+            return -1L;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(auxv).order(ByteOrder.nativeOrder());
+        // Platform, unlike Native, does not load the native library
+        boolean is64 = Platform.is64Bit();
+        int entrySize = is64 ? 16 : 8;
+        while (buf.remaining() >= entrySize) {
+            long key = is64 ? buf.getLong() : buf.getInt();
+            long value = is64 ? buf.getLong() : buf.getInt() & 0xffffffffL;
+            if (key == 0) {
+                break;
+            }
+            if (key == type) {
+                return value;
+            }
+        }
+        return -1L;
+    }
+
     /**
      * Parses the first value in /proc/uptime for seconds since boot
      *
@@ -59,13 +154,29 @@ public class ProcUtil {
      * @return An array of File objects for the process files
      */
     public static File[] getPidFiles() {
-        File procdir = new File("/proc");
-        File[] pids = procdir.listFiles(new FileFilter() {
+        return getNumericFiles(new File("/proc"));
+    }
+
+    /**
+     * Gets an array of files in the /proc/[pid]/task directory with only
+     * numeric digit filenames, corresponding to the threads of a process
+     *
+     * @param pid
+     *            A process ID
+     * @return An array of File objects for the thread files; empty if the
+     *         process is not running
+     */
+    public static File[] getTidFiles(int pid) {
+        return getNumericFiles(new File(String.format("/proc/%d/task", pid)));
+    }
+
+    private static File[] getNumericFiles(File dir) {
+        File[] files = dir.listFiles(new FileFilter() {
             @Override
             public boolean accept(File file) {
                 return DIGITS.matcher(file.getName()).matches();
             }
         });
-        return pids != null ? pids : new File[0];
+        return files != null ? files : new File[0];
     }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import com.sun.jna.Platform;
@@ -29,6 +31,9 @@ import com.sun.jna.Platform;
 import oshi.PlatformEnum;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor.TickType;
+import oshi.hardware.platform.linux.LinuxCentralProcessor;
+import oshi.hardware.platform.linux.LinuxProcStat;
+import oshi.hardware.platform.linux.LinuxSchedStat;
 import oshi.util.Util;
 
 /**
@@ -101,4 +106,172 @@ public class CentralProcessorTest {
         assertTrue(p.getLogicalProcessorCount() >= p.getPhysicalProcessorCount());
         assertTrue(p.getPhysicalProcessorCount() > 0);
     }
+
+    /**
+     * Test load between tick snapshots
+     */
+    @Test
+    public void testCpuTicks() {
+        long[] prev = { 100, 0, 100, 700, 100, 0, 0, 0 };
+        long[] cur = { 150, 0, 150, 1000, 100, 0, 0, 0 };
+        CpuTicks t0 = new CpuTicks(0L, prev, new long[][] { prev, cur });
+        CpuTicks t1 = new CpuTicks(1000L, cur, new long[][] { cur, cur });
+        // 100 busy ticks of 400
+        assertEquals(0.25, t1.getSystemCpuLoadSince(t0), 1e-9);
+        assertEquals(0d, t1.getSystemCpuLoadSince(t1), 1e-9);
+        assertEquals(0.25, t1.getProcessorCpuLoadSince(t0)[0], 1e-9);
+        assertEquals(0d, t1.getProcessorCpuLoadSince(t0)[1], 1e-9);
+        // Snapshots are copies
+        prev[0] = 0;
+        assertEquals(100L, t0.getSystemCpuLoadTicks()[0]);
+    }
+
+    /**
+     * Test independent samplers
+     */
+    @Test
+    public void testCpuLoadSampler() throws InterruptedException {
+        SystemInfo si = new SystemInfo();
+        CentralProcessor p = si.getHardware().getProcessor();
+        final CpuLoadSampler fast = new CpuLoadSampler(p);
+        CpuLoadSampler slow = new CpuLoadSampler(p);
+        CpuTicks slowBaseline = slow.getLatest();
+        // Load since boot until the first sample
+        assertEquals(0L, slow.getPrevious().getTimestamp());
+        assertEquals(slowBaseline.getSystemCpuLoadSince(slow.getPrevious()), slow.getSystemCpuLoad(), 0d);
+        Util.sleep(100);
+
+        // Concurrent samples never move the baseline backwards
+        final AtomicInteger invalid = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 20; j++) {
+                        fast.sample();
+                        double load = fast.getSystemCpuLoad();
+                        if (load < 0 || load > 1
+                                || fast.getLatest().getTimestamp() < fast.getPrevious().getTimestamp()) {
+                            invalid.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(0, invalid.get());
+        assertTrue(fast.getLatest().getTimestamp() >= fast.getPrevious().getTimestamp());
+        assertEquals(p.getLogicalProcessorCount(), fast.getProcessorCpuLoad().length);
+
+        // The other sampler keeps its own baseline
+        assertTrue(slow.getLatest() == slowBaseline);
+        slow.sample();
+        assertTrue(slow.getPrevious() == slowBaseline);
+        assertTrue(slow.getSystemCpuLoad() >= 0 && slow.getSystemCpuLoad() <= 1);
+        // Too recent to sample again
+        CpuTicks latest = slow.getLatest();
+        assertTrue(slow.sample(60000L) == latest);
+    }
+
+    /**
+     * Test central processor values for this process's container
+     */
+    @Test
+    public void testContainerAware() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        LinuxCentralProcessor p = new LinuxCentralProcessor();
+        int hostCount = p.getLogicalProcessorCount();
+        p.setContainerAware(true);
+        assertTrue(p.isContainerAware());
+        assertEquals(hostCount, p.getLogicalProcessorCount());
+        assertTrue(p.getContainerProcessorCapacity() > 0);
+        assertTrue(p.getContainerProcessorCapacity() <= hostCount);
+        Util.sleep(1000);
+        assertTrue(p.getSystemCpuLoadBetweenTicks() >= 0 && p.getSystemCpuLoadBetweenTicks() <= 1);
+        assertTrue(p.getSystemCpuLoad() >= 0 && p.getSystemCpuLoad() <= 1);
+        assertEquals(p.getProcessorCpuLoadBetweenTicks().length, hostCount);
+
+        p.setContainerAware(false);
+        assertEquals(hostCount, p.getLogicalProcessorCount());
+    }
+
+    /**
+     * Test the sysfs topology
+     */
+    @Test
+    public void testTopology() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        LinuxCentralProcessor p = new LinuxCentralProcessor();
+        ProcessorTopology topology = p.getTopology();
+        int n = topology.getLogicalProcessors().length;
+        if (n == 0) {
+            return;
+        }
+        assertEquals(p.getLogicalProcessorCount(), n);
+        assertEquals(p.getPhysicalProcessorCount(), topology.getCoreCount());
+        assertTrue(topology.getPackageCount() > 0);
+        assertTrue(topology.getNodeCount() > 0);
+        double[] cores = new double[topology.getCoreCount()];
+        double[] packages = new double[topology.getPackageCount()];
+        double[] nodes = new double[topology.getNodeCount()];
+        topology.aggregate(p.getProcessorCpuLoadBetweenTicks(), cores, packages, nodes);
+        for (double load : packages) {
+            assertTrue(load >= 0 && load <= 1);
+        }
+    }
+
+    /**
+     * Test scheduler statistics
+     */
+    @Test
+    public void testSchedStat() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        LinuxCentralProcessor p = new LinuxCentralProcessor();
+        int pid = new SystemInfo().getOperatingSystem().getProcessId();
+        LinuxSchedStat first = p.getProcessSchedStat(pid);
+        if (first.getCount() > 0) {
+            assertEquals(pid, first.getIds()[0]);
+            assertTrue(first.getValues()[0][LinuxSchedStat.RUN] > 0);
+        }
+        double[][] rates = p.getProcessorSchedStatBetweenTicks();
+        assertEquals(p.getSchedStat().getCount(), rates.length);
+        for (double[] cpu : rates) {
+            assertEquals(LinuxSchedStat.FIELDS, cpu.length);
+            assertTrue(cpu[LinuxSchedStat.WAIT] >= 0d);
+        }
+    }
+
+    /**
+     * Test the /proc/stat snapshot
+     */
+    @Test
+    public void testProcStat() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        LinuxCentralProcessor p = new LinuxCentralProcessor();
+        LinuxProcStat stat = p.getProcStat();
+        assertEquals(p.getLogicalProcessorCount(), stat.getProcessorCount());
+        assertEquals(LinuxProcStat.TICK_FIELDS, stat.getCpuTicks().length);
+        assertTrue(stat.getBootTime() > 0);
+        assertTrue(stat.getContextSwitches() > 0);
+        assertTrue(stat.getInterrupts() > 0);
+        assertTrue(stat.getProcessesCreated() > 0);
+        assertTrue(stat.getProcessesRunning() > 0);
+        assertTrue(stat.getContextSwitchRate() >= 0);
+        LinuxProcStat next = p.getProcStat();
+        assertTrue(next.getContextSwitches() >= stat.getContextSwitches());
+        assertTrue(next.getContextSwitchRate() >= 0);
+        assertEquals(p.getSystemCpuLoadTicks().length, TickType.values().length);
+    }
 }
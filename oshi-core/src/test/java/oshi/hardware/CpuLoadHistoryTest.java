@@ -0,0 +1,96 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import oshi.SystemInfo;
+import oshi.util.Util;
+
+/**
+ * Test CPU load history
+ */
+public class CpuLoadHistoryTest {
+
+    /**
+     * Test queries over recorded samples
+     */
+    @Test
+    public void testQueries() {
+        CentralProcessor p = new SystemInfo().getHardware().getProcessor();
+        CpuLoadHistory history = new CpuLoadHistory(p, 1000L, 10);
+        assertEquals(-1d, history.getAverage(CpuLoadHistory.SYSTEM, 60), 1e-9);
+        double[] cpus = new double[history.getProcessorCount()];
+        // 0.1 to 1.2, of which the first two are overwritten
+        for (int i = 1; i <= 12; i++) {
+            cpus[0] = 1d - i / 20d;
+            history.record(i / 10d, cpus);
+        }
+        assertEquals(10, history.getSampleCount());
+        assertEquals(1.2, history.getLatest(CpuLoadHistory.SYSTEM), 1e-6);
+        assertEquals(0.75, history.getAverage(CpuLoadHistory.SYSTEM, 60), 1e-6);
+        // Last 3 seconds
+        assertEquals(1.1, history.getAverage(CpuLoadHistory.SYSTEM, 3), 1e-6);
+        assertEquals(1.2, history.getMax(CpuLoadHistory.SYSTEM, 60), 1e-6);
+        assertEquals(0.7, history.getPercentile(CpuLoadHistory.SYSTEM, 50, 60), 1e-6);
+        assertEquals(1.1, history.getPercentile(CpuLoadHistory.SYSTEM, 90, 60), 1e-6);
+        assertEquals(1.2, history.getPercentile(CpuLoadHistory.SYSTEM, 95, 60), 1e-6);
+        assertEquals(0.3, history.getPercentile(CpuLoadHistory.SYSTEM, 1, 60), 1e-6);
+        assertEquals(0.85, history.getMax(0, 60), 1e-6);
+        assertEquals(0.4, history.getLatest(0), 1e-6);
+        // Queries do not reorder the history
+        assertEquals(1.2, history.getLatest(CpuLoadHistory.SYSTEM), 1e-6);
+    }
+
+    /**
+     * Test background recording
+     */
+    @Test
+    public void testRecording() {
+        CentralProcessor p = new SystemInfo().getHardware().getProcessor();
+        CpuLoadHistory history = new CpuLoadHistory(p, 50L, 5);
+        CpuLoadHistory other = new CpuLoadHistory(p, 50L, 5);
+        history.start();
+        other.start();
+        assertTrue(history.isRunning());
+        Util.sleep(500);
+        other.close();
+        history.stop();
+        assertFalse(history.isRunning());
+        assertEquals(5, history.getSampleCount());
+        double max = history.getMax(CpuLoadHistory.SYSTEM, 60);
+        assertTrue(max >= 0 && max <= 1);
+        assertTrue(history.getAverage(CpuLoadHistory.SYSTEM, 60) <= max);
+        assertTrue(history.getPercentile(CpuLoadHistory.SYSTEM, 99, 60) <= max);
+        for (int cpu = 0; cpu < history.getProcessorCount(); cpu++) {
+            double load = history.getAverage(cpu, 60);
+            assertTrue(load >= 0 && load <= 1);
+        }
+        // Stopped histories keep their samples and may restart
+        Util.sleep(100);
+        assertEquals(5, history.getSampleCount());
+        history.start();
+        assertTrue(history.isRunning());
+        history.close();
+    }
+}
@@ -18,12 +18,16 @@
  */
 package oshi.hardware;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.sun.jna.Platform;
+
 import oshi.SystemInfo;
+import oshi.hardware.platform.linux.LinuxGlobalMemory;
 
 /**
  * Test GlobalMemory
@@ -49,4 +53,25 @@ public class GlobalMemoryTest {
         assertTrue(memory.getSwapUsed() >= 0);
         assertTrue(memory.getSwapUsed() <= memory.getSwapTotal());
     }
+
+    /**
+     * Test GlobalMemory for this process's container
+     */
+    @Test
+    public void testContainerAware() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        LinuxGlobalMemory memory = new LinuxGlobalMemory();
+        long hostTotal = memory.getTotal();
+        memory.setContainerAware(true);
+        assertTrue(memory.isContainerAware());
+        assertTrue(memory.getTotal() > 0);
+        assertTrue(memory.getTotal() <= hostTotal);
+        assertTrue(memory.getAvailable() >= 0);
+        assertTrue(memory.getAvailable() <= memory.getTotal());
+
+        memory.setContainerAware(false);
+        assertEquals(hostTotal, memory.getTotal());
+    }
 }
@@ -0,0 +1,117 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test reading of container limits from control group hierarchies
+ */
+public class ContainerLimitsTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    /**
+     * Test processor lists
+     */
+    @Test
+    public void testParseCpuList() {
+        assertEquals(4, ContainerLimits.parseCpuList("0-3"));
+        assertEquals(7, ContainerLimits.parseCpuList("0-3,8,10-11\n"));
+        assertEquals(1, ContainerLimits.parseCpuList("5"));
+        assertEquals(0, ContainerLimits.parseCpuList(""));
+        assertEquals(0, ContainerLimits.parseCpuList("3-1"));
+    }
+
+    /**
+     * Test a cgroup v2 group with limits on the group and its parent
+     */
+    @Test
+    public void testVersion2() throws IOException {
+        this.root.write("cgroup.controllers", "cpuset cpu io memory pids\n");
+        this.root.write("app/memory.max", "1073741824\n");
+        this.root.write("app/cpu.max", "max 100000\n");
+        this.root.write("app/pod/memory.max", "max\n");
+        this.root.write("app/pod/memory.current", "536870912\n");
+        this.root.write("app/pod/memory.stat", "anon 268435456\nfile 268435456\ninactive_file 134217728\n");
+        this.root.write("app/pod/cpu.max", "150000 100000\n");
+        this.root.write("app/pod/cpuset.cpus.effective", "0-3\n");
+        this.root.write("app/pod/cpu.stat", "usage_usec 123456\nuser_usec 100000\nsystem_usec 23456\n");
+        ContainerLimits limits = new ContainerLimits(this.root.getRoot().getPath(),
+                Collections.singletonList("0::/app/pod"));
+        assertEquals(1073741824L, limits.getMemoryLimit());
+        assertEquals(536870912L, limits.getMemoryUsage());
+        assertEquals(134217728L, limits.getMemoryInactiveFile());
+        assertEquals(1.5, limits.getCpuQuota(), 1e-9);
+        assertEquals(4, limits.getCpusetCount());
+        assertEquals(123456L, limits.getCpuUsage());
+    }
+
+    /**
+     * Test cgroup v1 hierarchies, including one mounted at the container's own
+     * group
+     */
+    @Test
+    public void testVersion1() throws IOException {
+        this.root.write("memory/memory.limit_in_bytes", "9223372036854771712\n");
+        this.root.write("memory/docker/abc/memory.limit_in_bytes", "2147483648\n");
+        this.root.write("memory/docker/abc/memory.usage_in_bytes", "1073741824\n");
+        this.root.write("memory/docker/abc/memory.stat", "cache 4096\ninactive_file 4096\ntotal_inactive_file 8192\n");
+        // Mounted at the container's group, so /docker/abc is not below it
+        this.root.write("cpu/cpu.cfs_quota_us", "200000\n");
+        this.root.write("cpu/cpu.cfs_period_us", "100000\n");
+        this.root.write("cpuset/cpuset.cpus", "0-5\n");
+        this.root.write("cpuacct/cpuacct.usage", "5000000\n");
+        ContainerLimits limits = new ContainerLimits(this.root.getRoot().getPath(),
+                Arrays.asList("4:memory:/docker/abc", "3:cpuset:/docker/abc", "2:cpu:/docker/abc",
+                        "1:cpuacct:/docker/abc"));
+        assertEquals(2147483648L, limits.getMemoryLimit());
+        assertEquals(1073741824L, limits.getMemoryUsage());
+        assertEquals(8192L, limits.getMemoryInactiveFile());
+        assertEquals(2d, limits.getCpuQuota(), 1e-9);
+        assertEquals(6, limits.getCpusetCount());
+        assertEquals(5000L, limits.getCpuUsage());
+    }
+
+    /**
+     * Test a process without limits
+     */
+    @Test
+    public void testUnlimited() throws IOException {
+        this.root.write("memory/memory.limit_in_bytes", "9223372036854771712\n");
+        this.root.write("cpu/cpu.cfs_quota_us", "-1\n");
+        this.root.write("cpu/cpu.cfs_period_us", "100000\n");
+        ContainerLimits limits = new ContainerLimits(this.root.getRoot().getPath(),
+                Arrays.asList("4:memory:/", "2:cpu,cpuacct:/"));
+        assertEquals(-1L, limits.getMemoryLimit());
+        assertEquals(-1d, limits.getCpuQuota(), 1e-9);
+        assertEquals(0, limits.getCpusetCount());
+        assertEquals(-1L, limits.getCpuUsage());
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.sun.jna.Platform;
+
+import oshi.hardware.CpuFrequency;
+import oshi.util.TemporaryFiles;
+import oshi.util.platform.linux.ProcUtil;
+
+/**
+ * Test sampling of cpufreq files
+ */
+public class LinuxCpuFrequencySamplerTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    /**
+     * Test samples and time in state deltas
+     */
+    @Test
+    public void testSample() throws IOException {
+        this.root.write("cpu0/cpufreq/scaling_cur_freq", "2400000\n");
+        this.root.write("cpu0/cpufreq/scaling_min_freq", "800000\n");
+        this.root.write("cpu0/cpufreq/scaling_max_freq", "3400000\n");
+        this.root.write("cpu0/cpufreq/scaling_governor", "powersave\n");
+        this.root.write("cpu0/cpufreq/stats/time_in_state", "3400000 500\n2400000 300\n800000 1000\n");
+        // No time_in_state or governor
+        this.root.write("cpu10/cpufreq/scaling_cur_freq", "1200000\n");
+        // No cpufreq
+        new File(this.root.getRoot(), "cpu2").mkdirs();
+        new File(this.root.getRoot(), "cpufreq").mkdirs();
+
+        long msPerTick = 1000L / ProcUtil.getClockTicks();
+        try (LinuxCpuFrequencySampler sampler = new LinuxCpuFrequencySampler(this.root.getRoot().getPath())) {
+            assertEquals(2, sampler.getProcessorCount());
+            CpuFrequency[] freqs = sampler.sample();
+            assertEquals(0, freqs[0].getProcessorNumber());
+            assertEquals(2400000000L, freqs[0].getCurrentFrequency());
+            assertEquals(800000000L, freqs[0].getMinFrequency());
+            assertEquals(3400000000L, freqs[0].getMaxFrequency());
+            assertEquals("powersave", freqs[0].getGovernor());
+            assertArrayEquals(new long[] { 3400000000L, 2400000000L, 800000000L }, freqs[0].getStateFrequencies());
+            assertArrayEquals(new long[] { 500 * msPerTick, 300 * msPerTick, 1000 * msPerTick },
+                    freqs[0].getStateTimes());
+            assertEquals(10, freqs[1].getProcessorNumber());
+            assertEquals(1200000000L, freqs[1].getCurrentFrequency());
+            assertEquals(-1L, freqs[1].getMaxFrequency());
+            assertEquals("", freqs[1].getGovernor());
+            assertEquals(0, freqs[1].getStateTimes().length);
+
+            // Rewritten in place, and re-read through the open files
+            this.root.write("cpu0/cpufreq/scaling_cur_freq", "3400000\n");
+            this.root.write("cpu0/cpufreq/stats/time_in_state", "3400000 600\n2400000 300\n800000 1010\n");
+            String governor = freqs[0].getGovernor();
+            freqs = sampler.sample();
+            assertEquals(3400000000L, freqs[0].getCurrentFrequency());
+            assertArrayEquals(new long[] { 100 * msPerTick, 0, 10 * msPerTick }, freqs[0].getStateTimes());
+            assertSame(governor, freqs[0].getGovernor());
+
+            sampler.close();
+            assertEquals(0, sampler.sample().length);
+        }
+    }
+
+    /**
+     * Test a system without cpufreq
+     */
+    @Test
+    public void testMissing() {
+        try (LinuxCpuFrequencySampler sampler = new LinuxCpuFrequencySampler("/nonexistent")) {
+            assertEquals(0, sampler.getProcessorCount());
+            assertEquals(0, sampler.sample().length);
+        }
+    }
+
+    /**
+     * Test sampling this system
+     */
+    @Test
+    public void testSystem() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        try (LinuxCpuFrequencySampler sampler = new LinuxCpuFrequencySampler()) {
+            for (CpuFrequency freq : sampler.sample()) {
+                assertTrue(freq.getProcessorNumber() >= 0);
+                assertTrue(freq.getCurrentFrequency() == -1 || freq.getCurrentFrequency() > 0);
+                assertTrue(freq.getMaxFrequency() == -1 || freq.getMaxFrequency() >= freq.getMinFrequency());
+                assertEquals(freq.getStateFrequencies().length, freq.getStateTimes().length);
+            }
+        }
+    }
+}
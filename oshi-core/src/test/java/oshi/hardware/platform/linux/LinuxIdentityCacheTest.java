@@ -0,0 +1,117 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.jna.Platform;
+
+import oshi.hardware.ComputerSystem;
+
+/**
+ * Test the hardware identity cache
+ */
+public class LinuxIdentityCacheTest {
+
+    @Rule
+    public TemporaryFolder root = new TemporaryFolder();
+
+    /**
+     * Test values are reused only within a boot
+     */
+    @Test
+    public void testBootId() {
+        File file = new File(this.root.getRoot(), "cache/identity.properties");
+        LinuxIdentityCache cache = new LinuxIdentityCache(file, "boot-1");
+        assertNull(cache.get("processor.processorID"));
+        cache.put("processor.processorID", "BFEBFBFF000306A9");
+        cache.put("system.model", "Model = \"X\"\n");
+        cache.put("system.serialNumber", null);
+        cache.store();
+        assertTrue(file.isFile());
+        assertEquals(1, file.getParentFile().list().length);
+
+        cache = new LinuxIdentityCache(file, "boot-1");
+        assertEquals("BFEBFBFF000306A9", cache.get("processor.processorID"));
+        assertEquals("Model = \"X\"\n", cache.get("system.model"));
+        assertNull(cache.get("system.serialNumber"));
+
+        cache = new LinuxIdentityCache(file, "boot-2");
+        assertNull(cache.get("processor.processorID"));
+
+        // Without a boot ID nothing is cached
+        File other = new File(this.root.getRoot(), "other.properties");
+        cache = new LinuxIdentityCache(other, "");
+        cache.put("processor.processorID", "BFEBFBFF000306A9");
+        cache.store();
+        assertFalse(other.exists());
+    }
+
+    /**
+     * Test placeholders for unreadable serial numbers are not cached
+     */
+    @Test
+    public void testSerialNumber() {
+        LinuxIdentityCache cache = new LinuxIdentityCache(new File(this.root.getRoot(), "serial.properties"),
+                "boot-1");
+        for (String placeholder : new String[] { null, "", " ", "unknown", "None" }) {
+            cache.putSerialNumber("system.serialNumber", placeholder);
+            assertNull(cache.get("system.serialNumber"));
+        }
+        cache.putSerialNumber("system.serialNumber", "PF0ABCDE");
+        assertEquals("PF0ABCDE", cache.get("system.serialNumber"));
+    }
+
+    /**
+     * Test cached identities match those read from the system
+     */
+    @Test
+    public void testCachedIdentity() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        File file = new File(this.root.getRoot(), "identity.properties");
+        LinuxIdentityCache cache = new LinuxIdentityCache(file);
+        LinuxCentralProcessor processor = new LinuxCentralProcessor(cache);
+        ComputerSystem system = new LinuxComputerSystem(cache);
+        cache.store();
+
+        cache = new LinuxIdentityCache(file);
+        LinuxCentralProcessor cachedProcessor = new LinuxCentralProcessor(cache);
+        ComputerSystem cachedSystem = new LinuxComputerSystem(cache);
+        assertEquals(processor.getProcessorID(), cachedProcessor.getProcessorID());
+        assertEquals(processor.getIdentifier(), cachedProcessor.getIdentifier());
+        assertEquals(processor.getName(), cachedProcessor.getName());
+        assertEquals(processor.isCpu64bit(), cachedProcessor.isCpu64bit());
+        assertEquals(system.getSerialNumber(), cachedSystem.getSerialNumber());
+        assertEquals(system.getModel(), cachedSystem.getModel());
+        assertEquals(system.getFirmware().getVersion(), cachedSystem.getFirmware().getVersion());
+        assertEquals(system.getFirmware().getReleaseDate(), cachedSystem.getFirmware().getReleaseDate());
+        assertEquals(system.getBaseboard().getSerialNumber(), cachedSystem.getBaseboard().getSerialNumber());
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.sun.jna.Platform;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test sampling of /proc/interrupts and /proc/softirqs
+ */
+public class LinuxInterruptSamplerTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private static final String INTERRUPTS_1 = "           CPU0       CPU2       \n"
+            + "  0:         36          0   IO-APIC   2-edge      timer\n"
+            + " 24:       1000       2000   PCI-MSI 524288-edge      eth0-rx-0\n"
+            + "NMI:          5          7   Non-maskable interrupts\n"
+            + "ERR:          3\n";
+
+    private static final String INTERRUPTS_2 = "           CPU0       CPU2       \n"
+            + "  0:         36          0   IO-APIC   2-edge      timer\n"
+            + " 24:       1100       2400   PCI-MSI 524288-edge      eth0-rx-0\n"
+            + "NMI:          5          9   Non-maskable interrupts\n"
+            + "ERR:          4\n"
+            + "MIS:          0";
+
+    /**
+     * Test counts, descriptions and rates between samples
+     */
+    @Test
+    public void testSample() throws IOException {
+        File file = this.root.write("interrupts", INTERRUPTS_1);
+        // A buffer shorter than a line
+        LinuxInterruptSampler sampler = new LinuxInterruptSampler(file.getPath(), 16);
+        assertTrue(sampler.sample(0L));
+        assertArrayEquals(new int[] { 0, 2 }, sampler.getProcessors());
+        assertEquals(4, sampler.getSourceCount());
+        assertEquals("24", sampler.getName(1));
+        assertEquals("PCI-MSI 524288-edge      eth0-rx-0", sampler.getDescription(1));
+        assertEquals("", sampler.getDescription(3));
+        assertArrayEquals(new long[] { 1000, 2000 }, sampler.getCounts()[1]);
+        assertEquals(3000L, sampler.getTotals()[1]);
+        // System-wide count
+        assertEquals("ERR", sampler.getName(3));
+        assertArrayEquals(new long[] { 0, 0 }, sampler.getCounts()[3]);
+        assertEquals(3L, sampler.getTotals()[3]);
+        String description = sampler.getDescription(1);
+        long[][] counts = sampler.getCounts();
+
+        this.root.write("interrupts", INTERRUPTS_2);
+        assertTrue(sampler.sample(2_000_000_000L));
+        assertEquals(5, sampler.getSourceCount());
+        assertEquals("MIS", sampler.getName(4));
+        // Unchanged sources reuse their arrays and Strings
+        assertSame(counts[1], sampler.getCounts()[1]);
+        assertSame(description, sampler.getDescription(1));
+        assertArrayEquals(new long[] { 1100, 2400 }, sampler.getCounts()[1]);
+        assertArrayEquals(new double[] { 50d, 200d }, sampler.getRates()[1], 1e-9);
+        assertEquals(250d, sampler.getTotalRates()[1], 1e-9);
+        assertArrayEquals(new double[] { 0d, 1d }, sampler.getRates()[2], 1e-9);
+        assertEquals(0.5, sampler.getTotalRates()[3], 1e-9);
+        assertArrayEquals(new double[] { 0d, 0d }, sampler.getRates()[0], 1e-9);
+
+        // A removed source
+        this.root.write("interrupts", INTERRUPTS_1);
+        assertTrue(sampler.sample(3_000_000_000L));
+        assertEquals(4, sampler.getSourceCount());
+        assertEquals(4, sampler.getCounts().length);
+
+        // Processor columns changed
+        this.root.write("interrupts", "           CPU0\n  0:         40   IO-APIC   2-edge      timer\n");
+        assertTrue(sampler.sample(4_000_000_000L));
+        assertArrayEquals(new int[] { 0 }, sampler.getProcessors());
+        assertEquals(1, sampler.getSourceCount());
+        assertArrayEquals(new long[] { 40 }, sampler.getCounts()[0]);
+
+        // Unreadable file keeps the previous sample
+        assertTrue(file.delete());
+        assertFalse(sampler.sample(5_000_000_000L));
+        assertEquals(1, sampler.getSourceCount());
+    }
+
+    /**
+     * Test that sources after an added one keep their rates
+     */
+    @Test
+    public void testInsertedSource() throws IOException {
+        File file = this.root.write("interrupts", INTERRUPTS_1);
+        LinuxInterruptSampler sampler = new LinuxInterruptSampler(file.getPath());
+        assertTrue(sampler.sample(0L));
+        String name = sampler.getName(1);
+
+        String rtc = "  8:          0          0   IO-APIC   8-edge      rtc0\n";
+        this.root.write("interrupts", INTERRUPTS_2.replace(" 24:", rtc + " 24:"));
+        assertTrue(sampler.sample(2_000_000_000L));
+        assertEquals(6, sampler.getSourceCount());
+        assertEquals("8", sampler.getName(1));
+        assertArrayEquals(new double[] { 0d, 0d }, sampler.getRates()[1], 1e-9);
+        assertEquals("24", sampler.getName(2));
+        assertSame(name, sampler.getName(2));
+        assertArrayEquals(new double[] { 50d, 200d }, sampler.getRates()[2], 1e-9);
+        assertEquals(250d, sampler.getTotalRates()[2], 1e-9);
+        assertArrayEquals(new double[] { 0d, 1d }, sampler.getRates()[3], 1e-9);
+        assertEquals(0.5, sampler.getTotalRates()[4], 1e-9);
+
+        // And when it is removed again
+        this.root.write("interrupts", INTERRUPTS_2.replace("1100       2400", "1300       2600"));
+        assertTrue(sampler.sample(4_000_000_000L));
+        assertEquals(5, sampler.getSourceCount());
+        assertArrayEquals(new double[] { 100d, 100d }, sampler.getRates()[1], 1e-9);
+        assertArrayEquals(new double[] { 0d, 0d }, sampler.getRates()[2], 1e-9);
+    }
+
+    /**
+     * Test sampling this system
+     */
+    @Test
+    public void testProc() {
+        if (!Platform.isLinux()) {
+            return;
+        }
+        for (String path : new String[] { LinuxInterruptSampler.INTERRUPTS, LinuxInterruptSampler.SOFTIRQS }) {
+            LinuxInterruptSampler sampler = new LinuxInterruptSampler(path);
+            if (!sampler.sample()) {
+                continue;
+            }
+            assertTrue(sampler.getProcessors().length > 0);
+            assertTrue(sampler.getSourceCount() > 0);
+            assertTrue(sampler.sample());
+            for (int i = 0; i < sampler.getSourceCount(); i++) {
+                assertFalse(sampler.getName(i).isEmpty());
+                assertEquals(sampler.getProcessors().length, sampler.getCounts()[i].length);
+                assertTrue(sampler.getTotalRates()[i] >= 0d);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test parsing of scheduler statistics and their rates
+ */
+public class LinuxSchedStatTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    /**
+     * Test reading processor and process statistics
+     */
+    @Test
+    public void testRead() throws IOException {
+        File file = this.root.write("schedstat", "version 15\ntimestamp 4295051526\n"
+                + "cpu0 0 0 10 2 5 3 900000000 100000000 40\n"
+                + "domain0 00000003 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18\n"
+                + "cpu2 0 0 20 4 6 2 800000000 300000000 60\n"
+                + "domain0 0000000c 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18\n");
+        LinuxSchedStat stat = LinuxSchedStat.readProcessors(file.getPath());
+        assertEquals(2, stat.getCount());
+        assertArrayEquals(new int[] { 0, 2 }, stat.getIds());
+        assertArrayEquals(new long[] { 800000000L, 300000000L, 60L }, stat.getValues()[1]);
+
+        stat = LinuxSchedStat.readProcess(42, this.root.write("pid", "82635 1234 7\n").getPath());
+        assertArrayEquals(new int[] { 42 }, stat.getIds());
+        assertArrayEquals(new long[] { 82635L, 1234L, 7L }, stat.getValues()[0]);
+
+        assertEquals(0, LinuxSchedStat.readProcessors("/nonexistent/schedstat").getCount());
+        assertEquals(0, LinuxSchedStat.readProcess(1, "/nonexistent/schedstat").getCount());
+    }
+
+    /**
+     * Test rates, with a processor brought online between snapshots
+     */
+    @Test
+    public void testRatesSince() {
+        LinuxSchedStat previous = new LinuxSchedStat(1000L, new int[] { 0, 2 },
+                new long[][] { { 1000000000L, 0L, 10L }, { 0L, 0L, 0L } });
+        LinuxSchedStat current = new LinuxSchedStat(3000L, new int[] { 0, 1, 2 },
+                new long[][] { { 2600000000L, 500000000L, 30L }, { 5L, 5L, 5L }, { 400000000L, 0L, 8L } });
+        double[][] rates = current.getRatesSince(previous);
+        assertEquals(3, rates.length);
+        assertArrayEquals(new double[] { 0.8, 0.25, 10d }, rates[0], 1e-9);
+        assertArrayEquals(new double[] { 0d, 0d, 0d }, rates[1], 1e-9);
+        assertArrayEquals(new double[] { 0.2, 0d, 4d }, rates[2], 1e-9);
+        // No elapsed time
+        assertArrayEquals(new double[] { 0d, 0d, 0d }, current.getRatesSince(current)[0], 1e-9);
+    }
+}
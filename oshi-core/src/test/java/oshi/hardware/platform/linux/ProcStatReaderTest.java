@@ -0,0 +1,95 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test parsing of /proc/stat
+ */
+public class ProcStatReaderTest {
+
+    private static final String STAT = "cpu  4705 356 584 3699 23 23 0 0 0 0\n"
+            + "cpu0 1393 280 290 1860 11 5 0 0 10 0\n" + "cpu1 3312 76 294 1839 12 18 0 0 0 5\n"
+            + "intr 114930548 113199788 3 0 5 263 0 4 [...]\n" + "ctxt 1990473\n" + "btime 1062191376\n"
+            + "processes 2915\n" + "procs_running 1\n" + "procs_blocked 2\n"
+            + "softirq 183433 0 21755 12 39 1137 231 21459 2263 0 96537\n";
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    /**
+     * Test a snapshot
+     */
+    @Test
+    public void testRead() throws IOException {
+        ProcStatReader reader = new ProcStatReader(this.root.write(STAT).getPath());
+        // 1000 seconds after boot
+        LinuxProcStat stat = reader.read(1062192376000L);
+        assertArrayEquals(new long[] { 4705, 356, 584, 3699, 23, 23, 0, 0, 0, 0 }, stat.getCpuTicks());
+        assertArrayEquals(new long[] { 4705, 356, 584, 3699, 23, 23, 0, 0 }, stat.getSystemCpuLoadTicks());
+        assertEquals(2, stat.getProcessorCount());
+        assertEquals(10L, stat.getProcessorTicks()[0][LinuxProcStat.GUEST]);
+        assertEquals(5L, stat.getProcessorTicks()[1][LinuxProcStat.GUEST_NICE]);
+        assertEquals(114930548L, stat.getInterrupts());
+        assertEquals(1990473L, stat.getContextSwitches());
+        assertEquals(1062191376L, stat.getBootTime());
+        assertEquals(2915L, stat.getProcessesCreated());
+        assertEquals(1, stat.getProcessesRunning());
+        assertEquals(2, stat.getProcessesBlocked());
+        assertEquals(183433L, stat.getSoftInterrupts());
+        // First snapshot rates are averages since boot
+        assertEquals(1990.473, stat.getContextSwitchRate(), 1e-9);
+        assertEquals(2.915, stat.getProcessCreationRate(), 1e-9);
+    }
+
+    /**
+     * Test rates between snapshots
+     */
+    @Test
+    public void testRates() throws IOException {
+        ProcStatReader reader = new ProcStatReader(this.root.write("stat", STAT).getPath());
+        reader.read(1062192376000L);
+        this.root.write("stat",
+                STAT.replace("ctxt 1990473", "ctxt 1992473").replace("processes 2915", "processes 2925"));
+        LinuxProcStat stat = reader.read(1062192378000L);
+        assertEquals(1000d, stat.getContextSwitchRate(), 1e-9);
+        assertEquals(5d, stat.getProcessCreationRate(), 1e-9);
+        assertEquals(0d, stat.getInterruptRate(), 1e-9);
+    }
+
+    /**
+     * Test a missing file
+     */
+    @Test
+    public void testMissing() {
+        LinuxProcStat stat = new ProcStatReader("/nonexistent/stat").read();
+        assertEquals(0, stat.getProcessorCount());
+        assertEquals(8, stat.getSystemCpuLoadTicks().length);
+        assertEquals(0d, stat.getContextSwitchRate(), 1e-9);
+    }
+}
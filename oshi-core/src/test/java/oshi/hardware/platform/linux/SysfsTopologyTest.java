@@ -0,0 +1,149 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.hardware.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.hardware.ProcessorTopology;
+import oshi.hardware.ProcessorTopology.Cache;
+import oshi.hardware.ProcessorTopology.LogicalProcessor;
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test reading the processor topology from sysfs
+ */
+public class SysfsTopologyTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private void writeCpu(int cpu, int packageId, int coreId, String l2Shared, String l3Shared)
+            throws IOException {
+        String dir = "cpu/cpu" + cpu + "/";
+        this.root.write(dir + "topology/physical_package_id", packageId + "\n");
+        this.root.write(dir + "topology/core_id", coreId + "\n");
+        this.root.write(dir + "cache/index0/level", "1\n");
+        this.root.write(dir + "cache/index0/type", "Data\n");
+        this.root.write(dir + "cache/index0/size", "32K\n");
+        this.root.write(dir + "cache/index0/coherency_line_size", "64\n");
+        this.root.write(dir + "cache/index0/ways_of_associativity", "8\n");
+        this.root.write(dir + "cache/index0/shared_cpu_list", l2Shared + "\n");
+        this.root.write(dir + "cache/index2/level", "3\n");
+        this.root.write(dir + "cache/index2/type", "Unified\n");
+        this.root.write(dir + "cache/index2/size", "8M\n");
+        this.root.write(dir + "cache/index2/shared_cpu_list", l3Shared + "\n");
+    }
+
+    /**
+     * Test two packages of two cores of two threads, one processor offline
+     */
+    @Test
+    public void testRead() throws IOException {
+        // Threads of a core are numbered n and n + 4
+        writeCpu(0, 0, 0, "0,4", "0-1,4-5");
+        writeCpu(1, 0, 1, "1,5", "0-1,4-5");
+        writeCpu(2, 1, 0, "2,6", "2-3,6-7");
+        writeCpu(3, 1, 1, "3,7", "2-3,6-7");
+        writeCpu(4, 0, 0, "0,4", "0-1,4-5");
+        writeCpu(5, 0, 1, "1,5", "0-1,4-5");
+        writeCpu(6, 1, 0, "2,6", "2-3,6-7");
+        new File(this.root.getRoot(), "cpu/cpu7").mkdirs();
+        this.root.write("cpu/online", "0-6\n");
+        this.root.write("node/node0/cpulist", "0-1,4-5\n");
+        this.root.write("node/node1/cpulist", "2-3,6-7\n");
+
+        ProcessorTopology topology = SysfsTopology.read(new File(this.root.getRoot(), "cpu").getPath(),
+                new File(this.root.getRoot(), "node").getPath());
+        LogicalProcessor[] processors = topology.getLogicalProcessors();
+        assertEquals(7, processors.length);
+        assertEquals(4, topology.getCoreCount());
+        assertEquals(2, topology.getPackageCount());
+        assertEquals(2, topology.getNodeCount());
+        assertArrayEquals(new int[] { 0, 1 }, topology.getNodeIds());
+
+        assertEquals(6, processors[6].getProcessorNumber());
+        assertEquals(1, processors[6].getPackageId());
+        assertEquals(0, processors[6].getCoreId());
+        assertEquals(1, processors[6].getThreadId());
+        assertEquals(1, processors[6].getNodeId());
+        assertEquals(0, processors[2].getThreadId());
+        assertEquals(topology.getCoreIndex(2), topology.getCoreIndex(6));
+        assertEquals(topology.getCoreIndex(0), topology.getCoreIndex(4));
+
+        // Four L1 and two L3, each listed once
+        Cache[] caches = topology.getCaches();
+        assertEquals(6, caches.length);
+        assertEquals(1, caches[0].getLevel());
+        assertEquals("Data", caches[0].getType());
+        assertEquals(32768L, caches[0].getSize());
+        assertEquals(64, caches[0].getLineSize());
+        assertEquals(8, caches[0].getAssociativity());
+        assertArrayEquals(new int[] { 0, 4 }, caches[0].getSharedProcessors());
+        assertEquals(3, caches[1].getLevel());
+        assertEquals(8L << 20, caches[1].getSize());
+        assertEquals(0, caches[1].getLineSize());
+        assertArrayEquals(new int[] { 0, 1, 4, 5 }, caches[1].getSharedProcessors());
+    }
+
+    /**
+     * Test per-core, package and node averages
+     */
+    @Test
+    public void testAggregate() throws IOException {
+        writeCpu(0, 0, 0, "0,2", "0-3");
+        writeCpu(1, 0, 1, "1,3", "0-3");
+        writeCpu(2, 0, 0, "0,2", "0-3");
+        writeCpu(3, 0, 1, "1,3", "0-3");
+        // No online or node files
+        ProcessorTopology topology = SysfsTopology.read(new File(this.root.getRoot(), "cpu").getPath(),
+                new File(this.root.getRoot(), "node").getPath());
+        assertEquals(4, topology.getLogicalProcessors().length);
+        assertEquals(1, topology.getNodeCount());
+
+        double[] cores = new double[2];
+        double[] packages = { 5d };
+        double[] nodes = new double[1];
+        topology.aggregate(new double[] { 1d, 0.5, 0d, 0.25 }, cores, packages, nodes);
+        assertArrayEquals(new double[] { 0.5, 0.375 }, cores, 1e-9);
+        assertArrayEquals(new double[] { 0.4375 }, packages, 1e-9);
+        assertArrayEquals(new double[] { 0.4375 }, nodes, 1e-9);
+        // Skipped levels
+        topology.aggregate(new double[] { 1d, 1d, 1d, 1d }, cores, null, null);
+        assertArrayEquals(new double[] { 1d, 1d }, cores, 1e-9);
+    }
+
+    /**
+     * Test cache size parsing
+     */
+    @Test
+    public void testParseSize() {
+        assertEquals(49152L, SysfsTopology.parseSize("48K\n"));
+        assertEquals(1L << 21, SysfsTopology.parseSize("2M"));
+        assertEquals(512L, SysfsTopology.parseSize("512"));
+        assertEquals(0L, SysfsTopology.parseSize("foo"));
+        assertEquals(0L, SysfsTopology.parseSize(""));
+    }
+}
@@ -19,12 +19,23 @@
 package oshi.software.os;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.junit.Test;
 
 import oshi.SystemInfo;
+import oshi.software.common.ProcessCpuSampler;
+import oshi.software.common.ProcessIoSampler;
+import oshi.software.os.OperatingSystem.ProcessField;
+import oshi.software.os.linux.LinuxOperatingSystem;
 
 /**
  * Test OS
@@ -75,6 +86,482 @@ public class OperatingSystemTest {
         assertTrue(proc.getBytesWritten() >= 0);
     }
 
+    /**
+     * Test parallel process scan on Linux
+     */
+    @Test
+    public void testParallelProcessScan() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        if (os instanceof LinuxOperatingSystem) {
+            LinuxOperatingSystem linux = (LinuxOperatingSystem) os;
+            linux.setProcessScanParallelism(4);
+            assertEquals(4, linux.getProcessScanParallelism());
+            OSProcess[] procs = linux.getProcesses(0, OperatingSystem.ProcessSort.PID);
+            boolean found = false;
+            for (int i = 0; i < procs.length; i++) {
+                assertNotNull(procs[i]);
+                if (i > 0) {
+                    assertTrue(procs[i - 1].getProcessID() < procs[i].getProcessID());
+                }
+                found |= procs[i].getProcessID() == os.getProcessId();
+            }
+            assertTrue(found);
+            linux.setProcessScanParallelism(1);
+        }
+    }
+
+    /**
+     * Test sorting and limiting processes
+     */
+    @Test
+    public void testProcessSortLimit() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        for (OperatingSystem.ProcessSort sort : OperatingSystem.ProcessSort.values()) {
+            OSProcess[] procs = os.getProcesses(3, sort);
+            assertTrue(procs.length > 0 && procs.length <= 3);
+            for (int i = 1; i < procs.length; i++) {
+                switch (sort) {
+                case MEMORY:
+                    assertTrue(procs[i - 1].getResidentSetSize() >= procs[i].getResidentSetSize());
+                    break;
+                case PID:
+                    assertTrue(procs[i - 1].getProcessID() < procs[i].getProcessID());
+                    break;
+                case PARENTPID:
+                    assertTrue(procs[i - 1].getParentProcessID() <= procs[i].getParentProcessID());
+                    break;
+                case NAME:
+                    assertTrue(procs[i - 1].getName().toLowerCase()
+                            .compareTo(procs[i].getName().toLowerCase()) <= 0);
+                    break;
+                case RECENT_CPU:
+                    assertTrue(procs[i - 1].getRecentCpuLoad() >= procs[i].getRecentCpuLoad());
+                    break;
+                case READ_RATE:
+                    assertTrue(procs[i - 1].getBytesReadRate() >= procs[i].getBytesReadRate());
+                    break;
+                case WRITE_RATE:
+                    assertTrue(procs[i - 1].getBytesWrittenRate() >= procs[i].getBytesWrittenRate());
+                    break;
+                case IO_RATE:
+                    assertTrue(procs[i - 1].getBytesReadRate() + procs[i - 1].getBytesWrittenRate() >= procs[i]
+                            .getBytesReadRate() + procs[i].getBytesWrittenRate());
+                    break;
+                default:
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Test process start time against the JVM's own record of it
+     */
+    @Test
+    public void testProcessStartTime() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        if (!(os instanceof LinuxOperatingSystem)) {
+            return;
+        }
+        OSProcess self = os.getProcess(os.getProcessId());
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        assertTrue(Math.abs(self.getStartTime() - jvmStart) < 5000L);
+        assertTrue(self.getUpTime() >= self.getKernelTime() + self.getUserTime());
+    }
+
+    /**
+     * Test process memory breakdown
+     */
+    @Test
+    public void testProcessMemory() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        OSProcessMemory mem = os.getProcessMemory(os.getProcessId());
+        if (!(os instanceof LinuxOperatingSystem)) {
+            assertEquals(0, os.getProcessMemory(3, 0).length);
+            return;
+        }
+        if (mem == null) {
+            // smaps not readable in this environment
+            return;
+        }
+        assertEquals(os.getProcessId(), mem.getProcessID());
+        assertTrue(mem.getProportionalSetSize() > 0);
+        assertTrue(mem.getUniqueSetSize() <= mem.getProportionalSetSize());
+        assertTrue(mem.getProportionalSetSize() <= mem.getResidentSetSize());
+        OSProcessMemory[] top = os.getProcessMemory(3, 0);
+        assertTrue(top.length <= 3);
+        assertTrue(os.getProcessMemory(0, 1).length <= os.getProcessCount());
+    }
+
+    /**
+     * Test the control group tree
+     */
+    @Test
+    public void testControlGroupTree() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        ControlGroupTree tree = os.getControlGroupTree();
+        assertEquals(0, tree.getGroups().length);
+        tree.refresh();
+        tree.refresh();
+        ControlGroup[] groups = tree.getGroups();
+        if (tree.getVersion() == 0) {
+            assertEquals(0, groups.length);
+            return;
+        }
+        assertTrue(groups.length > 0);
+        assertEquals("/", groups[0].getPath());
+        int children = 0;
+        for (int i = 0; i < groups.length; i++) {
+            ControlGroup group = groups[i];
+            assertTrue(group == tree.getGroup(group.getPath()));
+            assertTrue(group.getCpuUsageRate() >= 0d);
+            assertTrue(group.getMemoryLimit() >= -1L);
+            if (i > 0) {
+                assertTrue(groups[i - 1].getPath().compareTo(group.getPath()) < 0);
+            }
+            for (ControlGroup child : tree.getChildren(group.getPath())) {
+                assertTrue(child.getPath().startsWith(group.getPath()));
+                children++;
+            }
+        }
+        // Every group but the root is the child of one group
+        assertEquals(groups.length - 1, children);
+        assertNull(tree.getGroup("/no such group"));
+        assertEquals(0, tree.getChildren("/no such group").length);
+
+        OSProcess proc = os.getProcess(os.getProcessId());
+        if (!proc.getControlGroup().isEmpty()) {
+            assertTrue(proc.getControlGroup().startsWith("/"));
+        }
+    }
+
+    /**
+     * Test file descriptor counts
+     */
+    @Test
+    public void testProcessFileDescriptors() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        OSProcessFileDescriptors fds = os.getProcessFileDescriptors(os.getProcessId(), true);
+        if (!(os instanceof LinuxOperatingSystem)) {
+            assertNull(fds);
+            return;
+        }
+        assertNotNull(fds);
+        assertTrue(fds.getOpenCount() > 0);
+        assertNull(os.getProcessFileDescriptors(-1, false));
+    }
+
+    /**
+     * Test filtering processes
+     */
+    @Test
+    public void testProcessFilter() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        OSProcess self = os.getProcess(os.getProcessId());
+
+        ProcessFilter filter = new ProcessFilter();
+        filter.setNames(self.getName());
+        filter.setParentProcessIDs(self.getParentProcessID());
+        filter.setUserIDs(self.getUserID());
+        OSProcess[] procs = os.getProcesses(filter, 0, OperatingSystem.ProcessSort.PID);
+        boolean foundSelf = false;
+        for (OSProcess proc : procs) {
+            assertTrue(filter.matches(proc));
+            assertEquals(self.getUser(), proc.getUser());
+            if (proc.getProcessID() == self.getProcessID()) {
+                foundSelf = true;
+                assertEquals(self.getCommandLine(), proc.getCommandLine());
+            }
+        }
+        assertTrue(foundSelf);
+        assertEquals(1, os.getProcesses(filter, 1, OperatingSystem.ProcessSort.MEMORY).length);
+
+        filter.setUsers("no such user");
+        assertEquals(0, os.getProcesses(filter, 0, null).length);
+
+        ProcessFilter stateFilter = new ProcessFilter();
+        stateFilter.setStates(OSProcess.State.NEW);
+        assertFalse(stateFilter.matchesBasic(self));
+        assertTrue(stateFilter.matchesOwner(self));
+    }
+
+    /**
+     * Test threads of the current process
+     */
+    @Test
+    public void testThreads() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        int pid = os.getProcessId();
+        OSThread[] threads = os.getThreads(pid);
+        if (!(os instanceof LinuxOperatingSystem)) {
+            assertEquals(0, threads.length);
+            return;
+        }
+        assertTrue(threads.length > 1);
+        boolean foundMain = false;
+        for (int i = 0; i < threads.length; i++) {
+            OSThread thread = threads[i];
+            assertEquals(pid, thread.getProcessID());
+            assertTrue(thread.getStartTime() > 0);
+            assertTrue(thread.getRecentCpuLoad() >= 0d);
+            if (i > 0) {
+                assertTrue(threads[i - 1].getThreadID() < thread.getThreadID());
+            }
+            if (thread.getThreadID() == pid) {
+                foundMain = true;
+            }
+        }
+        assertTrue(foundMain);
+        assertEquals(0, os.getThreads(-1).length);
+    }
+
+    /**
+     * Test CPU usage between samples
+     */
+    @Test
+    public void testProcessCpuSampler() {
+        ProcessCpuSampler sampler = new ProcessCpuSampler(2);
+        OSProcess proc = new OSProcess();
+        proc.setProcessID(100);
+        proc.setStartTime(5000L);
+        proc.setUserTime(1000L);
+        proc.setUpTime(10000L);
+        // First sample is the lifetime average
+        assertEquals(0.1, sampler.sample(proc), 1e-9);
+
+        proc.setKernelTime(500L);
+        proc.setUserTime(2000L);
+        proc.setUpTime(12000L);
+        sampler.sample(Arrays.asList(proc));
+        assertEquals(0.75, proc.getRecentCpuLoad(), 1e-9);
+        // No time passed
+        assertEquals(0.75, sampler.sample(proc), 1e-9);
+
+        // Reused process ID
+        OSProcess reused = new OSProcess();
+        reused.setProcessID(100);
+        reused.setStartTime(20000L);
+        reused.setUpTime(1000L);
+        assertEquals(0d, sampler.sample(reused), 1e-9);
+        assertEquals(2, sampler.size());
+
+        // Least recently sampled is evicted
+        OSProcess other = new OSProcess();
+        other.setProcessID(200);
+        other.setUserTime(100L);
+        other.setUpTime(1000L);
+        sampler.sample(other);
+        assertEquals(2, sampler.size());
+        proc.setUserTime(3000L);
+        proc.setUpTime(14000L);
+        assertEquals(3500 / 14000d, sampler.sample(proc), 1e-9);
+
+        sampler.clear();
+        assertEquals(0, sampler.size());
+    }
+
+    /**
+     * Test I/O rates between samples
+     */
+    @Test
+    public void testProcessIoSampler() {
+        ProcessIoSampler sampler = new ProcessIoSampler(2);
+        OSProcess proc = new OSProcess();
+        proc.setProcessID(100);
+        proc.setStartTime(5000L);
+        proc.setBytesRead(10000L);
+        proc.setReadCalls(50L);
+        proc.setUpTime(10000L);
+        // First sample is the lifetime average
+        sampler.sample(proc);
+        assertEquals(1000d, proc.getBytesReadRate(), 1e-9);
+        assertEquals(5d, proc.getReadCallsRate(), 1e-9);
+        assertEquals(0d, proc.getBytesWrittenRate(), 1e-9);
+
+        proc.setBytesRead(12000L);
+        proc.setBytesWritten(4000L);
+        proc.setWriteCalls(8L);
+        proc.setCancelledBytesWritten(1000L);
+        proc.setUpTime(12000L);
+        sampler.sample(Arrays.asList(proc));
+        assertEquals(1000d, proc.getBytesReadRate(), 1e-9);
+        assertEquals(2000d, proc.getBytesWrittenRate(), 1e-9);
+        assertEquals(0d, proc.getReadCallsRate(), 1e-9);
+        assertEquals(4d, proc.getWriteCallsRate(), 1e-9);
+        assertEquals(500d, proc.getCancelledBytesWrittenRate(), 1e-9);
+        // No time passed
+        sampler.sample(proc);
+        assertEquals(2000d, proc.getBytesWrittenRate(), 1e-9);
+
+        // Reused process ID
+        OSProcess reused = new OSProcess();
+        reused.setProcessID(100);
+        reused.setStartTime(20000L);
+        reused.setBytesRead(500L);
+        reused.setUpTime(1000L);
+        sampler.sample(reused);
+        assertEquals(500d, reused.getBytesReadRate(), 1e-9);
+        assertEquals(2, sampler.size());
+
+        // Counters going backwards give zero rather than negative rates
+        reused.setBytesRead(0L);
+        reused.setUpTime(2000L);
+        sampler.sample(reused);
+        assertEquals(0d, reused.getBytesReadRate(), 1e-9);
+
+        sampler.clear();
+        assertEquals(0, sampler.size());
+    }
+
+    /**
+     * Test I/O rate sorts of all processes collect the I/O counters even if
+     * only other fields are requested
+     */
+    @Test
+    public void testProcessIoSortAll() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        Set<ProcessField> fields = EnumSet.of(ProcessField.NAME);
+        for (OperatingSystem.ProcessSort sort : new OperatingSystem.ProcessSort[] {
+                OperatingSystem.ProcessSort.READ_RATE, OperatingSystem.ProcessSort.IO_RATE }) {
+            OSProcess[] procs = os.getProcesses(0, sort, fields);
+            assertTrue(procs.length > 0);
+            boolean read = false;
+            for (int i = 0; i < procs.length; i++) {
+                assertTrue(procs[i].isCollected(ProcessField.BYTES_READ));
+                read |= procs[i].getReadCalls() > 0;
+                if (i > 0 && sort == OperatingSystem.ProcessSort.READ_RATE) {
+                    assertTrue(procs[i - 1].getBytesReadRate() >= procs[i].getBytesReadRate());
+                } else if (i > 0) {
+                    assertTrue(procs[i - 1].getBytesReadRate() + procs[i - 1].getBytesWrittenRate() >= procs[i]
+                            .getBytesReadRate() + procs[i].getBytesWrittenRate());
+                }
+            }
+            if (os instanceof LinuxOperatingSystem) {
+                // At least this process has made read calls
+                assertTrue(read);
+            }
+        }
+    }
+
+    /**
+     * Test collecting selected process fields
+     */
+    @Test
+    public void testProcessFields() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        OSProcess[] procs = os.getProcesses(5, OperatingSystem.ProcessSort.MEMORY,
+                EnumSet.of(ProcessField.NAME, ProcessField.RESIDENT_SET_SIZE));
+        assertTrue(procs.length > 0 && procs.length <= 5);
+        for (OSProcess proc : procs) {
+            assertTrue(proc.isCollected(ProcessField.NAME));
+            assertTrue(proc.isCollected(ProcessField.RESIDENT_SET_SIZE));
+            if (!proc.isCollected(ProcessField.COMMAND_LINE)) {
+                assertEquals("", proc.getCommandLine());
+            }
+            if (!proc.isCollected(ProcessField.BYTES_READ)) {
+                assertEquals(0L, proc.getBytesRead());
+            }
+        }
+        for (int i = 1; i < procs.length; i++) {
+            assertTrue(procs[i - 1].getResidentSetSize() >= procs[i].getResidentSetSize());
+        }
+        if (os instanceof LinuxOperatingSystem) {
+            assertFalse(procs[0].isCollected(ProcessField.PATH));
+            assertFalse(procs[0].isCollected(ProcessField.USER));
+        }
+        for (OSProcess proc : os.getProcesses(0, null, null)) {
+            assertTrue(proc.isCollected(ProcessField.CURRENT_WORKING_DIRECTORY));
+        }
+        if (os instanceof LinuxOperatingSystem) {
+            // Loaded on demand rather than collected by default
+            OSProcess proc = os.getProcess(os.getProcessId());
+            assertFalse(proc.isCollected(ProcessField.CONTROL_GROUP));
+            proc.getControlGroup();
+            assertTrue(proc.isCollected(ProcessField.CONTROL_GROUP));
+        }
+    }
+
+    /**
+     * Test process table refresh and differences
+     */
+    @Test
+    public void testProcessTable() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        ProcessTable table = os.getProcessTable();
+        assertEquals(0, table.getProcesses().length);
+
+        table.refresh();
+        OSProcess[] procs = table.getProcesses();
+        assertTrue(procs.length > 0);
+        assertEquals(procs.length, table.getStartedProcesses().length);
+        assertEquals(0, table.getExitedProcesses().length);
+        assertEquals(0, table.getChangedProcesses().length);
+
+        table.refresh();
+        OSProcess self = null;
+        for (OSProcess proc : table.getProcesses()) {
+            if (proc.getProcessID() == os.getProcessId()) {
+                self = proc;
+            }
+        }
+        assertNotNull(self);
+        for (OSProcess proc : table.getStartedProcesses()) {
+            assertTrue(proc.getProcessID() != os.getProcessId());
+        }
+        for (OSProcess proc : table.getExitedProcesses()) {
+            assertTrue(proc.getProcessID() != os.getProcessId());
+        }
+        OSProcess first = os.getProcess(os.getProcessId());
+        assertEquals(first.getStartTime(), self.getStartTime());
+        assertEquals(first.getCommandLine(), self.getCommandLine());
+        assertEquals(first.getUser(), self.getUser());
+    }
+
+    /**
+     * Test lazy loading of process values
+     */
+    @Test
+    public void testLazyProcessLoading() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        if (!(os instanceof LinuxOperatingSystem)) {
+            return;
+        }
+        LinuxOperatingSystem linux = (LinuxOperatingSystem) os;
+        OSProcess eager = linux.getProcess(linux.getProcessId());
+        linux.setLazyProcessLoading(true);
+        try {
+            assertTrue(linux.isLazyProcessLoading());
+            OSProcess lazy = linux.getProcess(linux.getProcessId());
+            assertTrue(lazy.isCollected(ProcessField.NAME));
+            assertFalse(lazy.isCollected(ProcessField.COMMAND_LINE));
+            assertFalse(lazy.isCollected(ProcessField.USER_ID));
+            assertEquals(eager.getCommandLine(), lazy.getCommandLine());
+            assertTrue(lazy.isCollected(ProcessField.COMMAND_LINE));
+            assertEquals(eager.getUser(), lazy.getUser());
+            assertTrue(lazy.isCollected(ProcessField.USER_ID));
+            assertTrue(lazy.isCollected(ProcessField.GROUP));
+            assertEquals(eager.getPath(), lazy.getPath());
+
+            OSProcess[] procs = linux.getProcesses(0, null);
+            assertTrue(procs.length > 0);
+            assertFalse(procs[0].isCollected(ProcessField.CURRENT_WORKING_DIRECTORY));
+        } finally {
+            linux.setLazyProcessLoading(false);
+        }
+    }
+
     /**
      * Test OSProcess setters and getters
      */
@@ -0,0 +1,107 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import oshi.SystemInfo;
+
+/**
+ * Test process tree
+ */
+public class ProcessTreeTest {
+
+    private static OSProcess proc(int pid, int ppid, long rss) {
+        OSProcess proc = new OSProcess();
+        proc.setProcessID(pid);
+        proc.setParentProcessID(ppid);
+        proc.setResidentSetSize(rss);
+        proc.setUserTime(rss / 10);
+        proc.setBytesRead(rss * 2);
+        return proc;
+    }
+
+    /**
+     * Test queries on a known tree
+     */
+    @Test
+    public void testProcessTree() {
+        // 1 -> 10 -> 100, 101 -> 1000
+        // 1 -> 20
+        // 50 -> 51 (parent of 50 not listed)
+        // 60 <-> 61 (pid reuse cycle)
+        ProcessTree tree = new ProcessTree(new OSProcess[] { proc(1, 0, 1), proc(10, 1, 10), proc(100, 10, 100),
+                proc(101, 10, 1000), proc(1000, 101, 10000), proc(20, 1, 20), proc(50, 49, 50), proc(51, 50, 51),
+                proc(60, 61, 60), proc(61, 60, 61) });
+        assertEquals(10, tree.size());
+        assertEquals(2, tree.getRoots().length);
+        assertNull(tree.getProcess(49));
+
+        assertEquals(2, tree.getChildren(10).length);
+        assertEquals(0, tree.getChildren(1000).length);
+        assertEquals(0, tree.getChildren(999).length);
+
+        OSProcess[] descendants = tree.getDescendants(10);
+        assertEquals(3, descendants.length);
+        assertEquals(1000, descendants[2].getProcessID());
+        assertEquals(5, tree.getDescendants(1).length);
+        assertEquals(0, tree.getDescendants(999).length);
+
+        OSProcess[] ancestors = tree.getAncestors(1000);
+        assertEquals(3, ancestors.length);
+        assertEquals(101, ancestors[0].getProcessID());
+        assertEquals(1, ancestors[2].getProcessID());
+        assertEquals(0, tree.getAncestors(1).length);
+        assertEquals(1, tree.getAncestors(51).length);
+
+        ProcessTree.Totals totals = tree.getSubtreeTotals(10);
+        assertEquals(4, totals.getProcessCount());
+        assertEquals(11110L, totals.getResidentSetSize());
+        assertEquals(1111L, totals.getUserTime());
+        assertEquals(22220L, totals.getBytesRead());
+        assertEquals(0, tree.getSubtreeTotals(999).getProcessCount());
+
+        // Cycles terminate
+        assertEquals(1, tree.getDescendants(60).length);
+        assertEquals(1, tree.getAncestors(60).length);
+        assertEquals(2, tree.getSubtreeTotals(61).getProcessCount());
+    }
+
+    /**
+     * Test the tree of running processes
+     */
+    @Test
+    public void testRunningProcessTree() {
+        SystemInfo si = new SystemInfo();
+        OperatingSystem os = si.getOperatingSystem();
+        ProcessTree tree = os.getProcessTree();
+        assertTrue(tree.size() > 0);
+        assertTrue(tree.getRoots().length > 0);
+        int pid = os.getProcessId();
+        assertNotNull(tree.getProcess(pid));
+        ProcessTree.Totals totals = tree.getSubtreeTotals(pid);
+        assertTrue(totals.getProcessCount() >= 1);
+        assertTrue(totals.getResidentSetSize() >= tree.getProcess(pid).getResidentSetSize());
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.sun.jna.Platform;
+
+import oshi.software.os.OSProcessFileDescriptors;
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test /proc/[pid]/fd and /proc/[pid]/limits parsing
+ */
+public class FdReaderTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private static int classify(String target) {
+        byte[] bytes = target.getBytes(StandardCharsets.US_ASCII);
+        return FdReader.classify(bytes, Math.min(bytes.length, 16));
+    }
+
+    /**
+     * Test classifying link targets
+     */
+    @Test
+    public void testClassify() {
+        assertEquals(FdReader.FILE, classify("/usr/lib/x86_64-linux-gnu/libc.so.6"));
+        assertEquals(FdReader.FILE, classify("/dev/null"));
+        assertEquals(FdReader.SOCKET, classify("socket:[123456789]"));
+        assertEquals(FdReader.PIPE, classify("pipe:[42]"));
+        assertEquals(FdReader.ANON_INODE, classify("anon_inode:[eventpoll]"));
+        assertEquals(FdReader.ANON_INODE, classify("anon_inode:inotify"));
+        assertEquals(FdReader.OTHER, classify("net:[4026531840]"));
+        assertEquals(FdReader.OTHER, classify("sock"));
+        assertEquals(FdReader.OTHER, classify(""));
+    }
+
+    /**
+     * Test classifying links read without the direct mapping
+     */
+    @Test
+    public void testReadTypeFromPath() throws IOException {
+        assumeTrue(Platform.isLinux());
+        Path dir = this.root.getRoot().toPath();
+        assertEquals(FdReader.SOCKET,
+                FdReader.readType(Files.createSymbolicLink(dir.resolve("3"), Paths.get("socket:[123456789]"))));
+        assertEquals(FdReader.FILE, FdReader.readType(Files.createSymbolicLink(dir.resolve("4"), Paths.get("/dev/null"))));
+        assertEquals(FdReader.OTHER, FdReader.readType(dir.resolve("5")));
+    }
+
+    /**
+     * Test parsing limits
+     */
+    @Test
+    public void testLimits() throws IOException {
+        String limits = "Limit                     Soft Limit           Hard Limit           Units     \n"
+                + "Max cpu time              unlimited            unlimited            seconds   \n"
+                + "Max open files            1024                 524288               files     \n"
+                + "Max locked memory         8388608              8388608              bytes     \n";
+        File file = this.root.write(limits);
+        OSProcessFileDescriptors fds = new OSProcessFileDescriptors();
+        fds.setOpenCount(24);
+        FdReader.readLimits(file.getPath(), fds);
+        assertEquals(1024L, fds.getSoftLimit());
+        assertEquals(524288L, fds.getHardLimit());
+        assertEquals(1000L, fds.getHeadroom());
+
+        file = this.root.write(limits.replace("1024  ", "unlimited"));
+        fds = new OSProcessFileDescriptors();
+        FdReader.readLimits(file.getPath(), fds);
+        assertEquals(-1L, fds.getSoftLimit());
+        assertEquals(-1L, fds.getHeadroom());
+    }
+
+    /**
+     * Test counting the descriptors of this process
+     */
+    @Test
+    public void testReadSelf() throws IOException {
+        assumeTrue(Platform.isLinux());
+        int pid = Integer.parseInt(new File("/proc/self").getCanonicalFile().getName());
+        try (ServerSocket socket = new ServerSocket(0)) {
+            Pipe pipe = Pipe.open();
+            try {
+                OSProcessFileDescriptors fds = FdReader.get().read(pid, false);
+                assertNotNull(fds);
+                assertEquals(pid, fds.getProcessID());
+                assertTrue(fds.isTypesCounted());
+                assertTrue(fds.getSocketCount() >= 1);
+                assertTrue(fds.getPipeCount() >= 2);
+                assertTrue(fds.getFileCount() >= 1);
+                assertEquals(fds.getOpenCount(), fds.getFileCount() + fds.getSocketCount() + fds.getPipeCount()
+                        + fds.getAnonInodeCount() + fds.getOtherCount());
+                assertTrue(fds.getSoftLimit() < 0 || fds.getSoftLimit() >= fds.getOpenCount());
+
+                OSProcessFileDescriptors count = FdReader.get().read(pid, true);
+                assertFalse(count.isTypesCounted());
+                assertEquals(0L, count.getSocketCount());
+                assertTrue(count.getOpenCount() >= 4);
+                assertEquals(fds.getSoftLimit(), count.getSoftLimit());
+            } finally {
+                pipe.source().close();
+                pipe.sink().close();
+            }
+        }
+        assertNull(FdReader.get().read(-1, false));
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test /proc/[pid]/stat parsing
+ */
+public class ProcStatParserTest {
+
+    private static final String REST = " 1 2 3 4 -1 4194560 100 0 0 0 250 70 0 0 -21 0 7 0 12345 4096000 512"
+            + " 18446744073709551615 1 1 0 0 0 0 0 0 0 0 0 0 17 1 0 0 0 0 0\n";
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private void check(ProcStatParser parser, String name) throws IOException {
+        File file = this.root.write("4242 (" + name + ") S" + REST);
+        assertTrue(parser.read(file.getPath()));
+        assertEquals(name, parser.getName());
+        assertEquals('S', parser.getState());
+        assertEquals(4242L, parser.get(ProcStatParser.PID));
+        assertEquals(1L, parser.get(ProcStatParser.PPID));
+        assertEquals(250L, parser.get(ProcStatParser.UTIME));
+        assertEquals(70L, parser.get(ProcStatParser.STIME));
+        assertEquals(-21L, parser.get(ProcStatParser.PRIORITY));
+        assertEquals(7L, parser.get(ProcStatParser.NUM_THREADS));
+        assertEquals(12345L, parser.get(ProcStatParser.STARTTIME));
+        assertEquals(4096000L, parser.get(ProcStatParser.VSIZE));
+        assertEquals(512L, parser.get(ProcStatParser.RSS));
+        // Unsigned 64-bit values wrap
+        assertEquals(-1L, parser.get(ProcStatParser.RSS + 1));
+        assertEquals(0L, parser.get(60));
+    }
+
+    /**
+     * Test command names which break whitespace splitting
+     */
+    @Test
+    public void testNames() throws IOException {
+        ProcStatParser parser = new ProcStatParser();
+        check(parser, "bash");
+        check(parser, "Web Content");
+        check(parser, "a) b (c");
+        check(parser, ") )");
+        check(parser, "");
+        check(parser, "kworker/0:1H-ev");
+        check(parser, "été 1");
+    }
+
+    /**
+     * Test files which cannot be parsed
+     */
+    @Test
+    public void testMalformed() throws IOException {
+        ProcStatParser parser = new ProcStatParser();
+        assertFalse(parser.read("/proc/-1/stat"));
+        assertFalse(parser.read(this.root.write("").getPath()));
+        assertFalse(parser.read(this.root.write("4242 bash S 1 2 3").getPath()));
+        assertFalse(parser.read(this.root.write("4242 (bash) S 1 2 3").getPath()));
+        assertEquals(6, parser.getFieldCount());
+        assertEquals(1L, parser.get(ProcStatParser.PPID));
+    }
+
+    /**
+     * Test a file larger than the initial buffer
+     */
+    @Test
+    public void testLongContents() throws IOException {
+        StringBuilder sb = new StringBuilder("1 (init) R");
+        for (int i = 0; i < 500; i++) {
+            sb.append(' ').append(i + 3);
+        }
+        ProcStatParser parser = new ProcStatParser();
+        assertTrue(parser.read(this.root.write(sb.toString()).getPath()));
+        assertEquals(3L, parser.get(ProcStatParser.PPID));
+        assertEquals(23L, parser.get(ProcStatParser.RSS));
+    }
+
+    /**
+     * Test the current process
+     */
+    @Test
+    public void testSelf() {
+        if (!new File("/proc/self/stat").exists()) {
+            return;
+        }
+        ProcStatParser parser = ProcStatParser.get();
+        assertTrue(parser.read("/proc/self/stat"));
+        assertTrue(parser.get(ProcStatParser.PID) > 0);
+        assertTrue(parser.get(ProcStatParser.NUM_THREADS) > 0);
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.software.os.linux;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.software.os.OSProcessMemory;
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test /proc/[pid]/smaps parsing
+ */
+public class SmapsReaderTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private static String mapping(String header, int rss, int pss, int sharedClean, int privateDirty, int swap) {
+        return header + "\n" + "Size:               " + (rss * 2) + " kB\n" + "Rss:                " + rss
+                + " kB\n" + "Pss:                " + pss + " kB\n" + "Pss_Dirty:          " + privateDirty
+                + " kB\n" + "Shared_Clean:       " + sharedClean + " kB\n" + "Shared_Dirty:          0 kB\n"
+                + "Private_Clean:      " + (rss - sharedClean - privateDirty) + " kB\n" + "Private_Dirty:      "
+                + privateDirty + " kB\n" + "Swap:               " + swap + " kB\n" + "SwapPss:            " + swap
+                + " kB\n" + "VmFlags: rd ex mr mw me dw\n";
+    }
+
+    /**
+     * Test summing the mappings of smaps
+     */
+    @Test
+    public void testSmaps() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mapping("55bd52ea9000-55bd52ebb000 r-xp 00000000 08:01 1234   /usr/bin/some program (deleted)",
+                100, 40, 80, 0, 0));
+        sb.append(mapping("7f0000000000-7f0000100000 rw-p 00000000 00:00 0", 200, 200, 0, 150, 12));
+        // Header longer than any parsed line
+        StringBuilder path = new StringBuilder("7f0000100000-7f0000200000 r--p 00000000 08:01 99   /");
+        for (int i = 0; i < 100; i++) {
+            path.append("long/");
+        }
+        sb.append(mapping(path.toString(), 10, 5, 10, 0, 0));
+        OSProcessMemory mem = SmapsReader.read(42, this.root.write(sb.toString()).getPath());
+        assertEquals(42, mem.getProcessID());
+        assertEquals(310L * 1024, mem.getResidentSetSize());
+        assertEquals(245L * 1024, mem.getProportionalSetSize());
+        assertEquals(90L * 1024, mem.getSharedClean());
+        assertEquals(0L, mem.getSharedDirty());
+        assertEquals(150L * 1024, mem.getPrivateDirty());
+        assertEquals(70L * 1024, mem.getPrivateClean());
+        assertEquals(220L * 1024, mem.getUniqueSetSize());
+        assertEquals(12L * 1024, mem.getSwap());
+    }
+
+    /**
+     * Test smaps_rollup, which has no trailing newline on the last line here
+     */
+    @Test
+    public void testRollup() throws IOException {
+        String rollup = mapping("55bd52ea9000-7ffeabfd9000 ---p 00000000 00:00 0      [rollup]", 1408, 414, 1268,
+                100, 0);
+        File file = this.root.write(rollup.substring(0, rollup.length() - 1));
+        OSProcessMemory mem = SmapsReader.read(1, file.getPath());
+        assertEquals(1408L * 1024, mem.getResidentSetSize());
+        assertEquals(414L * 1024, mem.getProportionalSetSize());
+        assertEquals(140L * 1024, mem.getUniqueSetSize());
+    }
+
+    /**
+     * Test a file which cannot be read
+     */
+    @Test
+    public void testMissing() {
+        assertNull(SmapsReader.read(-1));
+    }
+}
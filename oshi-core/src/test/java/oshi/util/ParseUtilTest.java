@@ -18,6 +18,7 @@
  */
 package oshi.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -265,4 +266,16 @@ public class ParseUtilTest {
         assertEquals(null, ParseUtil.removeMatchingString(null, "10.12.2"));
         assertEquals("2", ParseUtil.removeMatchingString("10.12.2", "10.12."));
     }
+
+    /**
+     * Test parse int range list
+     */
+    @Test
+    public void testParseIntRangeList() {
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 8, 10, 11 }, ParseUtil.parseIntRangeList("0-3,8,10-11\n"));
+        assertArrayEquals(new int[] { 5 }, ParseUtil.parseIntRangeList("5"));
+        assertEquals(0, ParseUtil.parseIntRangeList("").length);
+        assertEquals(0, ParseUtil.parseIntRangeList("3-1").length);
+        assertEquals(0, ParseUtil.parseIntRangeList("a-b").length);
+    }
 }
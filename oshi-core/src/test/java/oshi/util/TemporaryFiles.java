@@ -0,0 +1,67 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A temporary folder rule which also writes test input files, such as copies
+ * of /proc, /sys and cgroup files, into the folder
+ */
+public class TemporaryFiles extends TemporaryFolder {
+
+    /**
+     * Writes a new file with a generated name
+     *
+     * @param contents
+     *            The contents of the file
+     * @return The file
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public File write(String contents) throws IOException {
+        File file = newFile();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Writes a file, replacing it if it exists, and creating its parent
+     * directories if they do not
+     *
+     * @param path
+     *            The path of the file relative to the folder
+     * @param contents
+     *            The contents of the file
+     * @return The file
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public File write(String path, String contents) throws IOException {
+        File file = new File(getRoot(), path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
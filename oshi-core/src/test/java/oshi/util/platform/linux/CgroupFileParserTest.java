@@ -0,0 +1,123 @@
+/**
+ * Oshi (https://github.com/oshi/oshi)
+ *
+ * Copyright (c) 2010 - 2017 The Oshi Project Team
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Maintainers:
+ * dblock[at]dblock[dot]org
+ * widdis[at]gmail[dot]com
+ * enrico.bianchi[at]gmail[dot]com
+ *
+ * Contributors:
+ * https://github.com/oshi/oshi/graphs/contributors
+ */
+package oshi.util.platform.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import oshi.util.TemporaryFiles;
+
+/**
+ * Test parsing of cgroup accounting files
+ */
+public class CgroupFileParserTest {
+
+    @Rule
+    public TemporaryFiles root = new TemporaryFiles();
+
+    private static byte[][] keys(String... keys) {
+        byte[][] bytes = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            bytes[i] = CgroupFileParser.bytes(keys[i]);
+        }
+        return bytes;
+    }
+
+    /**
+     * Test single values
+     */
+    @Test
+    public void testReadLong() throws IOException {
+        CgroupFileParser parser = new CgroupFileParser();
+        assertEquals(589402112L, parser.readLong(this.root.write("589402112\n").getPath(), 0L));
+        assertEquals(-1L, parser.readLong(this.root.write("max\n").getPath(), 0L));
+        assertEquals(7L, parser.readLong(this.root.write("garbage\n").getPath(), 7L));
+        assertEquals(7L, parser.readLong("/nonexistent/memory.current", 7L));
+        assertEquals(2.5, parser.readCpuMax(this.root.write("250000 100000\n").getPath()), 1e-9);
+        assertEquals(-1d, parser.readCpuMax(this.root.write("max 100000\n").getPath()), 1e-9);
+    }
+
+    /**
+     * Test "key value" lines, "key=value" fields and "device key value" lines
+     */
+    @Test
+    public void testReadKeyed() throws IOException {
+        CgroupFileParser parser = new CgroupFileParser();
+        long[] cpu = new long[3];
+        assertTrue(parser.readKeyed(
+                this.root.write("usage_usec 1423664581\nuser_usec 1278170000\nsystem_usec 145490000\n"
+                        + "nr_periods 0\nnr_throttled 0\nthrottled_usec 0\n").getPath(),
+                keys("usage_usec", "system_usec", "nr_throttled"), cpu));
+        assertArrayEquals(new long[] { 1423664581L, 145490000L, 0L }, cpu);
+
+        // Summed over devices
+        long[] io = new long[4];
+        assertTrue(parser.readKeyed(
+                this.root.write("8:0 rbytes=1000 wbytes=2000 rios=10 wios=20 dbytes=0 dios=0\n"
+                        + "259:0 rbytes=500 wbytes=0 rios=5 wios=0 dbytes=0 dios=0\n").getPath(),
+                keys("rbytes", "wbytes", "rios", "wios"), io));
+        assertArrayEquals(new long[] { 1500L, 2000L, 15L, 20L }, io);
+
+        long[] blkio = new long[2];
+        assertTrue(parser.readKeyed(this.root.write("8:0 Read 4096\n8:0 Write 8192\n8:0 Sync 12288\n8:0 Async 0\n"
+                + "8:0 Total 12288\n8:16 Read 4096\n8:16 Write 0\nTotal 16384\n").getPath(), keys("Read", "Write"), blkio));
+        assertArrayEquals(new long[] { 8192L, 8192L }, blkio);
+
+        // Values are added to, and left unchanged if the file is missing
+        assertFalse(parser.readKeyed("/nonexistent/cpu.stat", keys("Read", "Write"), blkio));
+        assertArrayEquals(new long[] { 8192L, 8192L }, blkio);
+    }
+
+    /**
+     * Test pressure stall information
+     */
+    @Test
+    public void testReadPressure() throws IOException {
+        CgroupFileParser parser = new CgroupFileParser();
+        double[] pressure = parser.readPressure(this.root.write("some avg10=41.52 avg60=12.05 avg300=3.10 total=1164236841\n"
+                + "full avg10=0.00 avg60=0.50 avg300=0.25 total=4242\n").getPath());
+        assertArrayEquals(new double[] { 41.52, 12.05, 3.1, 1164236841d, 0d, 0.5, 0.25, 4242d }, pressure, 1e-9);
+        assertNull(parser.readPressure("/nonexistent/io.pressure"));
+    }
+
+    /**
+     * Test process lists, larger than the initial buffer
+     */
+    @Test
+    public void testReadIds() throws IOException {
+        CgroupFileParser parser = new CgroupFileParser();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 3000; i > 0; i--) {
+            sb.append(i).append('\n');
+        }
+        int[] ids = parser.readIds(this.root.write(sb.toString()).getPath());
+        assertEquals(3000, ids.length);
+        assertEquals(1, ids[0]);
+        assertEquals(3000, ids[2999]);
+        assertEquals(0, parser.readIds("/nonexistent/cgroup.procs").length);
+    }
+}